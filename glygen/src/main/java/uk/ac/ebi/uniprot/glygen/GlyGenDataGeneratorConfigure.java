@@ -3,6 +3,7 @@ package uk.ac.ebi.uniprot.glygen;
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.converters.CommaParameterSplitter;
+import uk.ac.ebi.uniprot.glygen.core.StorageBackend;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -30,6 +31,54 @@ public class GlyGenDataGeneratorConfigure {
     @Parameter(names = "--neo4j-password", description = "Neo4j password")
     private String neo4jPassword = "reactome";
 
+    @Parameter(names = "-threads", description = "Number of species generated concurrently, 1 runs them sequentially")
+    private int threads = 1;
+
+    @Parameter(names = "-appenderThreads",
+            description = "Number of independent appenders run concurrently per species, 1 runs them in order")
+    private int appenderThreads = 1;
+
+    @Parameter(names = "-queryReaders",
+            description = "Number of reader threads running an appender's input queries, 0 shares the processors " +
+                    "between the species and appender threads, up to 4 each")
+    private int queryReaders = 0;
+
+    @Parameter(names = "-writeBatchSize",
+            description = "Number of output triples buffered and written to the output TDB in one sorted batch, " +
+                    "1 writes every triple directly")
+    private int writeBatchSize = 100000;
+
+    @Parameter(names = "-plainOutputModel",
+            description = "Write output through a plain model instead of an OWL_DL_MEM ontology model")
+    private boolean plainOutputModel = false;
+
+    @Parameter(names = "-streamOutput",
+            description = "Write the N-Triples output and statistics directly, without the output TDB")
+    private boolean streamOutput = false;
+
+    @Parameter(names = "-streamSpillSize",
+            description = "Number of distinct output triples held in memory before they are spilled to disk " +
+                    "when streaming the output")
+    private int streamSpillSize = 1000000;
+
+    @Parameter(names = "-inputStorage", description = "Storage backend of the input TDB: TDB1 or TDB2")
+    private StorageBackend inputStorage = StorageBackend.TDB1;
+
+    @Parameter(names = "-outputStorage",
+            description = "Storage backend of the output TDB: TDB1 or TDB2, which is compacted after the appenders")
+    private StorageBackend outputStorage = StorageBackend.TDB1;
+
+    @Parameter(names = "-cacheDir",
+            description = "Directory of the snapshots and indexes of the reference files, by default next to them")
+    private String cacheDir;
+
+    @Parameter(names = "-speciesBaseHeapMb", description = "Estimated base heap (MB) of a species run")
+    private long speciesBaseHeapMb = 2048;
+
+    @Parameter(names = "-speciesHeapPerInputMb",
+            description = "Estimated heap (MB) per MB of species input TDB and fasta files")
+    private double speciesHeapPerInputMb = 0.5;
+
     private GlyGenDataGeneratorConfigure() {
     }
 
@@ -81,4 +130,52 @@ public class GlyGenDataGeneratorConfigure {
     public String getOutputDir() {
         return outputDir;
     }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getAppenderThreads() {
+        return appenderThreads;
+    }
+
+    public int getQueryReaders() {
+        return queryReaders;
+    }
+
+    public String getCacheDir() {
+        return cacheDir;
+    }
+
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    public boolean isPlainOutputModel() {
+        return plainOutputModel;
+    }
+
+    public boolean isStreamOutput() {
+        return streamOutput;
+    }
+
+    public int getStreamSpillSize() {
+        return streamSpillSize;
+    }
+
+    public StorageBackend getInputStorage() {
+        return inputStorage;
+    }
+
+    public StorageBackend getOutputStorage() {
+        return outputStorage;
+    }
+
+    public long getSpeciesBaseHeapMb() {
+        return speciesBaseHeapMb;
+    }
+
+    public double getSpeciesHeapPerInputMb() {
+        return speciesHeapPerInputMb;
+    }
 }
\ No newline at end of file
@@ -3,26 +3,36 @@ package uk.ac.ebi.uniprot.glygen;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import org.apache.commons.io.FileUtils;
-import org.apache.jena.ontology.OntModel;
 import org.apache.jena.query.Dataset;
 import org.apache.jena.query.ReadWrite;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.tdb.TDB;
-import org.apache.jena.tdb.TDBFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.ac.ebi.uniprot.glygen.appender.*;
 import uk.ac.ebi.uniprot.glygen.core.ConfigReader;
 import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
+import uk.ac.ebi.uniprot.glygen.core.SpeciesScheduler;
+import uk.ac.ebi.uniprot.glygen.core.StorageBackend;
 import uk.ac.ebi.uniprot.glygen.generator.DbSnpDatasetGenerator;
 import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.stats.Statistics;
+import uk.ac.ebi.uniprot.glygen.stats.StatisticsCollector;
+import uk.ac.ebi.uniprot.glygen.util.BufferedGraph;
+import uk.ac.ebi.uniprot.glygen.util.CanonicalIsoformMap;
 import uk.ac.ebi.uniprot.glygen.util.RdfUtility;
+import uk.ac.ebi.uniprot.glygen.util.StreamingGraph;
+import uk.ac.ebi.uniprot.glygen.util.SubjectRegistry;
 import uk.ac.ebi.uniprot.glygen.writer.NTriplesWriter;
 import uk.ac.ebi.uniprot.glygen.writer.StatisticsWriter;
+import uk.ac.ebi.uniprot.glygen.writer.StreamingNTriplesWriter;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import static java.util.Arrays.asList;
@@ -33,6 +43,13 @@ import static java.util.Arrays.asList;
 public class GlygenDataGeneratorMain {
     //   private static String CONFIG_FILE = "glygenConfig.properties";
     private static final Logger logger = LoggerFactory.getLogger(GlygenDataGeneratorMain.class);
+    private int appenderThreads = 1;
+    private int writeBatchSize = 1;
+    private boolean plainOutputModel = false;
+    private boolean streamOutput = false;
+    private int streamSpillSize = 1000000;
+    private StorageBackend inputStorage = StorageBackend.TDB1;
+    private StorageBackend outputStorage = StorageBackend.TDB1;
 
 
     public static void main(String[] args) {
@@ -49,6 +66,16 @@ public class GlygenDataGeneratorMain {
 
 
         GlygenConfig.setReactomeNeo4jInfo(configure.getReactomeDb());
+        appenderThreads = configure.getAppenderThreads();
+        GlygenConfig.setQueryReaders(configure.getQueryReaders() > 0 ? configure.getQueryReaders() :
+                QueryPipeline.getDefaultReaders(configure.getThreads() * configure.getAppenderThreads()));
+        GlygenConfig.setCacheDir(configure.getCacheDir());
+        writeBatchSize = configure.getWriteBatchSize();
+        plainOutputModel = configure.isPlainOutputModel();
+        streamOutput = configure.isStreamOutput();
+        streamSpillSize = configure.getStreamSpillSize();
+        inputStorage = configure.getInputStorage();
+        outputStorage = configure.getOutputStorage();
         // createEntityManager(configure.getUniprotDb());
 
         String inputDataBaseDir = configure.getInputBaseDir();
@@ -64,20 +91,30 @@ public class GlygenDataGeneratorMain {
             throw new GlyGenException("Error reading Glygen config");
         }
         List<String> runSpecies = configure.getSpecies();
-        boolean allGood = true;
+        List<GlygenConfig> runConfigList = new ArrayList<>();
         for (GlygenConfig config : configList) {
             if (!speciesToRun(runSpecies, config.getName())) {
                 logger.info("Skip the species: {}", config.getName());
                 continue;
             }
-            try {
-                logger.info("Generate dataset for {}", config.getName());
-                generateCoreDataForConfig(config);
-                writeDataAndStats(config, outputDir);
-                generateDatasets(config, outputDir);
-            } catch (Exception e) {
-                logger.error("Error generating Glygen dataset for {}", config.getName(), e);
-                allGood = false;
+            runConfigList.add(config);
+        }
+
+        boolean allGood;
+        if (configure.getThreads() > 1) {
+            TDB.getContext().set(TDB.symUnionDefaultGraph, true);
+            SpeciesScheduler scheduler = new SpeciesScheduler(configure.getThreads(),
+                    configure.getSpeciesBaseHeapMb(), configure.getSpeciesHeapPerInputMb());
+            allGood = scheduler.run(runConfigList, config -> generateSpecies(config, outputDir));
+        } else {
+            allGood = true;
+            for (GlygenConfig config : runConfigList) {
+                try {
+                    generateSpecies(config, outputDir);
+                } catch (Exception e) {
+                    logger.error("Error generating Glygen dataset for {}", config.getName(), e);
+                    allGood = false;
+                }
             }
         }
 
@@ -86,6 +123,21 @@ public class GlygenDataGeneratorMain {
         }
     }
 
+    private void generateSpecies(GlygenConfig config, String outputDir) {
+        logger.info("Generate dataset for {}", config.getName());
+        try {
+            if (streamOutput) {
+                generateStreamedDataForConfig(config, outputDir);
+            } else {
+                generateCoreDataForConfig(config, outputDir);
+                writeDataAndStats(config, outputDir);
+            }
+        } catch (IOException e) {
+            throw new GlyGenException(e);
+        }
+        generateDatasets(config, outputDir);
+    }
+
     private boolean speciesToRun(List<String> speciesToRun, String species) {
         if (speciesToRun.contains("all")) {
             return true;
@@ -98,43 +150,98 @@ public class GlygenDataGeneratorMain {
         new DbSnpDatasetGenerator(config, outputDir).generateDataset();
 
         logger.info("Start ObsoleteAccessionDatasetGenerator");
-        Dataset dataset = TDBFactory.createDataset(config.getDbDir());
+        Dataset dataset = inputStorage.connect(config.getDbDir());
         dataset.begin(ReadWrite.READ);
 //        new ObsoleteAccessionDatasetGenerator(config, dataset.getDefaultModel(), entityManager, outputDir).generateDataset();
         dataset.end();
     }
 
-    private void generateCoreDataForConfig(GlygenConfig config) throws IOException {
+    private void generateCoreDataForConfig(GlygenConfig config, String outputDir) throws IOException {
         TDB.getContext().set(TDB.symUnionDefaultGraph, true);
-        Dataset inDataset = TDBFactory.createDataset(config.getDbDir());
+        Dataset inDataset = inputStorage.connect(config.getDbDir());
         inDataset.begin(ReadWrite.READ);
 
         File file = new File(config.getDbDirOut());
         if (file.exists() && file.isDirectory()) {
             FileUtils.cleanDirectory(file);
         }
-        Dataset outDataset = TDBFactory.createDataset(config.getDbDirOut());
+        Dataset outDataset = outputStorage.connect(config.getDbDirOut());
         outDataset.begin(ReadWrite.WRITE);
-        OntModel outModel = RdfUtility.getOntModelBase(outDataset.getDefaultModel());
+        BufferedGraph outBuffer = new BufferedGraph(outDataset.getDefaultModel().getGraph(), writeBatchSize);
+        Model outBase = ModelFactory.createModelForGraph(outBuffer);
+        Model outModel = plainOutputModel ? RdfUtility.getModelBase(outBase) : RdfUtility.getOntModelBase(outBase);
 
-        GlygenDataset dataset = new GlygenDataset(inDataset.getDefaultModel(), outModel);
+        GlygenDataset dataset = new GlygenDataset(inDataset.getDefaultModel(), outModel, outBuffer);
+        dataset.setInputDataset(inDataset);
 
         try {
-            for (DataAppender appender : getAppenders(config)) {
-                logger.info("Start {}", appender.getClass());
-                appender.appendData(dataset);
-                logger.info("End {}", appender.getClass());
+            if (appenderThreads > 1) {
+                new AppenderScheduler(appenderThreads).run(getAppenders(config), dataset, inDataset, outDataset);
+            } else {
+                appendData(config, dataset);
             }
         } finally {
+            dataset.flush();
             outDataset.commit();
             outDataset.end();
         }
+        outputStorage.compact(outDataset);
 
         inDataset.end();
+        writeCanonicalIsoformMap(config, dataset, outputDir);
+    }
+
+    /**
+     * Streams the appender output into the gzipped N-Triples output, counting the statistics on the way, without
+     * writing it to the output TDB and reading it back. The appenders run in order on a plain output model, as the
+     * streamed output is read back by subject from memory and any other read scans it (see StreamingGraph).
+     */
+    private void generateStreamedDataForConfig(GlygenConfig config, String outputDir) throws IOException {
+        TDB.getContext().set(TDB.symUnionDefaultGraph, true);
+        Dataset inDataset = inputStorage.connect(config.getDbDir());
+        inDataset.begin(ReadWrite.READ);
+
+        StatisticsCollector statistics = new StatisticsCollector(new Statistics());
+        StreamingNTriplesWriter writer = new StreamingNTriplesWriter(
+                new File(outputDir + File.separator + config.getRdfOutput() + ".gz"),
+                new File(outputDir + File.separator + config.getName() + "-spill"), streamSpillSize, statistics);
+        Model outModel = RdfUtility.getModelBase(ModelFactory.createModelForGraph(
+                new StreamingGraph(writer, new SubjectRegistry())));
+        GlygenDataset dataset = new GlygenDataset(inDataset.getDefaultModel(), outModel);
+        dataset.setInputDataset(inDataset);
+
+        writer.start();
+        try {
+            appendData(config, dataset);
+            writer.finish();
+        } finally {
+            // drops the spilled runs if an appender failed
+            writer.close();
+            inDataset.end();
+        }
+
+        new StatisticsWriter(outputDir).writeStatistics(config, statistics.getStatistics());
+        writeCanonicalIsoformMap(config, dataset, outputDir);
+    }
+
+    private void appendData(GlygenConfig config, GlygenDataset dataset) {
+        for (DataAppender appender : getAppenders(config)) {
+            logger.info("Start {}", appender.getClass());
+            appender.appendData(dataset);
+            logger.info("End {}", appender.getClass());
+        }
+    }
+
+    private void writeCanonicalIsoformMap(GlygenConfig config, GlygenDataset dataset, String outputDir)
+            throws IOException {
+        String fileName = outputDir + File.separator + config.getCanonicalIsoformMap();
+        CanonicalIsoformMap.write(dataset.getCanonicalIsoformMap(), fileName);
+        logger.info("Canonical isoforms of {} accessions written to {}", dataset.getCanonicalIsoformMap().size(),
+                fileName);
     }
 
     private void writeDataAndStats(GlygenConfig config, String outputDir) {
-        Dataset dataset = TDBFactory.createDataset(config.getDbDirOut());
+        Dataset dataset = outputStorage.connect(config.getDbDirOut());
         dataset.begin(ReadWrite.READ);
 
         new NTriplesWriter(outputDir).writeOutput(config, dataset.getDefaultModel());
@@ -145,21 +252,21 @@ public class GlygenDataGeneratorMain {
 
     private List<DataAppender> getAppenders(GlygenConfig config) {
         // appender order per dependency - eg: genomicCoordinate depends on transcript & sequence
+        // AppenderScheduler keeps this order between appenders whose declared reads/writes overlap
         return asList(
                 new BasicInfoAppender(),
                 new NameAppender(),
                 new GeneAppender(config),
-                new TissueAppender(config),
                 new SequenceAppender(config),
                 new TranscriptResourceAppender(config),
                 new GenomicCoordinateAppender(config),
                 new ClassificationAppender(),
                 new EnzymeAppender(),
                 new InteractionAppender(config),
-                new StructureAppender(),
-                new ProteinComponentAppender(),
                 new AnnotationAppender(config),
-                new CrossReferenceAppender(),
+                // one pass over the proteins for the appenders that only need protein triples
+                new ProteinScanAppender(new TissueAppender(config), new StructureAppender(),
+                        new ProteinComponentAppender(), new CrossReferenceAppender()),
                 new CitationAppender(),
                 new ReactionAnnotationAppender(config),
                 new DatabaseInfoAppender(config));
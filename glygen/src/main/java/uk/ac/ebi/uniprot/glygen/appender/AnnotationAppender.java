@@ -1,13 +1,20 @@
 package uk.ac.ebi.uniprot.glygen.appender;
 
+import uk.ac.ebi.uniprot.glygen.core.ReferenceModelRegistry;
+import uk.ac.ebi.uniprot.glygen.index.RheaIndex;
+import uk.ac.ebi.uniprot.glygen.index.VocabularyIndex;
 import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+import org.apache.jena.graph.Node;
 import org.apache.jena.query.QuerySolution;
-import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.Resource;
@@ -24,60 +31,133 @@ import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.*;
 public class AnnotationAppender implements DataAppender {
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private GlygenDataset dataset;
-    private Model rdfModel;
     private Model outModel;
-    private final Model disModel;
-    private final Model locModel;
-    private final Model rheaModel;
+    private final CompletableFuture<VocabularyIndex> disIndexFuture;
+    private final CompletableFuture<VocabularyIndex> locIndexFuture;
+    private final CompletableFuture<RheaIndex> rheaIndexFuture;
+    private VocabularyIndex disIndex;
+    private VocabularyIndex locIndex;
+    private RheaIndex rheaIndex;
     private final Set<String> diseaseSet = new HashSet<>();
+    private final Set<String> locationSet = new HashSet<>();
+    private final Map<String, Resource> regionMap = new HashMap<>();
+    private final Map<String, Integer> annotationCounts = new HashMap<>();
+    private final Map<String, Integer> attributionCounts = new HashMap<>();
 
     private static final String CPR_SUFFIX = "_CPR";
     private Resource RHEA_DB;
 
     public AnnotationAppender(GlygenConfig config) {
-        disModel = createModelFromRdfFile(GlygenConfig.getDiseases());
-        locModel = createModelFromRdfFile(GlygenConfig.getLocations());
-        rheaModel = createModelFromRdfFile(config.getRhea());
+        ReferenceModelRegistry.requireExists(GlygenConfig.getDiseases());
+        ReferenceModelRegistry.requireExists(GlygenConfig.getLocations());
+        ReferenceModelRegistry.requireExists(config.getRhea());
+        disIndexFuture = ReferenceModelRegistry.getVocabularyIndexAsync(GlygenConfig.getDiseases(), UP_TYPE_DISEASE);
+        locIndexFuture = ReferenceModelRegistry.getVocabularyIndexAsync(GlygenConfig.getLocations(),
+                UP_TYPE_CELLULAR_COMPONENT);
+        rheaIndexFuture = ReferenceModelRegistry.getRheaIndexAsync(config.getRhea());
     }
 
     @Override
     public void appendData(GlygenDataset dataSet) {
+        disIndex = ReferenceModelRegistry.await(disIndexFuture);
+        locIndex = ReferenceModelRegistry.await(locIndexFuture);
+        rheaIndex = ReferenceModelRegistry.await(rheaIndexFuture);
         dataset = dataSet;
-        rdfModel = dataset.getRdfModel();
         outModel = dataset.getOutModel();
+        // filled by the row handlers, per dataset
+        diseaseSet.clear();
+        locationSet.clear();
+        regionMap.clear();
+        annotationCounts.clear();
+        attributionCounts.clear();
         RHEA_DB = outModel.createResource("http://purl.uniprot.org/database/Rhea");
 
+        // independent queries: read concurrently, written on this thread
+        QueryPipeline pipeline = new QueryPipeline(dataset)
+                .add("annotations", model -> getAllAnnotationsFromRdf(model, ANNOTATION_TYPES),
+                        this::updateAnnotation)
+                .add("annotationAttributions", model -> getAllAnnotationAttributionsFromRdf(model, ANNOTATION_TYPES),
+                        this::updateAnnotationAttribution)
+                .add(LIGAND, model -> getLigandInfoFromRdf(model, true),
+                        solution -> updateLigandInfo(solution, LIGAND, UP_LIGAND))
+                .add(LIGAND_PART, model -> getLigandInfoFromRdf(model, false),
+                        solution -> updateLigandInfo(solution, LIGAND_PART, UP_LIGAND_PART))
+                .add("cellularLocations", model -> getCellularLocationsFromRdf(model),
+                        this::updateCellularLocation)
+                .add("catalyticActivities", model -> getCatalyticActivityInfoFromRdf(model),
+                        this::updateCatalyticActivity)
+                .add("catalyticActivityAttributions", model -> getCatalyticAnnotationAttributionFromRdf(model, false),
+                        solution -> updateCatalyticAnnotationAttribution(solution, false))
+                .add("physiologicalReactionAttributions",
+                        model -> getCatalyticAnnotationAttributionFromRdf(model, true),
+                        solution -> updateCatalyticAnnotationAttribution(solution, true))
+                .add("catalyticActivityEnzymes", model -> getCatalyticActivityEnzymesInfoFromRdf(model),
+                        this::updateCatalyticActivityEnzyme);
+        for (String annType : ANNOTATION_TYPES_WITH_COMMENT_ATTRIB) {
+            pipeline.add(annType + " comment attributions",
+                    model -> getAnnotationAttributionOfCommentFromRdf(model, annType), this::addAttribution);
+        }
+        pipeline.run();
         for (String annType : ANNOTATION_TYPES) {
-            int count = 0;
-            ResultSet resultSet = getAnnotationFromRdf(rdfModel, annType);
-            while (resultSet.hasNext()) {
-                QuerySolution solution = resultSet.nextSolution();
-                Resource annotation = outModel.createResource(solution.getResource(ANNOTATION).getURI());
-                if (!annotation.hasProperty(RDF.type)) {
-                    count++;
-                }
-                updateProperties(annotation, solution, annType);
-
-                Resource protein = outModel.createResource(solution.getResource(PROTEIN).getURI());
-                protein.addProperty(outModel.createProperty(UP_ANNOTATION), annotation);
-            }
-            logger.debug("{}: {} ", annType, count);
+            logger.debug("{}: {} ", annType, annotationCounts.getOrDefault(annType, 0));
+            logger.debug("{} attribution: {} ", annType, attributionCounts.getOrDefault(annType, 0));
         }
-        updateLigandInfo(true, LIGAND, UP_LIGAND);
-        updateLigandInfo(false, LIGAND_PART, UP_LIGAND_PART);
-        updatePositionInfo();
+        logger.debug("Total ranges: {}", regionMap.size());
+
         updateDiseaseInfo();
         updateCellularComponentInfo();
-        updateCatalyticAnnotationInfo();
-        updateAttributions();
-        updateCommentAttribution();
+    }
+
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.noneOf(DatasetPart.class);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.ANNOTATION);
+    }
+
+    /**
+     * Appends an annotation row of the scan of all ANNOTATION_TYPES with its properties and range, dispatching on
+     * the annotation type
+     */
+    private void updateAnnotation(QuerySolution solution) {
+        String annType = solution.getResource(TYPE).getURI();
+        Resource annotation = outModel.createResource(solution.getResource(ANNOTATION).getURI());
+        if (!annotation.hasProperty(RDF.type)) {
+            annotationCounts.merge(annType, 1, Integer::sum);
+        }
+        updateProperties(annotation, solution, annType);
+
+        Resource protein = outModel.createResource(solution.getResource(PROTEIN).getURI());
+        protein.addProperty(outModel.createProperty(UP_ANNOTATION), annotation);
+
+        if (solution.contains(RANGE)) {
+            Resource region = regionMap.computeIfAbsent(solution.getResource(RANGE).getURI(), k -> {
+                Resource rangeRes = outModel.createResource(getUri(RANGE_PREFIX));
+                rangeRes.addProperty(RDF.type, outModel.createResource(FALDO_TYPE_REGION));
+                rangeRes.addProperty(outModel.createProperty(FALDO_BEGIN),
+                        dataset.createPosition(solution.getLiteral(BEGIN_POS).getLong()));
+                rangeRes.addProperty(outModel.createProperty(FALDO_END),
+                        dataset.createPosition(solution.getLiteral(END_POS).getLong()));
+                return rangeRes;
+            });
+            annotation.addProperty(outModel.createProperty(UP_RANGE), region);
+        }
+    }
+
+    private void updateAnnotationAttribution(QuerySolution solution) {
+        if (addAttribution(solution)) {
+            attributionCounts.merge(solution.getResource(TYPE).getURI(), 1, Integer::sum);
+        }
     }
 
     private void updateProperties(Resource annotation, QuerySolution solution, String annType) {
         annotation.addProperty(RDF.type, outModel.createResource(annType));
         switch (annType) {
             case AT_ACTIVE_SITE:
-            case AT_BINDING_SITE: // ligand & ligandPart added by updateLigandInfo(), range by updatePositionInfo()
+            case AT_BINDING_SITE: // ligand & ligandPart added by updateLigandInfo(), range by updateAnnotation()
             case AT_CHAIN:
             case AT_DISULFIDE_BOND:
             case AT_DOMAIN_EXTENT:
@@ -159,13 +239,13 @@ public class AnnotationAppender implements DataAppender {
                 addResourceIfExists(outModel, annotation, solution, UP_SEQUENCE, SEQUENCE);
                 addLiteralIfExists(annotation, solution, RDFS.comment, COMMENT);
                 return;
-                // ligand & ligandPart added by and range by updatePositionInfo()
+                // ligand & ligandPart added by and range by updateAnnotation()
             case AT_CATALYTIC_ACTIVITY:
-                // catalyticActivity & catalyzedPhysiologicalReaction, added by updateCatalyticAnnotationInfo()
+                // catalyticActivity & catalyzedPhysiologicalReaction, added by updateCatalyticActivity()
             case AT_BETA_STRAND:
             case AT_HELIX:
             case AT_TURN:
-                // only has range. Added by updatePositionInfo()
+                // only has range. Added by updateAnnotation()
                 return;
             default:
                 logger.error("Unexpected Annotation type {} ", solution.getResource(TYPE).getURI());
@@ -173,132 +253,65 @@ public class AnnotationAppender implements DataAppender {
         }
     }
 
-    private void updateLigandInfo(boolean lFlag, String resName, String propName) {
-        ResultSet resultSet = getLigandInfoFromRdf(rdfModel, lFlag);
-
-        int ligCount = 0;
-        int annCount = 0;
-        while (resultSet.hasNext()) {
-            QuerySolution solution = resultSet.nextSolution();
-
-            Resource ligResource = outModel.createResource(solution.getResource(resName).getURI());
-            if (!ligResource.hasProperty(RDFS.subClassOf)) {
-                ligCount++;
-                ligResource.addProperty(RDFS.subClassOf, outModel.createResource(solution.getResource(SUB_CLASS_OF)));
-                if (solution.contains(LABEL)) ligResource.addProperty(RDFS.label, solution.getLiteral(LABEL));
-                if (solution.contains(COMMENT)) ligResource.addProperty(RDFS.comment, solution.getLiteral(COMMENT));
-            }
-            annCount++;
-            Resource bind_annotation = outModel.createResource(solution.getResource(ANNOTATION).getURI());
-            bind_annotation.addProperty(outModel.createProperty(propName), ligResource);
-        }
-
-        logger.debug("{} - {}, {} count: {},  ", AT_BINDING_SITE, annCount, resName, ligCount);
-    }
-
-    private void updateAttributions() {
-        for (String annType : ANNOTATION_TYPES) {
-            ResultSet resultSet = getAnnotationAttributionFromRdf(rdfModel, annType);
-            int count = handleResultSet(resultSet);
-            logger.debug("{} attribution: {} ", annType, count);
-        }
-    }
-
-    private void updatePositionInfo() {
-        HashMap<String, Resource> uriMap = new HashMap<>();
-        int count=0;
-        for (String annType : ANNOTATION_TYPES) {
-            ResultSet resultSet = getPositionInfoFromRdf(rdfModel, annType);
-            while (resultSet.hasNext()) {
-                count++;
-                QuerySolution solution = resultSet.nextSolution();
-                String uri = solution.getResource(RANGE).getURI();
-
-                Resource region = uriMap.computeIfAbsent(uri, k -> {
-                    Resource rangeRes = outModel.createResource(getUri(RANGE_PREFIX));
-                    rangeRes.addProperty(RDF.type, outModel.createResource(FALDO_TYPE_REGION));
-                    rangeRes.addProperty(outModel.createProperty(FALDO_BEGIN),
-                            dataset.createPosition(solution.getLiteral(BEGIN_POS).getLong()));
-                    rangeRes.addProperty(outModel.createProperty(FALDO_END),
-                            dataset.createPosition(solution.getLiteral(END_POS).getLong()));
-                    return rangeRes;
-                } );
-
-                Resource annotation = outModel.createResource(solution.getResource(ANNOTATION).getURI());
-                annotation.addProperty(outModel.createProperty(UP_RANGE), region);
-            }
+    private void updateLigandInfo(QuerySolution solution, String resName, String propName) {
+        Resource ligResource = outModel.createResource(solution.getResource(resName).getURI());
+        if (!ligResource.hasProperty(RDFS.subClassOf)) {
+            ligResource.addProperty(RDFS.subClassOf, outModel.createResource(solution.getResource(SUB_CLASS_OF)));
+            if (solution.contains(LABEL)) ligResource.addProperty(RDFS.label, solution.getLiteral(LABEL));
+            if (solution.contains(COMMENT)) ligResource.addProperty(RDFS.comment, solution.getLiteral(COMMENT));
         }
-        logger.debug("Total position count: {}", count);
+        Resource bind_annotation = outModel.createResource(solution.getResource(ANNOTATION).getURI());
+        bind_annotation.addProperty(outModel.createProperty(propName), ligResource);
     }
 
     private void updateDiseaseInfo() {
         int count = 0;
         for (String disId : diseaseSet) {
-            ResultSet resultSet = getPrefLabelCommentFromDiseasesRdf(disModel, disId);
-            Resource resource = null;
-            if (resultSet.hasNext()) {
-                QuerySolution solution = resultSet.nextSolution();
-                resource = outModel.createResource(disId);
+            VocabularyIndex.Term term = disIndex.getTerm(disId);
+            if (term != null && term.getPrefLabel() != null && term.getComment() != null &&
+                    term.getMnemonic() != null) {
+                Resource resource = outModel.createResource(disId);
                 resource.addProperty(RDF.type,outModel.createResource(UP_TYPE_DISEASE));
-                resource.addProperty(SKOS.prefLabel, solution.getLiteral(PREF_LABEL));
-                resource.addProperty(RDFS.comment, solution.getLiteral(COMMENT));
-                resource.addProperty(outModel.createProperty(UP_MNEMONIC), solution.getLiteral(MNEMONIC));
-            }
-            if (resource != null) {
+                resource.addProperty(SKOS.prefLabel, outModel.asRDFNode(term.getPrefLabel()));
+                resource.addProperty(RDFS.comment, outModel.asRDFNode(term.getComment()));
+                resource.addProperty(outModel.createProperty(UP_MNEMONIC), outModel.asRDFNode(term.getMnemonic()));
                 count++;
-                addResourceProperty(resource, disId, SKOS.altLabel, ALT_LABEL, true, true);
-                addResourceProperty(resource, disId, RDFS.seeAlso, SEE_ALSO, false, true);
+                addTermProperties(resource, term);
             }
         }
         logger.debug("Total disease info: {}, missing: {} ", count, diseaseSet.size()-count);
     }
 
-    private void addResourceProperty(Resource resource, String id, Property rdfProp, String property,
-            boolean isLiteral, boolean updateDisease) {
-
-        ResultSet resultSet = updateDisease ? getInfoFromDiseasesRdf(disModel, id, rdfProp.toString(), property):
-                getInfoFromLocationsRdf(locModel, id, rdfProp.toString(), property);
-        while (resultSet.hasNext()) {
-            QuerySolution solution = resultSet.nextSolution();
-            if (solution.contains(property)) {
-                resource.addProperty(rdfProp,
-                        isLiteral ? solution.getLiteral(property) : solution.getResource(property));
-            }
+    private void addTermProperties(Resource resource, VocabularyIndex.Term term) {
+        for (Node altLabel : term.getAltLabels()) {
+            resource.addProperty(SKOS.altLabel, outModel.asRDFNode(altLabel));
+        }
+        for (Node seeAlso : term.getSeeAlso()) {
+            resource.addProperty(RDFS.seeAlso, outModel.asRDFNode(seeAlso));
         }
     }
 
-    private void updateCellularComponentInfo() {
-        int count = 0;
-        Set<String> locationSet = new HashSet<>();
-        ResultSet resultSet = getCellularLocationsFromRdf(rdfModel);
-        while (resultSet.hasNext()) {
-            count++;
-            QuerySolution solution = resultSet.nextSolution();
-            Resource locatedIn = outModel.createResource(solution.getResource(LOCATED_IN).getURI());
-            locatedIn.addProperty(outModel.createProperty(UP_CELLULAR_COMPONENT),
-                    solution.getResource(CELLULAR_COMPONENT));
-
-            Resource annotation = outModel.createResource(solution.getResource(ANNOTATION).getURI());
-            annotation.addProperty(outModel.createProperty(UP_LOCATED_IN), locatedIn);
-
-            locationSet.add(solution.getResource(CELLULAR_COMPONENT).getURI());
-        }
-        logger.debug("Total Cellular Component: {}, location: {} ", count, locationSet.size());
+    private void updateCellularLocation(QuerySolution solution) {
+        Resource locatedIn = outModel.createResource(solution.getResource(LOCATED_IN).getURI());
+        locatedIn.addProperty(outModel.createProperty(UP_CELLULAR_COMPONENT),
+                solution.getResource(CELLULAR_COMPONENT));
+
+        Resource annotation = outModel.createResource(solution.getResource(ANNOTATION).getURI());
+        annotation.addProperty(outModel.createProperty(UP_LOCATED_IN), locatedIn);
 
+        locationSet.add(solution.getResource(CELLULAR_COMPONENT).getURI());
+    }
 
+    private void updateCellularComponentInfo() {
+        logger.debug("Total location: {} ", locationSet.size());
         for (String locId : locationSet) {
-            resultSet = getPrefLabelCommentFromLocationsRdf(locModel, locId);
-            Resource resource = null;
-            if (resultSet.hasNext()) {
-                QuerySolution solution = resultSet.nextSolution();
-                resource = outModel.createResource(locId);
+            VocabularyIndex.Term term = locIndex.getTerm(locId);
+            if (term != null && term.getPrefLabel() != null && term.getComment() != null) {
+                Resource resource = outModel.createResource(locId);
                 resource.addProperty(RDF.type, outModel.createResource(UP_TYPE_CELLULAR_COMPONENT));
-                resource.addProperty(SKOS.prefLabel, solution.getLiteral(PREF_LABEL));
-                resource.addProperty(RDFS.comment, solution.getLiteral(COMMENT));
-            }
-            if (resource != null) {
-                addResourceProperty(resource, locId, SKOS.altLabel, ALT_LABEL, true, false);
-                addResourceProperty(resource, locId, RDFS.seeAlso, SEE_ALSO, false, false);
+                resource.addProperty(SKOS.prefLabel, outModel.asRDFNode(term.getPrefLabel()));
+                resource.addProperty(RDFS.comment, outModel.asRDFNode(term.getComment()));
+                addTermProperties(resource, term);
             }
         }
     }
@@ -312,30 +325,17 @@ public class AnnotationAppender implements DataAppender {
         return attUri.substring(0, attUri.indexOf(CHAR_HASH)).equals(annUri.substring(0,annUri.indexOf(CHAR_HASH)));
     }
 
-    private void updateCommentAttribution() {
-        for (String annType : ANNOTATION_TYPES_WITH_COMMENT_ATTRIB) {
-            ResultSet rs = getAnnotationAttributionOfCommentFromRdf(rdfModel, annType);
-            int count = handleResultSet(rs);
-            logger.debug("Comment attribution {} count: {}", annType, count);
+    private boolean addAttribution(QuerySolution solution) {
+        if (!isValidAttribute(solution, ANNOTATION)) {
+            return false;
         }
-    }
-
+        Resource attrib = outModel.createResource(solution.getResource(ATTRIBUTION).getURI());
+        attrib.addProperty(outModel.createProperty(UP_EVIDENCE), solution.getResource(EVIDENCE));
+        addResourceIfExists(outModel, attrib, solution, UP_SOURCE, SOURCE);
 
-    private int handleResultSet(ResultSet resultSet) {
-        int count = 0;
-        while (resultSet.hasNext()) {
-            QuerySolution solution = resultSet.nextSolution();
-            if (isValidAttribute(solution, ANNOTATION)) {
-                count++;
-                Resource attrib = outModel.createResource(solution.getResource(ATTRIBUTION).getURI());
-                attrib.addProperty(outModel.createProperty(UP_EVIDENCE), solution.getResource(EVIDENCE));
-                addResourceIfExists(outModel, attrib, solution, UP_SOURCE, SOURCE);
-
-                Resource annotation = outModel.createResource(solution.getResource(ANNOTATION).getURI());
-                annotation.addProperty(outModel.createProperty(GLY_ATTRIBUTION), attrib);
-            }
-        }
-        return count;
+        Resource annotation = outModel.createResource(solution.getResource(ANNOTATION).getURI());
+        annotation.addProperty(outModel.createProperty(GLY_ATTRIBUTION), attrib);
+        return true;
     }
 
     private Resource getReaction(Resource rheaId) {
@@ -344,98 +344,65 @@ public class AnnotationAppender implements DataAppender {
         Property equation = outModel.createProperty(GLY_EQUATION);
         if (!resource.hasProperty(equation)) {
             resource.addProperty(equation,
-                    outModel.createLiteral(getReactionLabelFromRheaRdf(rheaModel,resource.getURI())));
+                    outModel.createLiteral(rheaIndex.getEquation(resource.getURI())));
         }
         Property hasEnzyme = outModel.createProperty(GLY_HAS_ENZYME);
         if (!resource.hasProperty(hasEnzyme)) {
-            Resource ec = getEnzymeClassificationFromRheaRdf(rheaModel,resource.getURI());
+            String ec = rheaIndex.getEnzymeClassification(resource.getURI());
             if (ec != null) {
-                resource.addProperty(hasEnzyme, ec);
+                resource.addProperty(hasEnzyme, outModel.createResource(ec));
             }
         }
         resource.addProperty(outModel.createProperty(GLY_REACTION_DATABASE), RHEA_DB);
         return resource;
     }
 
-    private void updateCatalyticAnnotationInfo() {
-        ResultSet rs = getCatalyticActivityInfoFromRdf(rdfModel);
-        int count = 0;
-        while (rs.hasNext()) {
-            count++;
-            QuerySolution solution = rs.nextSolution();
-
-            Resource catActivity = outModel.createResource(solution.getResource(CATALYTIC_ACTIVITY).getURI());
-            catActivity.addProperty(RDF.type, outModel.createResource(UP_TYPE_CATALYTIC_ACTIVITY));
-            catActivity.addProperty(outModel.createProperty(UP_CATALYZED_REACTION),
-                    getReaction(solution.getResource(CATALYZED_REACTION)));
+    private void updateCatalyticActivity(QuerySolution solution) {
+        Resource catActivity = outModel.createResource(solution.getResource(CATALYTIC_ACTIVITY).getURI());
+        catActivity.addProperty(RDF.type, outModel.createResource(UP_TYPE_CATALYTIC_ACTIVITY));
+        catActivity.addProperty(outModel.createProperty(UP_CATALYZED_REACTION),
+                getReaction(solution.getResource(CATALYZED_REACTION)));
 
-            addResourceIfExists(outModel, catActivity, solution, UP_ENZYME_CLASS, ENZYME);
+        addResourceIfExists(outModel, catActivity, solution, UP_ENZYME_CLASS, ENZYME);
 
-            Resource annotation = outModel.createResource(solution.getResource(ANNOTATION).getURI());
-            annotation.addProperty(RDF.type, outModel.createResource(AT_CATALYTIC_ACTIVITY));
-            annotation.addProperty(outModel.createProperty(UP_CATALYTIC_ACTIVITY), catActivity);
+        Resource annotation = outModel.createResource(solution.getResource(ANNOTATION).getURI());
+        annotation.addProperty(RDF.type, outModel.createResource(AT_CATALYTIC_ACTIVITY));
+        annotation.addProperty(outModel.createProperty(UP_CATALYTIC_ACTIVITY), catActivity);
 
-            if (solution.contains(CATALYZED_PHYSIOLOGICAL_REACTION)) {
-                Resource phyActivity =
-                        outModel.createResource(solution.getResource(CATALYTIC_ACTIVITY).getURI() + CPR_SUFFIX);
-                phyActivity.addProperty(RDF.type, outModel.createResource(UP_TYPE_CATALYTIC_ACTIVITY));
-                phyActivity.addProperty(outModel.createProperty(UP_CATALYZED_REACTION),
-                        getReaction(solution.getResource(CATALYZED_PHYSIOLOGICAL_REACTION)));
+        if (solution.contains(CATALYZED_PHYSIOLOGICAL_REACTION)) {
+            Resource phyActivity =
+                    outModel.createResource(solution.getResource(CATALYTIC_ACTIVITY).getURI() + CPR_SUFFIX);
+            phyActivity.addProperty(RDF.type, outModel.createResource(UP_TYPE_CATALYTIC_ACTIVITY));
+            phyActivity.addProperty(outModel.createProperty(UP_CATALYZED_REACTION),
+                    getReaction(solution.getResource(CATALYZED_PHYSIOLOGICAL_REACTION)));
 
-                annotation.addProperty(outModel.createProperty(GLY_CATALYZED_PHYSIOLOGICAL_ACTIVITY), phyActivity);
-            }
-
-            Resource protein = outModel.createResource(solution.getResource(PROTEIN).getURI());
-            protein.addProperty(outModel.createProperty(UP_ANNOTATION), annotation);
+            annotation.addProperty(outModel.createProperty(GLY_CATALYZED_PHYSIOLOGICAL_ACTIVITY), phyActivity);
         }
-        logger.debug("Total Catalytic_Activity_Annotation: {}", count);
-        updateCatalyticAnnotationAttributionInfo();
-        updateCatalyticActivityEnzymeInfo();
+
+        Resource protein = outModel.createResource(solution.getResource(PROTEIN).getURI());
+        protein.addProperty(outModel.createProperty(UP_ANNOTATION), annotation);
     }
 
-    private void updateCatalyticAnnotationAttributionInfo() {
-        ResultSet rs = getCatalyticAnnotationAttributionFromRdf(rdfModel, false);
-        int count = updateCatalyticAnnotationAttribution(rs, false);
+    private void updateCatalyticAnnotationAttribution(QuerySolution solution, boolean cpaFlag) {
+        if (isValidAttribute(solution, CATALYTIC_ACTIVITY)) {
+            Resource cActivity = outModel.createResource(solution.getResource(CATALYTIC_ACTIVITY).getURI() +
+                    (cpaFlag ? CPR_SUFFIX : ""));
 
-        rs = getCatalyticAnnotationAttributionFromRdf(rdfModel, true);
-        int cpaCount = updateCatalyticAnnotationAttribution(rs, true);
-        logger.debug("Total Catalytic_Annotation attributions: {} + {}", count, cpaCount);
-    }
+            Resource attrib = outModel.createResource(solution.getResource(ATTRIBUTION).getURI());
+            attrib.addProperty(outModel.createProperty(UP_EVIDENCE), solution.getResource(EVIDENCE));
+            addResourceIfExists(outModel, attrib, solution, UP_SOURCE, SOURCE);
 
-    private int updateCatalyticAnnotationAttribution(ResultSet rs, boolean cpaFlag) {
-        int count = 0;
-        while (rs.hasNext()) {
-            count++;
-            QuerySolution solution = rs.nextSolution();
-            if (isValidAttribute(solution, CATALYTIC_ACTIVITY)) {
-                Resource cActivity = outModel.createResource(solution.getResource(CATALYTIC_ACTIVITY).getURI() +
-                        (cpaFlag ? CPR_SUFFIX : ""));
-
-                Resource attrib = outModel.createResource(solution.getResource(ATTRIBUTION).getURI());
-                attrib.addProperty(outModel.createProperty(UP_EVIDENCE), solution.getResource(EVIDENCE));
-                addResourceIfExists(outModel, attrib, solution, UP_SOURCE, SOURCE);
-
-                cActivity.addProperty(outModel.createProperty(GLY_ATTRIBUTION), attrib);
-            }
+            cActivity.addProperty(outModel.createProperty(GLY_ATTRIBUTION), attrib);
         }
-        return count;
     }
 
-    private void updateCatalyticActivityEnzymeInfo() {
-        int count = 0;
-        ResultSet rs = getCatalyticActivityEnzymesInfoFromRdf(rdfModel);
-        while (rs.hasNext()) {
-            count++;
-            QuerySolution solution = rs.nextSolution();
-            Resource catActivity = outModel.createResource(solution.getResource(CATALYTIC_ACTIVITY).getURI());
-            catActivity.addProperty(RDF.type, outModel.createResource(UP_TYPE_CATALYTIC_ACTIVITY));
-            catActivity.addProperty(SKOS.closeMatch, solution.getResource(CLOSE_MATCH));
-
-            Resource annotation = outModel.createResource(solution.getResource(ANNOTATION).getURI());
-            annotation.addProperty(RDF.type, outModel.createResource(AT_CATALYTIC_ACTIVITY));
-            annotation.addProperty(outModel.createProperty(UP_CATALYTIC_ACTIVITY), catActivity);
-        }
-        logger.debug("Catalytic_Activity enzyme count: {}", count);
+    private void updateCatalyticActivityEnzyme(QuerySolution solution) {
+        Resource catActivity = outModel.createResource(solution.getResource(CATALYTIC_ACTIVITY).getURI());
+        catActivity.addProperty(RDF.type, outModel.createResource(UP_TYPE_CATALYTIC_ACTIVITY));
+        catActivity.addProperty(SKOS.closeMatch, solution.getResource(CLOSE_MATCH));
 
+        Resource annotation = outModel.createResource(solution.getResource(ANNOTATION).getURI());
+        annotation.addProperty(RDF.type, outModel.createResource(AT_CATALYTIC_ACTIVITY));
+        annotation.addProperty(outModel.createProperty(UP_CATALYTIC_ACTIVITY), catActivity);
     }
 }
@@ -0,0 +1,139 @@
+package uk.ac.ebi.uniprot.glygen.appender;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.compose.MultiUnion;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
+import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Runs appenders concurrently where their declared reads and writes allow it. An appender depends on every earlier
+ * appender in the list that writes what it reads or reads what it writes; appenders are grouped into levels by the
+ * longest chain of such dependencies. Appenders of a level run concurrently, each in its own read transactions on
+ * the input and output datasets, writing into a staging model that is merged into the output dataset when the level
+ * is done. Reads of the output model see the staged triples and everything committed by earlier levels.
+ */
+public class AppenderScheduler {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final int threads;
+
+    public AppenderScheduler(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Groups the appenders into levels; appenders of a level only depend on appenders of earlier levels
+     */
+    public static List<List<DataAppender>> getLevels(List<DataAppender> appenders) {
+        int[] levelOf = new int[appenders.size()];
+        List<List<DataAppender>> levels = new ArrayList<>();
+        for (int i = 0; i < appenders.size(); i++) {
+            DataAppender appender = appenders.get(i);
+            int level = 0;
+            for (int j = 0; j < i; j++) {
+                if (dependsOn(appender, appenders.get(j))) {
+                    level = Math.max(level, levelOf[j] + 1);
+                }
+            }
+            levelOf[i] = level;
+            if (levels.size() == level) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(level).add(appender);
+        }
+        return levels;
+    }
+
+    private static boolean dependsOn(DataAppender appender, DataAppender earlier) {
+        return !Collections.disjoint(earlier.writes(), appender.reads()) ||
+                !Collections.disjoint(earlier.reads(), appender.writes());
+    }
+
+    /**
+     * Runs the appenders against the dataset. The output dataset is expected to be in a write transaction owned by
+     * the calling thread; it is committed before each level and a new write transaction is open on return.
+     */
+    public void run(List<DataAppender> appenders, GlygenDataset dataset, Dataset inDataset, Dataset outDataset) {
+        List<List<DataAppender>> levels = getLevels(appenders);
+        logger.info("Run {} appenders in {} levels on {} threads", appenders.size(), levels.size(), threads);
+
+        ExecutorService es = Executors.newFixedThreadPool(threads);
+        dataset.flush();
+        outDataset.commit();
+        try {
+            for (List<DataAppender> level : levels) {
+                logger.debug("Level {}", level.stream().map(a -> a.getClass().getSimpleName())
+                        .collect(Collectors.toList()));
+                List<Future<Model>> futures = new ArrayList<>();
+                for (DataAppender appender : level) {
+                    futures.add(es.submit(stage(appender, dataset, inDataset, outDataset)));
+                }
+
+                List<Model> stagedModels = new ArrayList<>();
+                for (Future<Model> future : futures) {
+                    stagedModels.add(future.get());
+                }
+
+                outDataset.begin(ReadWrite.WRITE);
+                try {
+                    for (Model staged : stagedModels) {
+                        dataset.getOutModel().add(staged);
+                        staged.close();
+                    }
+                    dataset.flush();
+                } finally {
+                    outDataset.commit();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GlyGenException("Interrupted while running appenders", e);
+        } catch (ExecutionException e) {
+            logger.error("Error running appenders", e.getCause());
+            throw new GlyGenException("Error running appenders", e);
+        } finally {
+            es.shutdownNow();
+            outDataset.begin(ReadWrite.WRITE);
+        }
+    }
+
+    private Callable<Model> stage(DataAppender appender, GlygenDataset dataset, Dataset inDataset,
+            Dataset outDataset) {
+        return () -> {
+            inDataset.begin(ReadWrite.READ);
+            outDataset.begin(ReadWrite.READ);
+            try {
+                Model staged = ModelFactory.createDefaultModel();
+                MultiUnion union = new MultiUnion(new Graph[]{staged.getGraph(),
+                        outDataset.getDefaultModel().getGraph()});
+                union.setBaseGraph(staged.getGraph());
+                Model outModel = ModelFactory.createModelForGraph(union);
+
+                logger.info("Start {}", appender.getClass());
+                GlygenDataset stageDataset = dataset.withModels(inDataset.getDefaultModel(), outModel);
+                stageDataset.setInputDataset(inDataset);
+                appender.appendData(stageDataset);
+                logger.info("End {}, staged {} triples", appender.getClass(), staged.size());
+                return staged;
+            } finally {
+                outDataset.end();
+                inDataset.end();
+            }
+        };
+    }
+}
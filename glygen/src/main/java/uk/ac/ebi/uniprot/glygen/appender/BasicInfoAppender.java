@@ -2,9 +2,11 @@ package uk.ac.ebi.uniprot.glygen.appender;
 
 import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.EnumSet;
 
 import org.apache.jena.datatypes.xsd.XSDDatatype;
 import org.apache.jena.query.QuerySolution;
@@ -49,6 +51,16 @@ public class BasicInfoAppender implements DataAppender {
         dataset.createAccessionMap(accSet);
     }
 
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.noneOf(DatasetPart.class);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.PROTEIN);
+    }
+
     private void validateModel(Model rdfModel) {
         String queryStr = "select (count(*) as ?count) {?p <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> " +
                 "<http://purl.uniprot.org/core/Protein> . }";
@@ -1,6 +1,7 @@
 package uk.ac.ebi.uniprot.glygen.appender;
 
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
 import org.apache.jena.datatypes.xsd.XSDDatatype;
 import org.apache.jena.query.QuerySolution;
@@ -11,9 +12,18 @@ import org.apache.jena.vocabulary.DCTerms;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.SKOS;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.addLiteralIfExists;
-import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getCitationAuthorsFromRdf;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getJournalCitationAuthorsFromRdf;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getJournalCitationsFromRdf;
 
 public class CitationAppender implements DataAppender {
@@ -27,38 +37,59 @@ public class CitationAppender implements DataAppender {
         updateCitations();
     }
 
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.noneOf(DatasetPart.class);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.CITATION);
+    }
+
     private void updateCitations() {
+        Map<String, List<String>> authorMap = getAuthorMap();
+        // the query returns a row per protein and citation, citations cited by several proteins are emitted once
+        Set<String> emittedSet = new HashSet<>();
         ResultSet resultSet = getJournalCitationsFromRdf(rdfModel);
         while (resultSet.hasNext()) {
             QuerySolution solution = resultSet.nextSolution();
 
             Resource citation = outModel.createResource(solution.getResource(CITATION).getURI());
-            citation.addProperty(RDF.type, outModel.createResource(UP_TYPE_JOURNAL_CITATION));
-            citation.addProperty(outModel.createProperty(UP_TITLE), solution.getLiteral(TITLE).getString());
+            // exactMatch and identifier may differ between rows of the same citation
+            citation.addProperty(SKOS.exactMatch, solution.getResource(EXACT_MATCH));
+            addLiteralIfExists(citation, solution, DCTerms.identifier, IDENTIFIER);
 
-            addAuthors(citation);
+            Resource protein = outModel.createResource(solution.getResource(PROTEIN).getURI());
+            protein.addProperty(outModel.createProperty(UP_CITATION), citation);
 
-            citation.addProperty(SKOS.exactMatch, solution.getResource(EXACT_MATCH));
+            if (!emittedSet.add(citation.getURI())) {
+                continue;
+            }
+            citation.addProperty(RDF.type, outModel.createResource(UP_TYPE_JOURNAL_CITATION));
+            citation.addProperty(outModel.createProperty(UP_TITLE), solution.getLiteral(TITLE).getString());
 
-            addLiteralIfExists(citation, solution, DCTerms.identifier, IDENTIFIER);
+            for (String author : authorMap.getOrDefault(citation.getURI(), Collections.emptyList())) {
+                citation.addProperty(outModel.createProperty(UP_AUTHOR), author);
+            }
 
             citation.addProperty(outModel.createProperty(UP_DATE),
                     outModel.createTypedLiteral(solution.getLiteral(DATE), XSDDatatype.XSDgYear));
             citation.addProperty(outModel.createProperty(UP_NAME), solution.getLiteral(NAME).getString());
             citation.addProperty(outModel.createProperty(UP_VOLUME), solution.getLiteral(VOLUME).getString());
             citation.addProperty(outModel.createProperty(UP_PAGES), solution.getLiteral(PAGES).getString());
-
-            Resource protein = outModel.createResource(solution.getResource(PROTEIN).getURI());
-            protein.addProperty(outModel.createProperty(UP_CITATION), citation);
         }
     }
 
-    private void addAuthors(Resource citation){
-        ResultSet resultSet = getCitationAuthorsFromRdf(rdfModel, citation.getURI());
+    private Map<String, List<String>> getAuthorMap() {
+        Map<String, List<String>> authorMap = new HashMap<>();
+        ResultSet resultSet = getJournalCitationAuthorsFromRdf(rdfModel);
         while (resultSet.hasNext()) {
             QuerySolution solution = resultSet.nextSolution();
-            citation.addProperty(outModel.createProperty(UP_AUTHOR), solution.getLiteral(AUTHOR).getString());
+            authorMap.computeIfAbsent(solution.getResource(CITATION).getURI(), k -> new ArrayList<>())
+                    .add(solution.getLiteral(AUTHOR).getString());
         }
+        return authorMap;
     }
 
 }
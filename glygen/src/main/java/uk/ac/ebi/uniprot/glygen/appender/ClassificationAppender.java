@@ -1,11 +1,18 @@
 package uk.ac.ebi.uniprot.glygen.appender;
 
 import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
+import uk.ac.ebi.uniprot.glygen.core.ReferenceModelRegistry;
+import uk.ac.ebi.uniprot.glygen.index.GoHierarchyIndex;
+import uk.ac.ebi.uniprot.glygen.index.VocabularyIndex;
 import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+import org.apache.jena.graph.Node;
 import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
@@ -22,22 +29,38 @@ import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.*;
 
 public class ClassificationAppender implements DataAppender {
     private final Logger logger = LoggerFactory.getLogger(getClass());
-    private final Model keyModel;
-    private final Model goModel;
+    private final CompletableFuture<VocabularyIndex> keyIndexFuture;
+    private final CompletableFuture<GoHierarchyIndex> goIndexFuture;
+    private VocabularyIndex keyIndex;
+    private GoHierarchyIndex goIndex;
     private Model outModel;
 
     public ClassificationAppender() {
-        keyModel = createModelFromRdfFile(GlygenConfig.getKeywords());
-        goModel = createModelFromRdfFile(GlygenConfig.getGeneOntologies());
+        ReferenceModelRegistry.requireExists(GlygenConfig.getKeywords());
+        ReferenceModelRegistry.requireExists(GlygenConfig.getGeneOntologies());
+        keyIndexFuture = ReferenceModelRegistry.getVocabularyIndexAsync(GlygenConfig.getKeywords(), UP_TYPE_CONCEPT);
+        goIndexFuture = ReferenceModelRegistry.getGoHierarchyIndexAsync(GlygenConfig.getGeneOntologies());
     }
 
     @Override
     public void appendData(GlygenDataset dataset) {
+        keyIndex = ReferenceModelRegistry.await(keyIndexFuture);
+        goIndex = ReferenceModelRegistry.await(goIndexFuture);
         outModel = dataset.getOutModel();
         updateKeywordClassificaton(dataset.getRdfModel());
         updateGoClassification(dataset.getRdfModel(), dataset.getAccessionSet());
     }
 
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.of(DatasetPart.PROTEIN);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.CLASSIFICATION);
+    }
+
     private void updateKeywordClassificaton(Model rdfModel) {
         Set<String> keySet = new HashSet<>();
 
@@ -59,7 +82,7 @@ public class ClassificationAppender implements DataAppender {
     }
 
     private void updateKeywordInfo(Resource resource, String classId) {
-        String prefLabel = getPrefLabelFromKeywordsRdf(keyModel, classId);
+        String prefLabel = keyIndex.getPrefLabel(classId);
         if (prefLabel == null) {
             logger.error("PrefLabel not found for {}", classId);
             throw new GlyGenException("PrefLabel not found for " + classId);
@@ -67,17 +90,15 @@ public class ClassificationAppender implements DataAppender {
             resource.addProperty(RDF.type, outModel.createResource(UP_TYPE_CONCEPT));
             resource.addProperty(SKOS.prefLabel, prefLabel);
 
-            ResultSet resultSet = getAltLabelsFromKeywordsRdf(keyModel, classId);
-            while (resultSet.hasNext()) {
-                QuerySolution solution = resultSet.nextSolution();
-                resource.addProperty(SKOS.altLabel, solution.getLiteral(ALT_LABEL));
+            for (Node altLabel : keyIndex.getTerm(classId).getAltLabels()) {
+                resource.addProperty(SKOS.altLabel, outModel.asRDFNode(altLabel));
             }
         }
     }
 
     private void updateGoInfo(Resource resource, String resId) {
 
-        String goTerm = getTermLabelFromGeneOntologiesRdf(goModel, resId);
+        String goTerm = goIndex.getLabel(resId);
         if (goTerm == null || goTerm.isBlank()) {
             // Not an error: obsolete / secondary GO terms may lack labels
             logger.info("GO label not found for {}", resId);
@@ -87,8 +108,7 @@ public class ClassificationAppender implements DataAppender {
         resource.addProperty(RDF.type, OWL.Class);
         resource.addProperty(RDFS.label, goTerm);
     
-        String namespace =
-                getClassificationLabelFromGeneOntologiesRdf(goModel, resId);
+        String namespace = goIndex.getNamespace(resId);
     
         if (namespace != null && !namespace.isBlank()) {
             resource.addProperty(
@@ -105,12 +125,14 @@ public class ClassificationAppender implements DataAppender {
 
         Set<String> goSet = new HashSet<>();
         int count = 0;
-        for (String acc : accSet) {
-            ResultSet rs = getGoClassificationAttributionFromRdf(rdfModel, acc,
-                    acc.substring(acc.lastIndexOf(CHAR_FORWARD_SLASH) +1 ));
-            while (rs.hasNext()) {
+        // one pass over the GO attributions of all proteins instead of a query per accession
+        ResultSet rs = getGoClassificationAttributionsFromRdf(rdfModel);
+        while (rs.hasNext()) {
+            QuerySolution solution = rs.nextSolution();
+            String acc = solution.getResource(PROTEIN).getURI();
+            if (accSet.contains(acc) && solution.getResource(REIF_ID).getURI()
+                    .contains(acc.substring(acc.lastIndexOf(CHAR_FORWARD_SLASH) + 1))) {
                 count++;
-                QuerySolution solution = rs.nextSolution();
 
                 Resource attrib = outModel.createResource(solution.getResource(ATTRIBUTION).getURI());
                 attrib.addProperty(outModel.createProperty(UP_EVIDENCE), solution.getResource(EVIDENCE));
@@ -1,37 +1,71 @@
 package uk.ac.ebi.uniprot.glygen.appender;
 
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
-import org.apache.jena.query.QuerySolution;
-import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
-import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.*;
+import static uk.ac.ebi.uniprot.glygen.appender.ProteinRecord.getObjects;
 
-public class CrossReferenceAppender implements DataAppender {
+public class CrossReferenceAppender implements DataAppender, ProteinScanHandler {
 
     @Override
     public void appendData(GlygenDataset dataset) {
+        new ProteinScanAppender(this).appendData(dataset);
+    }
+
+    @Override
+    public void handleProtein(ProteinRecord protein, GlygenDataset dataset) {
         Model outModel = dataset.getOutModel();
-        ResultSet resultSet = getDbCrossReferenceFromRdf(dataset.getRdfModel());
-        while (resultSet.hasNext()) {
-            QuerySolution solution = resultSet.nextSolution();
+        for (RDFNode node : protein.getObjects(RDFS.seeAlso.getURI())) {
+            // ensTranscript, Structure_Resource & Pathway_Annotation are added by other appenders
+            boolean typed = getObjects(node, RDF.type.getURI()).stream()
+                    .anyMatch(type -> !type.isURIResource() ||
+                            !type.asResource().getURI().equals(UP_TYPE_TRANSCRIPT_RESOURCE));
+            if (!typed) {
+                continue;
+            }
+
+            for (RDFNode databaseNode : getObjects(node, UP_DATABASE)) {
+                String dbUri = databaseNode.asResource().getURI();
+                if (PDB_DB.equals(dbUri) || REACTOME_DB.equals(dbUri)) {
+                    continue;
+                }
 
-            Resource database = outModel.createResource(solution.getResource(DATABASE).getURI());
-            dataset.addDbUri(database.getURI());
+                Resource database = outModel.createResource(dbUri);
+                dataset.addDbUri(database.getURI());
 
-            Resource crossRef = outModel.createResource(solution.getResource(RESOURCE).getURI());
-            crossRef.addProperty(RDF.type, outModel.createResource(UP_TYPE_RESOURCE));
-            addLiteralIfExists(crossRef, solution, RDFS.comment, COMMENT);
-            crossRef.addProperty(outModel.createProperty(UP_DATABASE), database);
-            addResourceIfExists(crossRef, solution, RDFS.seeAlso, SEQUENCE);
+                Resource crossRef = outModel.createResource(node.asResource().getURI());
+                crossRef.addProperty(RDF.type, outModel.createResource(UP_TYPE_RESOURCE));
+                for (RDFNode comment : getObjects(node, RDFS.comment.getURI())) {
+                    crossRef.addProperty(RDFS.comment, comment);
+                }
+                crossRef.addProperty(outModel.createProperty(UP_DATABASE), database);
+                for (RDFNode sequence : getObjects(node, RDFS.seeAlso.getURI())) {
+                    crossRef.addProperty(RDFS.seeAlso, sequence);
+                }
 
-            Resource protein = outModel.createResource(solution.getResource(PROTEIN).getURI());
-            protein.addProperty(RDFS.seeAlso, crossRef);
+                Resource proteinRes = outModel.createResource(protein.getUri());
+                proteinRes.addProperty(RDFS.seeAlso, crossRef);
+            }
         }
     }
+
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.noneOf(DatasetPart.class);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.CROSS_REFERENCE);
+    }
 }
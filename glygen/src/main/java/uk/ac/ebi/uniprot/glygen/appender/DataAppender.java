@@ -1,7 +1,27 @@
 package uk.ac.ebi.uniprot.glygen.appender;
 
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public interface DataAppender {
     void appendData(GlygenDataset dataset);
+
+    /**
+     * Parts of the dataset this appender reads back from the output model or GlygenDataset. Appenders that do not
+     * declare them are treated as reading everything.
+     */
+    default Set<DatasetPart> reads() {
+        return EnumSet.allOf(DatasetPart.class);
+    }
+
+    /**
+     * Parts of the dataset this appender writes. Appenders that do not declare them are treated as writing
+     * everything.
+     */
+    default Set<DatasetPart> writes() {
+        return EnumSet.allOf(DatasetPart.class);
+    }
 }
@@ -1,10 +1,14 @@
 package uk.ac.ebi.uniprot.glygen.appender;
 
+import uk.ac.ebi.uniprot.glygen.core.ReferenceModelRegistry;
 import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
 import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
@@ -14,7 +18,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
-import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.createModelFromRdfFile;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getDetailsFromDatabasesRdf;
 
 /**
@@ -22,14 +25,16 @@ import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getDetailsFromDatabasesRd
  */
 public class DatabaseInfoAppender implements DataAppender {
     private Logger logger = LoggerFactory.getLogger(getClass());
-    private Model dbModel;
+    private final CompletableFuture<Model> dbModelFuture;
 
     public DatabaseInfoAppender(GlygenConfig config) {
-        dbModel = createModelFromRdfFile(config.getDatabases());
+        ReferenceModelRegistry.requireExists(GlygenConfig.getDatabases());
+        dbModelFuture = ReferenceModelRegistry.getModelAsync(GlygenConfig.getDatabases());
     }
 
     @Override
     public void appendData(GlygenDataset dataset) {
+        Model dbModel = ReferenceModelRegistry.await(dbModelFuture);
         Model outModel = dataset.getOutModel();
         Set<String> set = dataset.getDbUriSet();
         Set<String> addedSet = new HashSet<>();
@@ -52,4 +57,14 @@ public class DatabaseInfoAppender implements DataAppender {
         }
     }
 
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.of(DatasetPart.CROSS_REFERENCE);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.DATABASE);
+    }
+
 }
\ No newline at end of file
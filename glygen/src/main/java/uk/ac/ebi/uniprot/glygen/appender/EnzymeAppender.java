@@ -1,15 +1,20 @@
 package uk.ac.ebi.uniprot.glygen.appender;
 
-import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
+import uk.ac.ebi.uniprot.glygen.core.ReferenceModelRegistry;
+import uk.ac.ebi.uniprot.glygen.index.EnzymeIndex;
 import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
 import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
@@ -20,16 +25,17 @@ import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.*;
 
 public class EnzymeAppender implements DataAppender {
     private Model outModel;
+    private final CompletableFuture<EnzymeIndex> enzymeIndexFuture;
+    private EnzymeIndex enzymeIndex;
 
     public EnzymeAppender() {
-        GlygenConfig.createEnzymeModel();
-        if (GlygenConfig.getEnzymeModel() == null) {
-            throw new GlyGenException("Error creating Enzyme model using " + GlygenConfig.getEnzyme());
-        }
+        ReferenceModelRegistry.requireExists(GlygenConfig.getEnzyme());
+        enzymeIndexFuture = ReferenceModelRegistry.getEnzymeIndexAsync(GlygenConfig.getEnzyme());
     }
 
     @Override
     public void appendData(GlygenDataset dataset) {
+        enzymeIndex = ReferenceModelRegistry.await(enzymeIndexFuture);
         outModel = dataset.getOutModel();
 
         Set<String> enzymeSet = new HashSet<>();
@@ -48,39 +54,49 @@ public class EnzymeAppender implements DataAppender {
         updateEnzymeInfo(enzymeSet);
     }
 
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.noneOf(DatasetPart.class);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.ENZYME);
+    }
+
     private void updateEnzymeInfo(Set<String> enzymeSet) {
         for (String enzId : enzymeSet) {
+            EnzymeIndex.Enzyme enzymeInfo = enzymeIndex.getEnzyme(enzId);
+            if (enzymeInfo == null) {
+                continue;
+            }
             Resource enzyme = outModel.createResource(enzId);
-            updateProperty(enzyme, enzId, outModel.createProperty(UP_ACTIVITY), ACTIVITY, false);
-            updateProperty(enzyme, enzId, outModel.createProperty(UP_CO_FACTOR_LABEL), CO_FACTOR_LABEL, true);
-            updateProperty(enzyme, enzId, outModel.createProperty(UP_OBSOLETE), OBSOLETE, true);
-            updateProperty(enzyme, enzId, outModel.createProperty(UP_REPLACED_BY), REPLACED_BY, false);
-            updateProperty(enzyme, enzId, outModel.createProperty(UP_REPLACES), REPLACES, false);
-            updateProperty(enzyme, enzId, RDFS.subClassOf, SUB_CLASS_OF, false);
-            updateProperty(enzyme, enzId, SKOS.prefLabel, PREF_LABEL, true);
-            updateProperty(enzyme, enzId, SKOS.altLabel, ALT_LABEL, true);
-            updateCatalyticActivityInfo(enzId);
+            updateProperty(enzyme, enzymeInfo, outModel.createProperty(UP_ACTIVITY), false);
+            updateProperty(enzyme, enzymeInfo, outModel.createProperty(UP_CO_FACTOR_LABEL), true);
+            updateProperty(enzyme, enzymeInfo, outModel.createProperty(UP_OBSOLETE), true);
+            updateProperty(enzyme, enzymeInfo, outModel.createProperty(UP_REPLACED_BY), false);
+            updateProperty(enzyme, enzymeInfo, outModel.createProperty(UP_REPLACES), false);
+            updateProperty(enzyme, enzymeInfo, RDFS.subClassOf, false);
+            updateProperty(enzyme, enzymeInfo, SKOS.prefLabel, true);
+            updateProperty(enzyme, enzymeInfo, SKOS.altLabel, true);
+            updateCatalyticActivityInfo(enzymeInfo);
         }
     }
 
-    private void updateProperty(Resource enzyme, String enzId, Property rdfProp, String property, boolean isLiteral) {
-
-        ResultSet resultSet = getPropertyListFromEnzymeRdf(GlygenConfig.getEnzymeModel(),
-                enzId, rdfProp.getURI(), property);
-        while (resultSet.hasNext()) {
-            QuerySolution solution = resultSet.nextSolution();
-            enzyme.addProperty(rdfProp, isLiteral ? solution.getLiteral(property) : solution.getResource(property));
+    private void updateProperty(Resource enzyme, EnzymeIndex.Enzyme enzymeInfo, Property rdfProp,
+            boolean isLiteral) {
+        for (RDFNode value : enzymeInfo.getValues(rdfProp)) {
+            if (isLiteral ? value.isLiteral() : value.isResource()) {
+                enzyme.addProperty(rdfProp, value);
+            }
         }
     }
 
-    private void updateCatalyticActivityInfo(String enzId) {
-        ResultSet resultSet = getCatalyticActivityFromEnzymeRdf(GlygenConfig.getEnzymeModel(), enzId);
-        while (resultSet.hasNext()) {
-            QuerySolution solution = resultSet.nextSolution();
-
-            Resource activity = outModel.createResource(solution.getResource(ACTIVITY).getURI());
+    private void updateCatalyticActivityInfo(EnzymeIndex.Enzyme enzymeInfo) {
+        for (EnzymeIndex.CatalyticActivity catalyticActivity : enzymeInfo.getCatalyticActivities()) {
+            Resource activity = outModel.createResource(catalyticActivity.getActivity().getURI());
             activity.addProperty(RDF.type, outModel.createResource(UP_TYPE_CATALYTIC_ACTIVITY));
-            activity.addProperty(RDFS.label, solution.getLiteral(LABEL));
+            activity.addProperty(RDFS.label, catalyticActivity.getLabel());
         }
     }
 }
@@ -1,7 +1,6 @@
 package uk.ac.ebi.uniprot.glygen.appender;
 
 import org.apache.jena.query.QuerySolution;
-import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.Resource;
@@ -12,6 +11,7 @@ import org.slf4j.LoggerFactory;
 import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
 import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -19,6 +19,8 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.EnumSet;
+import java.util.Set;
 
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getGeneAltLabelsFromRdf;
@@ -34,6 +36,7 @@ public class GeneAppender implements DataAppender {
     private GlygenDataset dataset;
 
     private HashMap<String, HashSet<String>> genResMap;
+    private int geneEntryCount;
 
     public GeneAppender(GlygenConfig config) {
         this.config = config;
@@ -45,44 +48,50 @@ public class GeneAppender implements DataAppender {
         this.outModel = dataset.getOutModel();
 
         genResMap = new HashMap<>();
-
-        updateGeneName(SKOS.prefLabel, PREF_LABEL, true);
-        updateGeneAltNames();
-        updateGeneName(outModel.createProperty(UP_ORF_NAME), ORF_NAME, false);
+        geneEntryCount = 0;
+
+        // the gene names are independent queries: read concurrently, written on this thread
+        new QueryPipeline(dataset)
+                .add("prefLabel", model -> getGeneLabelFromRdf(model, true),
+                        solution -> updateGeneName(solution, SKOS.prefLabel, PREF_LABEL))
+                .add("altLabel", model -> getGeneAltLabelsFromRdf(model), this::updateGeneAltName)
+                .add("orfName", model -> getGeneLabelFromRdf(model, false),
+                        solution -> updateGeneName(solution, outModel.createProperty(UP_ORF_NAME), ORF_NAME))
+                .run();
+        logger.info("Gene count{}, entries having gene: {}", genResMap.size(), geneEntryCount);
         updateGeneCoordinates();
     }
 
-    private void updateGeneName(Property rdfProp, String prop, boolean isPrefLabel) {
-        ResultSet resultSet = getGeneLabelFromRdf(dataset.getRdfModel(), isPrefLabel);
-        int count = 0;
-        while (resultSet.hasNext()) {
-            QuerySolution solution = resultSet.nextSolution();
-            String geneName = solution.getLiteral(prop).toString();
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.noneOf(DatasetPart.class);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.GENE);
+    }
+
+    private void updateGeneName(QuerySolution solution, Property rdfProp, String prop) {
+        String geneName = solution.getLiteral(prop).toString();
 
-            Resource gene = outModel.createResource(solution.getResource(ENCODED_BY).getURI());
-            gene.addProperty(RDF.type, outModel.createResource(UP_TYPE_GENE));
-            gene.addProperty(rdfProp, geneName);
+        Resource gene = outModel.createResource(solution.getResource(ENCODED_BY).getURI());
+        gene.addProperty(RDF.type, outModel.createResource(UP_TYPE_GENE));
+        gene.addProperty(rdfProp, geneName);
 
-            Resource protein = outModel.createResource(solution.getResource(PROTEIN).getURI());
-            protein.addProperty(outModel.createProperty(UP_ENCODED_BY), gene);
+        Resource protein = outModel.createResource(solution.getResource(PROTEIN).getURI());
+        protein.addProperty(outModel.createProperty(UP_ENCODED_BY), gene);
 
-            if (!genResMap.containsKey(geneName)) {
-                genResMap.put(geneName, new HashSet<>());
-            }
-            genResMap.get(geneName).add(gene.getURI());
-            count++;
+        if (!genResMap.containsKey(geneName)) {
+            genResMap.put(geneName, new HashSet<>());
         }
-        logger.info("Gene count{}, entries having gene: {}", genResMap.size(), count);
+        genResMap.get(geneName).add(gene.getURI());
+        geneEntryCount++;
     }
 
-    private void updateGeneAltNames() {
-        ResultSet resultSet = getGeneAltLabelsFromRdf(dataset.getRdfModel());
-        while (resultSet.hasNext()) {
-            QuerySolution solution = resultSet.nextSolution();
-
-            Resource geneName = outModel.createResource(solution.getResource(ENCODED_BY).getURI());
-            geneName.addProperty(SKOS.altLabel, solution.getLiteral(ALT_LABEL));
-        }
+    private void updateGeneAltName(QuerySolution solution) {
+        Resource geneName = outModel.createResource(solution.getResource(ENCODED_BY).getURI());
+        geneName.addProperty(SKOS.altLabel, solution.getLiteral(ALT_LABEL));
     }
 
     private void addGeneRange(Resource locus, long start, long end) {
@@ -5,6 +5,7 @@ import uk.ac.ebi.uniprot.glygen.model.Exon;
 import uk.ac.ebi.uniprot.glygen.model.GenomicLocation;
 import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
@@ -16,6 +17,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.EnumSet;
 
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.Resource;
@@ -92,6 +94,16 @@ public class GenomicCoordinateAppender implements DataAppender {
         logger.info("ENSTranscripts added: {} not added: {}", added, notAdded);
     }
 
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.of(DatasetPart.TRANSCRIPT);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.GENOMIC_COORDINATE);
+    }
+
     private void parseJson() throws IOException {
 
         while (jsonParser.nextToken() != null) {
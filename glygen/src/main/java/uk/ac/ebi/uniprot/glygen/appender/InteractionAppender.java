@@ -11,8 +11,10 @@ import uk.ac.ebi.uniprot.dataservice.client.uniprot.UniProtQueryBuilder;
 import uk.ac.ebi.uniprot.dataservice.client.uniprot.UniProtService;
 import uk.ac.ebi.uniprot.dataservice.query.Query;
 import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
+import uk.ac.ebi.uniprot.glygen.index.ParticipantIndex;
 import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -21,8 +23,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.EnumSet;
 import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Literal;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.vocabulary.OWL;
@@ -39,6 +43,7 @@ public class InteractionAppender implements DataAppender {
     private Model rdfModel;
     private Model outModel;
     private GlygenConfig config;
+    private ParticipantIndex participantIndex;
 
     public InteractionAppender(GlygenConfig config) {
         this.config=config;
@@ -48,6 +53,7 @@ public class InteractionAppender implements DataAppender {
     public void appendData(GlygenDataset dataset) {
         rdfModel = dataset.getRdfModel();
         outModel = dataset.getOutModel();
+        participantIndex = new ParticipantIndex(rdfModel);
         Set<String> partSet = new HashSet<>();
 
         ResultSet resultSet = getInteractionFromRdf(rdfModel);
@@ -80,6 +86,16 @@ public class InteractionAppender implements DataAppender {
         updateOrganismHost(dataset.getAccessionSet().iterator().next());
     }
 
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.of(DatasetPart.PROTEIN);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.INTERACTION);
+    }
+
     private void addParticipantResource(Resource interaction, String resId, Set<String> partSet) {
         partSet.add(resId);
         Resource participant = outModel.createResource(PARTICIPANT_PREFIX + resId);
@@ -145,14 +161,12 @@ public class InteractionAppender implements DataAppender {
             if (sameAs.getURI().startsWith(ISOFORM_PREFIX)) {
                 acc = acc.substring(acc.lastIndexOf(CHAR_FORWARD_SLASH) + 1, acc.indexOf(CHAR_DASH));
 
-                ResultSet resultSet = getMnemonicAndTaxonFromRdf(rdfModel, PROTEIN_PREFIX + acc);
-                if (resultSet.hasNext()) {
-                    QuerySolution solution = resultSet.nextSolution();
-                    if (solution.contains(MNEMONIC)) {
-                        participant.addProperty(outModel.createProperty(UP_MNEMONIC), solution.getLiteral(MNEMONIC));
-                        participant.addProperty(outModel.createProperty(UP_ORGANISM), solution.getResource(ORGANISM));
-                        partId = null;
-                    }
+                Literal mnemonic = participantIndex.getMnemonic(PROTEIN_PREFIX + acc);
+                if (mnemonic != null) {
+                    participant.addProperty(outModel.createProperty(UP_MNEMONIC), mnemonic);
+                    participant.addProperty(outModel.createProperty(UP_ORGANISM),
+                            participantIndex.getOrganism(PROTEIN_PREFIX + acc));
+                    partId = null;
                 }
             }
             if (partId != null) {
@@ -248,14 +262,11 @@ public class InteractionAppender implements DataAppender {
 
         for (String acc : obsSecAccIdSet) {
             for (Resource participant : missingAccMap.get(acc)) {
-                ResultSet resultSet = getInfoOfParticipantFromRdf(rdfModel, participant.getURI());
                 participant.removeProperties();
 
-                while (resultSet.hasNext()) {
-                    QuerySolution solution = resultSet.nextSolution();
-
-                    Resource protein = outModel.getResource(solution.getResource(PROTEIN).getURI());
-                    Resource interaction = outModel.getResource(solution.getResource(INTERACTION).getURI());
+                for (ParticipantIndex.Link link : participantIndex.getLinks(participant.getURI())) {
+                    Resource protein = outModel.getResource(link.getProtein().getURI());
+                    Resource interaction = outModel.getResource(link.getInteraction().getURI());
                     interaction.removeProperties();
 
                     outModel.remove(protein, outModel.createProperty(UP_INTERACTION), interaction);
@@ -1,6 +1,7 @@
 package uk.ac.ebi.uniprot.glygen.appender;
 
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
 import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.ResultSet;
@@ -8,6 +9,9 @@ import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.vocabulary.RDF;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.addLiteralIfExists;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getAllStructuredNameFromRdf;
@@ -26,6 +30,16 @@ public class NameAppender implements DataAppender {
         updateName(SUBMITTED_NAME, UP_SUBMITTED_NAME);
     }
 
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.of(DatasetPart.PROTEIN);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.NAME);
+    }
+
     private void updateName(String nameType, String propNameType) {
         ResultSet resultSet = getAllStructuredNameFromRdf(rdfModel, nameType);
         while (resultSet.hasNext()) {
@@ -1,35 +1,52 @@
 package uk.ac.ebi.uniprot.glygen.appender;
 
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
-import org.apache.jena.query.QuerySolution;
-import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+
+import java.util.EnumSet;
+import java.util.Set;
 
-import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.COMPONENT;
-import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.DOMAIN;
-import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.PROTEIN;
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_COMPONENT;
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_DOMAIN;
-import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getProteinComponentsFromRdf;
-import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getProteinDomainsFromRdf;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_TYPE_PART;
 
-public class ProteinComponentAppender implements DataAppender {
+public class ProteinComponentAppender implements DataAppender, ProteinScanHandler {
 
     @Override
     public void appendData(GlygenDataset dataset) {
+        new ProteinScanAppender(this).appendData(dataset);
+    }
+
+    @Override
+    public void handleProtein(ProteinRecord protein, GlygenDataset dataset) {
         Model outModel = dataset.getOutModel();
-        appendData(getProteinComponentsFromRdf(dataset.getRdfModel()), outModel, COMPONENT, UP_COMPONENT);
-        appendData(getProteinDomainsFromRdf(dataset.getRdfModel()), outModel, DOMAIN, UP_DOMAIN);
+        appendData(protein, outModel, UP_COMPONENT);
+        appendData(protein, outModel, UP_DOMAIN);
+    }
+
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.noneOf(DatasetPart.class);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.COMPONENT);
     }
 
-    private void appendData(ResultSet resultSet, Model outModel, String resType, String propType) {
-        while (resultSet.hasNext()) {
-            QuerySolution solution = resultSet.nextSolution();
-            Resource part = outModel.createResource(solution.getResource(resType).getURI());
-            Resource protein = outModel.createResource(solution.getResource(PROTEIN).getURI());
-            protein.addProperty(outModel.createProperty(propType), part);
+    private void appendData(ProteinRecord protein, Model outModel, String propType) {
+        Resource partType = protein.getResource().getModel().createResource(UP_TYPE_PART);
+        for (RDFNode node : protein.getObjects(propType)) {
+            if (node.isResource() && node.asResource().hasProperty(RDF.type, partType)) {
+                Resource part = outModel.createResource(node.asResource().getURI());
+                Resource proteinRes = outModel.createResource(protein.getUri());
+                proteinRes.addProperty(outModel.createProperty(propType), part);
+            }
         }
     }
 }
\ No newline at end of file
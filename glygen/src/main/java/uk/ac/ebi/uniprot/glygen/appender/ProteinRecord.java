@@ -0,0 +1,58 @@
+package uk.ac.ebi.uniprot.glygen.appender;
+
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.StmtIterator;
+import org.apache.jena.rdf.model.Statement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Triples of one protein of the proteome model, grouped by predicate
+ */
+public class ProteinRecord {
+    private final Resource protein;
+    private final Map<String, List<RDFNode>> objectMap = new HashMap<>();
+
+    public ProteinRecord(Resource protein) {
+        this.protein = protein;
+        StmtIterator iterator = protein.listProperties();
+        try {
+            while (iterator.hasNext()) {
+                Statement statement = iterator.nextStatement();
+                objectMap.computeIfAbsent(statement.getPredicate().getURI(), k -> new ArrayList<>())
+                        .add(statement.getObject());
+            }
+        } finally {
+            iterator.close();
+        }
+    }
+
+    public Resource getResource() {
+        return protein;
+    }
+
+    public String getUri() {
+        return protein.getURI();
+    }
+
+    public List<RDFNode> getObjects(String predicateUri) {
+        return objectMap.getOrDefault(predicateUri, Collections.emptyList());
+    }
+
+    /**
+     * Objects of the predicate for another resource of the proteome model, eg: an object of a protein triple
+     */
+    public static List<RDFNode> getObjects(RDFNode node, String predicateUri) {
+        if (!node.isResource()) {
+            return Collections.emptyList();
+        }
+        Resource resource = node.asResource();
+        return resource.listProperties(resource.getModel().createProperty(predicateUri))
+                .mapWith(Statement::getObject).toList();
+    }
+}
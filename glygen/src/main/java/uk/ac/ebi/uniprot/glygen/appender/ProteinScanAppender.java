@@ -0,0 +1,76 @@
+package uk.ac.ebi.uniprot.glygen.appender;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ResIterator;
+import org.apache.jena.vocabulary.RDF;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
+import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_TYPE_PROTEIN;
+
+/**
+ * Iterates the proteins of the proteome model once and hands the triples of each protein to all the registered
+ * handlers, so that they share a single pass over the proteome instead of each running its own query
+ */
+public class ProteinScanAppender implements DataAppender {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final List<ProteinScanHandler> handlers;
+
+    public ProteinScanAppender(ProteinScanHandler... handlers) {
+        this.handlers = asList(handlers);
+    }
+
+    @Override
+    public void appendData(GlygenDataset dataset) {
+        for (ProteinScanHandler handler : handlers) {
+            handler.startScan(dataset);
+        }
+
+        Model rdfModel = dataset.getRdfModel();
+        int count = 0;
+        ResIterator iterator = rdfModel.listResourcesWithProperty(RDF.type, rdfModel.createResource(UP_TYPE_PROTEIN));
+        try {
+            while (iterator.hasNext()) {
+                ProteinRecord protein = new ProteinRecord(iterator.nextResource());
+                for (ProteinScanHandler handler : handlers) {
+                    handler.handleProtein(protein, dataset);
+                }
+                count++;
+            }
+        } finally {
+            iterator.close();
+        }
+        logger.debug("Scanned {} proteins for {} handlers", count, handlers.size());
+
+        for (ProteinScanHandler handler : handlers) {
+            handler.endScan(dataset);
+        }
+    }
+
+    @Override
+    public Set<DatasetPart> reads() {
+        Set<DatasetPart> reads = EnumSet.noneOf(DatasetPart.class);
+        for (ProteinScanHandler handler : handlers) {
+            reads.addAll(handler instanceof DataAppender ? ((DataAppender) handler).reads() :
+                    EnumSet.allOf(DatasetPart.class));
+        }
+        return reads;
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        Set<DatasetPart> writes = EnumSet.noneOf(DatasetPart.class);
+        for (ProteinScanHandler handler : handlers) {
+            writes.addAll(handler instanceof DataAppender ? ((DataAppender) handler).writes() :
+                    EnumSet.allOf(DatasetPart.class));
+        }
+        return writes;
+    }
+}
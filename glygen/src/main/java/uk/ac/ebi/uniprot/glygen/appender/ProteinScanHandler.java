@@ -0,0 +1,18 @@
+package uk.ac.ebi.uniprot.glygen.appender;
+
+import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+
+/**
+ * Appender logic driven by ProteinScanAppender: receives the triples of each protein of the proteome model in a
+ * single pass over the proteins, instead of querying the proteome model itself
+ */
+public interface ProteinScanHandler {
+
+    default void startScan(GlygenDataset dataset) {
+    }
+
+    void handleProtein(ProteinRecord protein, GlygenDataset dataset);
+
+    default void endScan(GlygenDataset dataset) {
+    }
+}
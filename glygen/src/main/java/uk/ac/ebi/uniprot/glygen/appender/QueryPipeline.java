@@ -0,0 +1,192 @@
+package uk.ac.ebi.uniprot.glygen.appender;
+
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.QuerySolutionMap;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
+import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
+import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs the independent input queries of an appender concurrently. Each query runs on a reader thread in its own
+ * read transaction of the input (see GlygenDataset.readInput) and puts its rows on a bounded queue. The calling
+ * thread drains the queue and passes each row to the handler of its query, so the handlers, and with them all
+ * writes to the output model, run on the thread that owns the transaction of the output dataset. The rows of a
+ * query reach its handler in order, interleaved with the rows of the other queries. The number of reader threads
+ * is -queryReaders, or by default the processors shared by the appenders running at once, at most
+ * MAX_DEFAULT_READERS (see GlygenConfig.getQueryReaders).
+ */
+public class QueryPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(QueryPipeline.class);
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final long POLL_SECONDS = 1;
+    public static final int MAX_DEFAULT_READERS = 4;
+
+    private final GlygenDataset dataset;
+    private final int readers;
+    private final List<Query> queries = new ArrayList<>();
+
+    public QueryPipeline(GlygenDataset dataset) {
+        this(dataset, GlygenConfig.getQueryReaders() > 0 ? GlygenConfig.getQueryReaders() : getDefaultReaders(1));
+    }
+
+    public QueryPipeline(GlygenDataset dataset, int readers) {
+        this.dataset = dataset;
+        this.readers = readers;
+    }
+
+    /**
+     * Reader threads per pipeline when the given number of appenders, over all species, run at once
+     */
+    public static int getDefaultReaders(int concurrentAppenders) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        return Math.max(1, Math.min(MAX_DEFAULT_READERS, processors / Math.max(1, concurrentAppenders)));
+    }
+
+    public QueryPipeline add(String name, Function<Model, ResultSet> query, Consumer<QuerySolution> handler) {
+        queries.add(new Query(name, query, handler));
+        return this;
+    }
+
+    /**
+     * Runs the queries and hands their rows to the handlers on the calling thread; returns when all rows are
+     * handled
+     */
+    public void run() {
+        BlockingQueue<Row> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        ExecutorService es = Executors.newFixedThreadPool(Math.max(1, Math.min(readers, queries.size())));
+        List<Future<?>> futures = new ArrayList<>();
+        for (Query query : queries) {
+            futures.add(es.submit(() -> read(query, queue)));
+        }
+        es.shutdown();
+
+        int running = queries.size();
+        try {
+            while (running > 0) {
+                Row row = queue.poll(POLL_SECONDS, TimeUnit.SECONDS);
+                if (row == null) {
+                    checkReaders(futures, queue);
+                } else if (row.solution != null) {
+                    row.query.handler.accept(row.solution);
+                } else if (row.error != null) {
+                    logger.error("Error running query {}", row.query.name, row.error);
+                    if (row.error instanceof Error) {
+                        throw (Error) row.error;
+                    }
+                    throw new GlyGenException("Error running query " + row.query.name, (Exception) row.error);
+                } else {
+                    running--;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GlyGenException("Interrupted while handling query rows", e);
+        } finally {
+            // stops readers blocked on a full queue if a handler failed
+            es.shutdownNow();
+        }
+    }
+
+    /**
+     * Fails if all readers are done while queries are still running, which happens only if a reader could not
+     * queue the end of its query (e.g. out of memory)
+     */
+    private static void checkReaders(List<Future<?>> futures, BlockingQueue<Row> queue) {
+        for (Future<?> future : futures) {
+            if (!future.isDone()) {
+                return;
+            }
+        }
+        // all rows of done readers are queued, so an empty queue means end rows were lost
+        if (queue.isEmpty()) {
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    logger.error("Query reader failed", e.getCause());
+                    throw new GlyGenException("Query reader failed", e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new GlyGenException("Interrupted while checking query readers", e);
+                }
+            }
+            logger.error("Query readers ended without ending their queries");
+            throw new GlyGenException("Query readers ended without ending their queries");
+        }
+    }
+
+    private void read(Query query, BlockingQueue<Row> queue) {
+        long start = System.currentTimeMillis();
+        try {
+            int rows = dataset.readInput(model -> {
+                ResultSet resultSet = query.query.apply(model);
+                int count = 0;
+                while (resultSet.hasNext()) {
+                    // copied, as the nodes of a row may only be resolved inside the read transaction
+                    QuerySolutionMap solution = new QuerySolutionMap();
+                    solution.addAll(resultSet.nextSolution());
+                    put(queue, new Row(query, solution, null));
+                    count++;
+                }
+                return count;
+            });
+            logger.debug("{}: {} rows in {} ms", query.name, rows, System.currentTimeMillis() - start);
+            put(queue, new Row(query, null, null));
+        } catch (Throwable e) {
+            // errors too, as the writer waits for the end row of every query
+            put(queue, new Row(query, null, e));
+        }
+    }
+
+    private static void put(BlockingQueue<Row> queue, Row row) {
+        try {
+            queue.put(row);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GlyGenException("Interrupted while queueing query rows", e);
+        }
+    }
+
+    private static class Query {
+        private final String name;
+        private final Function<Model, ResultSet> query;
+        private final Consumer<QuerySolution> handler;
+
+        Query(String name, Function<Model, ResultSet> query, Consumer<QuerySolution> handler) {
+            this.name = name;
+            this.query = query;
+            this.handler = handler;
+        }
+    }
+
+    /**
+     * A row of a query; a row without a solution ends the query, with an error if the query failed
+     */
+    private static class Row {
+        private final Query query;
+        private final QuerySolution solution;
+        private final Throwable error;
+
+        Row(Query query, QuerySolution solution, Throwable error) {
+            this.query = query;
+            this.solution = solution;
+            this.error = error;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.neo4j.driver.Value;
 import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
 import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -23,6 +24,9 @@ import org.apache.jena.vocabulary.RDF;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import static org.neo4j.driver.Values.parameters;
 import static uk.ac.ebi.uniprot.glygen.model.AnnotationType.AT_PATHWAY;
 import static uk.ac.ebi.uniprot.glygen.model.AnnotationType.AT_REACTION;
@@ -117,6 +121,16 @@ public class ReactionAnnotationAppender implements DataAppender, AutoCloseable {
         addPathways();
     }
 
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.of(DatasetPart.PROTEIN, DatasetPart.ANNOTATION, DatasetPart.CITATION);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.REACTION, DatasetPart.CROSS_REFERENCE);
+    }
+
     private String getQueryTaxId() {
         return config.getSpeciesTaxId() == null ? config.getTaxId() : config.getSpeciesTaxId();
     }
@@ -15,6 +15,7 @@ import uk.ac.ebi.uniprot.dataservice.query.Query;
 import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
 import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
 import java.io.IOException;
 import java.text.SimpleDateFormat;
@@ -36,7 +37,7 @@ import org.slf4j.LoggerFactory;
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.addLiteralIfExists;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getAllSequenceNamesFromRdf;
-import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getCanonicalSequenceIdFromRdf;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getCanonicalSequenceIdMapFromRdf;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getSequenceInfoFromRdf;
 
 public class SequenceAppender implements DataAppender {
@@ -61,6 +62,8 @@ public class SequenceAppender implements DataAppender {
         rdfModel = dataset.getRdfModel();
         outModel = dataset.getOutModel();
 
+        // one query for the canonical isoforms of all proteins, instead of one per swiss-prot fasta record
+        dataset.setCanonicalIsoformMap(getCanonicalSequenceIdMapFromRdf(rdfModel));
         String[] seqIds = updateAllSequenceMappings();
         updateSequenceInfoFromRdf();
         if (config.getIsoform() != null && seqIds != null && seqIds.length > 0) {
@@ -70,6 +73,16 @@ public class SequenceAppender implements DataAppender {
         appendSequencesToProteins();
     }
 
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.of(DatasetPart.PROTEIN);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.SEQUENCE);
+    }
+
     private String[] updateAllSequenceMappings() {
         String[] seqIds = null;
         try {
@@ -114,7 +127,7 @@ public class SequenceAppender implements DataAppender {
 
     private void readCanonicals(FastaReader.Sequence sequence, String accId) {
         String id = isSpEntry(sequence.name) ?
-                getCanonicalSequenceIdFromRdf(rdfModel, accId) : accId + CANONICAL_SUFFIX;
+                dataset.getCanonicalIsoform(accId) : accId + CANONICAL_SUFFIX;
 
         if (id == null) {
             logger.error("Canonical Sequence id not found for {}", accId);
@@ -133,7 +146,7 @@ public class SequenceAppender implements DataAppender {
         String id = isoId;
         if (isSpEntry(sequence.name)) {
             if (!isoId.contains(DASH)) {
-                isoId = getCanonicalSequenceIdFromRdf(rdfModel, isoId);
+                isoId = dataset.getCanonicalIsoform(isoId);
                 if (isoId == null) {
                     logger.error("Canonical Sequence id not found for {}", id);
                     throw new GlyGenException("Canonical Sequence id not found for " + id);
@@ -290,7 +303,7 @@ public class SequenceAppender implements DataAppender {
                 // When accession is in RDF but not in proteome fasta
                 missingIsoSet.add(accession);
             } else {
-                for (String seqId : dataset.getIsoformsForAccession(accession)) {
+                for (String seqId : isoSet) {
                     protein.addProperty(outModel.createProperty(UP_SEQUENCE),
                             outModel.createResource(ISOFORM_PREFIX + seqId));
                 }
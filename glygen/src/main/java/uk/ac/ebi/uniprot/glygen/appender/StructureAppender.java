@@ -1,41 +1,80 @@
 package uk.ac.ebi.uniprot.glygen.appender;
 
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
-import org.apache.jena.query.QuerySolution;
-import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
-import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.addLiteralIfExists;
-import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getStructureResourceFromRdf;
+import static uk.ac.ebi.uniprot.glygen.appender.ProteinRecord.getObjects;
 
-public class StructureAppender implements DataAppender {
+public class StructureAppender implements DataAppender, ProteinScanHandler {
 
     @Override
     public void appendData(GlygenDataset dataset) {
+        new ProteinScanAppender(this).appendData(dataset);
+    }
+
+    @Override
+    public void handleProtein(ProteinRecord protein, GlygenDataset dataset) {
         Model outModel = dataset.getOutModel();
-        ResultSet resultSet = getStructureResourceFromRdf(dataset.getRdfModel());
-        while (resultSet.hasNext()) {
-            QuerySolution solution = resultSet.nextSolution();
-            String accession = solution.getResource(PROTEIN).getURI();
-            String strResId = solution.getResource(STRUCTURED_RESOURCE).getURI();
-
-            Resource csq = outModel.createResource(solution.getResource(CHAIN_SEQUENCE_MAPPING).getURI());
-            csq.addProperty(outModel.createProperty(UP_CHAIN), solution.getLiteral(CHAIN));
-
-            Resource strucRes = outModel.createResource(strResId);
-            strucRes.addProperty(RDF.type, outModel.createResource(UP_TYPE_STRUCTURE_RESOURCE));
-            strucRes.addProperty(outModel.createProperty(UP_DATABASE), solution.getResource(DATABASE));
-            strucRes.addProperty(outModel.createProperty(UP_METHOD), solution.getResource(METHOD));
-            addLiteralIfExists(strucRes, solution, outModel.createProperty(UP_RESOLUTION), RESOLUTION);
-            strucRes.addProperty(outModel.createProperty(UP_CHAIN_SEQUENCE_MAPPING), csq);
-
-            Resource protein = outModel.createResource(accession);
-            protein.addProperty(RDFS.seeAlso, strucRes);
+        Resource structureType = protein.getResource().getModel().createResource(UP_TYPE_STRUCTURE_RESOURCE);
+        for (RDFNode node : protein.getObjects(RDFS.seeAlso.getURI())) {
+            if (!node.isResource() || !node.asResource().hasProperty(RDF.type, structureType)) {
+                continue;
+            }
+            List<RDFNode> databases = getObjects(node, UP_DATABASE);
+            List<RDFNode> methods = getObjects(node, UP_METHOD);
+            if (databases.isEmpty() || methods.isEmpty()) {
+                continue;
+            }
+
+            for (RDFNode mapping : getObjects(node, UP_CHAIN_SEQUENCE_MAPPING)) {
+                List<RDFNode> chains = getObjects(mapping, UP_CHAIN);
+                if (chains.isEmpty()) {
+                    continue;
+                }
+
+                Resource csq = outModel.createResource(mapping.asResource().getURI());
+                for (RDFNode chain : chains) {
+                    csq.addProperty(outModel.createProperty(UP_CHAIN), chain);
+                }
+
+                Resource strucRes = outModel.createResource(node.asResource().getURI());
+                strucRes.addProperty(RDF.type, outModel.createResource(UP_TYPE_STRUCTURE_RESOURCE));
+                addProperties(strucRes, outModel.createProperty(UP_DATABASE), databases);
+                addProperties(strucRes, outModel.createProperty(UP_METHOD), methods);
+                addProperties(strucRes, outModel.createProperty(UP_RESOLUTION), getObjects(node, UP_RESOLUTION));
+                strucRes.addProperty(outModel.createProperty(UP_CHAIN_SEQUENCE_MAPPING), csq);
+
+                Resource proteinRes = outModel.createResource(protein.getUri());
+                proteinRes.addProperty(RDFS.seeAlso, strucRes);
+            }
         }
     }
+
+    private void addProperties(Resource resource, Property property, List<RDFNode> values) {
+        for (RDFNode value : values) {
+            resource.addProperty(property, value);
+        }
+    }
+
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.noneOf(DatasetPart.class);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.STRUCTURE);
+    }
 }
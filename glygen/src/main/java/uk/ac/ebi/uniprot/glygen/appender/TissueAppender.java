@@ -1,55 +1,82 @@
 package uk.ac.ebi.uniprot.glygen.appender;
 
 import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
+import uk.ac.ebi.uniprot.glygen.core.ReferenceModelRegistry;
+import uk.ac.ebi.uniprot.glygen.index.VocabularyIndex;
 import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
-import org.apache.jena.query.QuerySolution;
-import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.Statement;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.Set;
+
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
-import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.createModelFromRdfFile;
-import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getPrefLabelFromTissuesRdf;
-import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getTissuesFromRdf;
 
-public class TissueAppender implements DataAppender {
+public class TissueAppender implements DataAppender, ProteinScanHandler {
     private Logger logger = LoggerFactory.getLogger(getClass());
-    private Model tisModel;
+    private final CompletableFuture<VocabularyIndex> tisIndexFuture;
 
     public TissueAppender(GlygenConfig config) {
-        tisModel = createModelFromRdfFile(config.getTissues());
+        ReferenceModelRegistry.requireExists(GlygenConfig.getTissues());
+        tisIndexFuture = ReferenceModelRegistry.getVocabularyIndexAsync(GlygenConfig.getTissues(), UP_TYPE_TISSUE);
     }
 
     @Override
     public void appendData(GlygenDataset dataset) {
+        new ProteinScanAppender(this).appendData(dataset);
+    }
+
+    @Override
+    public void handleProtein(ProteinRecord protein, GlygenDataset dataset) {
         Model outModel = dataset.getOutModel();
-        ResultSet resultSet = getTissuesFromRdf(dataset.getRdfModel());
-        while (resultSet.hasNext()) {
-            QuerySolution solution = resultSet.nextSolution();
-            String accession = solution.getResource(PROTEIN).getURI();
-            String tissueId = solution.getResource(ISOLATED_FROM).getURI();
-            String prefLabel = solution.contains(PREF_LABEL) ?
-                    solution.getLiteral(PREF_LABEL).toString() : getPrefLabelFromTissuesRdf(tisModel, tissueId);
-
-            if (prefLabel == null) {
-                logger.error("PrefLabel not found for {}", tissueId);
-                throw new GlyGenException("PrefLabel not found for " + tissueId);
-
-            } else {
-                Resource tissue = outModel.createResource(tissueId);
-                tissue.addProperty(RDF.type, outModel.createResource(UP_TYPE_TISSUE));
-                tissue.addProperty(RDFS.label, prefLabel);
-
-                Resource protein = outModel.createResource(accession);
-                protein.addProperty(outModel.createProperty(UP_ISOLATED_FROM), tissue);
+        VocabularyIndex tisIndex = ReferenceModelRegistry.await(tisIndexFuture);
+        for (RDFNode node : protein.getObjects(UP_ISOLATED_FROM)) {
+            String tissueId = node.asResource().getURI();
+            List<String> prefLabels = new ArrayList<>();
+            for (Statement label : node.asResource().listProperties(RDFS.label).toList()) {
+                prefLabels.add(label.getLiteral().toString());
+            }
+            if (prefLabels.isEmpty()) {
+                prefLabels.add(tisIndex.getPrefLabel(tissueId));
+            }
+
+            for (String prefLabel : prefLabels) {
+                if (prefLabel == null) {
+                    logger.error("PrefLabel not found for {}", tissueId);
+                    throw new GlyGenException("PrefLabel not found for " + tissueId);
+
+                } else {
+                    Resource tissue = outModel.createResource(tissueId);
+                    tissue.addProperty(RDF.type, outModel.createResource(UP_TYPE_TISSUE));
+                    tissue.addProperty(RDFS.label, prefLabel);
+
+                    Resource proteinRes = outModel.createResource(protein.getUri());
+                    proteinRes.addProperty(outModel.createProperty(UP_ISOLATED_FROM), tissue);
+                }
             }
         }
     }
 
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.noneOf(DatasetPart.class);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.TISSUE);
+    }
+
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package uk.ac.ebi.uniprot.glygen.appender;
 import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
 import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -10,6 +11,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.EnumSet;
 import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
@@ -58,6 +60,16 @@ public class TranscriptResourceAppender implements DataAppender {
         readFastaEntries(config.getEnsemblPeptide(), ENS_PEPTIDE_PREFIX, peptideIds);
     }
 
+    @Override
+    public Set<DatasetPart> reads() {
+        return EnumSet.of(DatasetPart.SEQUENCE);
+    }
+
+    @Override
+    public Set<DatasetPart> writes() {
+        return EnumSet.of(DatasetPart.TRANSCRIPT);
+    }
+
     private void readFastaEntries(String fileName, String prefix, Set<String> idSet) {
         File file = new File(getAbsFileName(fileName));
         try (BufferedReader fileReader = new BufferedReader(new FileReader(file))) {
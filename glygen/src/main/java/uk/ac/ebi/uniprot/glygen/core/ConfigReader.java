@@ -60,6 +60,7 @@ public class ConfigReader {
             case "rhea": GlygenConfig.setRhea(value); break;
             case "intact": GlygenConfig.setIntAct(value); break;
             case "canonicalMapOut": GlygenConfig.setCanonicalMapOut(value); break;
+            case "canonicalIsoformMap": GlygenConfig.setCanonicalIsoformMap(value); break;
             case "dbXrefMapOut": GlygenConfig.setDbXrefMapOut(value); break;
             case "rdfOutput": GlygenConfig.setRdfOutput(value); break;
             case "statisticsFile": GlygenConfig.setStatisticsFile(value); break;
@@ -0,0 +1,306 @@
+package uk.ac.ebi.uniprot.glygen.core;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import org.apache.commons.io.FileUtils;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWrapper;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.tdb.store.bulkloader.BulkLoader;
+import org.apache.jena.tdb.sys.TDBInternal;
+import org.apache.jena.tdb2.loader.DataLoader;
+import org.apache.jena.tdb2.loader.LoaderFactory;
+import org.apache.jena.tdb2.loader.base.LoaderOps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads the proteome rdf files into the input TDBs in place of the tdbloader command line, several databases at a
+ * time. Each database is loaded by a pipeline: the RDF/XML is parsed on its own thread while the parsed triples are
+ * encoded into the node and tuple tables and the indexes are built. TDB2 databases use the parallel loader of TDB2;
+ * TDB1 databases use the bulk loader of tdbloader, fed through a pipe of RDF Thrift by the parser thread. A database
+ * whose lock file (database directory name plus .lock) is not older than its rdf file is skipped, and the lock file
+ * is written once a database is loaded, as the import-triplets make goal expects; a newer rdf file, e.g. of the next
+ * release, is loaded again. The optimizer statistics of a database are written
+ * after it is loaded, or when a loaded database has none.
+ */
+public class ProteomeLoader {
+    private static final Logger logger = LoggerFactory.getLogger(ProteomeLoader.class);
+    private static final String LOCK_SUFFIX = ".lock";
+    private static final int PIPE_SIZE = 1 << 20;
+
+    @Parameter(names = "-storage", description = "Storage backend of the loaded TDBs: TDB1 or TDB2")
+    private StorageBackend storage = StorageBackend.TDB1;
+
+    @Parameter(names = "-threads", description = "Number of databases loaded concurrently")
+    private int threads = 2;
+
+    @Parameter(names = "-progressSeconds", description = "Seconds between load progress reports")
+    private int progressSeconds = 60;
+
+    @Parameter(description = "<database directory>=<rdf file> of each database")
+    private List<String> databases = new ArrayList<>();
+
+    private final List<Database> loading = new ArrayList<>();
+
+    private ProteomeLoader() {
+    }
+
+    public ProteomeLoader(StorageBackend storage, int threads, int progressSeconds) {
+        this.storage = storage;
+        this.threads = threads;
+        this.progressSeconds = progressSeconds;
+    }
+
+    public static void main(String[] args) {
+        ProteomeLoader loader = new ProteomeLoader();
+        new JCommander(loader, args);
+        if (loader.databases.isEmpty()) {
+            System.out.println("Usage: uk.ac.ebi.uniprot.glygen.core.ProteomeLoader [-storage TDB1|TDB2] " +
+                    "[-threads <n>] <database directory>=<rdf file> ...");
+            System.exit(1);
+        }
+        if (!loader.load(loader.databases)) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Loads each database from its rdf file and waits for all of them
+     *
+     * @param databases "database directory=rdf file" of each database
+     * @return false if one or more databases failed to load
+     */
+    public boolean load(List<String> databases) {
+        if (threads < 1) {
+            throw new GlyGenException("Number of loader threads must be at least 1: " + threads);
+        }
+        // before the loader and parser threads use it
+        JenaSystem.init();
+        List<Database> pending = new ArrayList<>();
+        for (String database : databases) {
+            int separator = database.indexOf('=');
+            if (separator < 1) {
+                throw new GlyGenException("Expected <database directory>=<rdf file>: " + database);
+            }
+            Database db = new Database(new File(database.substring(0, separator)),
+                    new File(database.substring(separator + 1)));
+            if (db.isLoaded()) {
+                logger.info("Skip {}, already loaded", db.dir);
+                StorageBackend loaded = StorageBackend.of(db.dir.getPath());
+                if (!loaded.hasStatistics(db.dir.getPath())) {
+                    loaded.writeStatistics(db.dir.getPath());
+                }
+                continue;
+            }
+            pending.add(db);
+        }
+        // largest first, so that the small ones fill in around it
+        pending.sort(Comparator.comparing((Database db) -> db.rdf.length()).reversed());
+        logger.info("Load {} databases as {} on {} threads", pending.size(), storage, threads);
+
+        ExecutorService es = Executors.newFixedThreadPool(threads);
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+        progress.scheduleAtFixedRate(this::reportProgress, progressSeconds, progressSeconds, TimeUnit.SECONDS);
+        long start = System.currentTimeMillis();
+        List<Future<?>> futures = new ArrayList<>();
+        for (Database db : pending) {
+            futures.add(es.submit(() -> {
+                load(db);
+                return null;
+            }));
+        }
+
+        boolean allGood = true;
+        long triples = 0;
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                    triples += pending.get(i).triples.get();
+                } catch (ExecutionException e) {
+                    logger.error("Error loading {}", pending.get(i).dir, e.getCause());
+                    allGood = false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GlyGenException(e);
+        } finally {
+            es.shutdownNow();
+            progress.shutdownNow();
+        }
+        long time = System.currentTimeMillis() - start;
+        logger.info("Loaded {} triples in {} s ({} triples/s)", triples, time / 1000, rate(triples, time));
+        return allGood;
+    }
+
+    private void load(Database db) throws IOException {
+        if (db.dir.isDirectory()) {
+            // left by a load that did not finish
+            FileUtils.cleanDirectory(db.dir);
+        } else if (!db.dir.mkdirs()) {
+            throw new GlyGenException("Unable to create " + db.dir);
+        }
+        synchronized (loading) {
+            loading.add(db);
+        }
+        db.start = System.currentTimeMillis();
+        try {
+            if (storage == StorageBackend.TDB2) {
+                loadTdb2(db);
+            } else {
+                loadTdb1(db);
+            }
+        } catch (IOException | RuntimeException e) {
+            // so that a later load in this JVM does not reuse the connection to the cleaned directory
+            storage.release(db.dir.getPath());
+            throw e;
+        } finally {
+            synchronized (loading) {
+                loading.remove(db);
+            }
+        }
+        long time = System.currentTimeMillis() - db.start;
+        logger.info("Loaded {} triples into {} in {} s ({} triples/s)", db.triples.get(), db.dir, time / 1000,
+                rate(db.triples.get(), time));
+        storage.writeStatistics(db.dir.getPath());
+        FileUtils.touch(db.lock());
+    }
+
+    private void loadTdb2(Database db) {
+        DataLoader loader = LoaderFactory.parallelLoader(storage.connect(db.dir.getPath()).asDatasetGraph(),
+                LoaderOps.nullOutput());
+        loader.startBulk();
+        try {
+            RDFParser.source(db.rdf.getPath()).parse(new CountingStream(loader.stream(), db.triples));
+            loader.finishBulk();
+        } catch (RuntimeException e) {
+            loader.finishException(e);
+            throw e;
+        }
+    }
+
+    private void loadTdb1(Database db) throws IOException {
+        ExecutorService parser = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> parsed;
+            // closing the input, once loaded, also stops the parser if the loader failed
+            try (PipedInputStream in = new PipedInputStream(PIPE_SIZE)) {
+                PipedOutputStream pipe = new PipedOutputStream(in);
+                parsed = parser.submit(() -> {
+                    try (OutputStream out = new BufferedOutputStream(pipe, 1 << 16)) {
+                        StreamRDF writer = StreamRDFWriter.getWriterStream(out, Lang.RDFTHRIFT);
+                        writer.start();
+                        RDFParser.source(db.rdf.getPath()).parse(new CountingStream(writer, db.triples));
+                        writer.finish();
+                    }
+                    return null;
+                });
+                BulkLoader.loadDataset(TDBInternal.getBaseDatasetGraphTDB(
+                        storage.connect(db.dir.getPath()).asDatasetGraph()), in, Lang.RDFTHRIFT, false, false);
+            }
+            parsed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GlyGenException(e);
+        } catch (ExecutionException e) {
+            logger.error("Error parsing {}", db.rdf, e.getCause());
+            throw new GlyGenException("Error parsing " + db.rdf, e);
+        } finally {
+            parser.shutdownNow();
+        }
+    }
+
+    private void reportProgress() {
+        synchronized (loading) {
+            for (Database db : loading) {
+                long time = System.currentTimeMillis() - db.start;
+                logger.info("{}: {} triples in {} s ({} triples/s)", db.dir.getName(), db.triples.get(),
+                        time / 1000, rate(db.triples.get(), time));
+            }
+        }
+    }
+
+    private static long rate(long triples, long millis) {
+        return millis > 0 ? triples * 1000 / millis : triples;
+    }
+
+    private static class Database {
+        private final File dir;
+        private final File rdf;
+        private final AtomicLong triples = new AtomicLong();
+        private long start;
+
+        Database(File dir, File rdf) {
+            this.dir = dir;
+            this.rdf = rdf;
+        }
+
+        File lock() {
+            return new File(dir, dir.getName() + LOCK_SUFFIX);
+        }
+
+        /**
+         * Whether the database was loaded from the current rdf file: its lock file exists and is not older than
+         * the rdf file
+         */
+        boolean isLoaded() {
+            File lock = lock();
+            if (!lock.exists()) {
+                return false;
+            }
+            if (rdf.lastModified() > lock.lastModified()) {
+                logger.info("Reload {}, {} is newer than {}", dir, rdf, lock);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Counts the parsed triples for the progress reports
+     */
+    private static class CountingStream extends StreamRDFWrapper {
+        private final AtomicLong triples;
+
+        CountingStream(StreamRDF other, AtomicLong triples) {
+            super(other);
+            this.triples = triples;
+        }
+
+        @Override
+        public void triple(Triple triple) {
+            triples.incrementAndGet();
+            super.triple(triple);
+        }
+
+        @Override
+        public void quad(Quad quad) {
+            triples.incrementAndGet();
+            super.quad(quad);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package uk.ac.ebi.uniprot.glygen.core;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.system.stream.StreamManager;
+import org.apache.jena.sparql.graph.GraphReadOnly;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.ac.ebi.uniprot.glygen.index.EnzymeIndex;
+import uk.ac.ebi.uniprot.glygen.index.GoHierarchyIndex;
+import uk.ac.ebi.uniprot.glygen.index.RheaIndex;
+import uk.ac.ebi.uniprot.glygen.index.VocabularyIndex;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.createModelFromRdfFile;
+
+/**
+ * Process wide registry of the reference data shared by all species (tissues, keywords, GO, enzyme, diseases,
+ * locations, Rhea and databases). Each reference file is parsed once per run, in the background by a small loader
+ * pool, so appenders request their reference data when they are created and only wait for it when they start
+ * appending; meanwhile earlier appenders run. All appender instances share the same read only model or index.
+ * A failed load is not kept, so the next request retries it.
+ */
+public class ReferenceModelRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceModelRegistry.class);
+    private static final Map<String, CompletableFuture<Object>> REGISTRY = new ConcurrentHashMap<>();
+    private static final ExecutorService LOADER = Executors.newFixedThreadPool(
+            Math.min(4, Runtime.getRuntime().availableProcessors()), runnable -> {
+                Thread thread = new Thread(runnable, "reference-loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private ReferenceModelRegistry() {
+    }
+
+    /**
+     * Returns a read only view of the model of the rdf file
+     */
+    public static Model getModel(String fileName) {
+        return await(getModelAsync(fileName));
+    }
+
+    public static CompletableFuture<Model> getModelAsync(String fileName) {
+        return getAsync("model:" + fileName, () ->
+                ModelFactory.createModelForGraph(new GraphReadOnly(createModelFromRdfFile(fileName).getGraph())));
+    }
+
+    public static VocabularyIndex getVocabularyIndex(String fileName, String type) {
+        return await(getVocabularyIndexAsync(fileName, type));
+    }
+
+    public static CompletableFuture<VocabularyIndex> getVocabularyIndexAsync(String fileName, String type) {
+        return getAsync("vocabulary:" + type + ":" + fileName, () -> VocabularyIndex.fromRdfFile(fileName, type));
+    }
+
+    public static GoHierarchyIndex getGoHierarchyIndex(String fileName) {
+        return await(getGoHierarchyIndexAsync(fileName));
+    }
+
+    public static CompletableFuture<GoHierarchyIndex> getGoHierarchyIndexAsync(String fileName) {
+        return getAsync("go:" + fileName, () -> GoHierarchyIndex.fromRdfFile(fileName));
+    }
+
+    public static EnzymeIndex getEnzymeIndex(String fileName) {
+        return await(getEnzymeIndexAsync(fileName));
+    }
+
+    public static CompletableFuture<EnzymeIndex> getEnzymeIndexAsync(String fileName) {
+        return getAsync("enzyme:" + fileName, () -> EnzymeIndex.fromRdfFile(fileName));
+    }
+
+    public static RheaIndex getRheaIndex(String fileName) {
+        return await(getRheaIndexAsync(fileName));
+    }
+
+    public static CompletableFuture<RheaIndex> getRheaIndexAsync(String fileName) {
+        return getAsync("rhea:" + fileName, () -> RheaIndex.fromRdfFile(fileName));
+    }
+
+    /**
+     * Waits for the reference data, rethrowing the exception of a failed load
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Throws if the rdf file can neither be found on disk nor on the classpath, so that appenders still fail when
+     * they are created rather than when their reference data is awaited
+     */
+    public static void requireExists(String fileName) {
+        try (InputStream in = fileName == null ? null : StreamManager.get().open(fileName)) {
+            if (in == null) {
+                logger.error("File: {} not found", fileName);
+                throw new GlyGenException("File: " + fileName + " not found");
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to close {}", fileName, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> CompletableFuture<T> getAsync(String key, Supplier<T> loader) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = REGISTRY.putIfAbsent(key, future);
+        if (existing != null) {
+            return (CompletableFuture<T>) existing;
+        }
+
+        LOADER.execute(() -> {
+            try {
+                long start = System.currentTimeMillis();
+                T value = loader.get();
+                logger.info("Loaded {} in {} ms", key, System.currentTimeMillis() - start);
+                future.complete(value);
+            } catch (Throwable e) {
+                logger.error("Unable to load {}", key, e);
+                REGISTRY.remove(key, future);
+                future.completeExceptionally(e);
+            }
+        });
+        return (CompletableFuture<T>) future;
+    }
+}
@@ -0,0 +1,162 @@
+package uk.ac.ebi.uniprot.glygen.core;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs a task per species on a bounded worker pool. Species are started largest first and a species is only started
+ * when its estimated heap footprint fits in what is left of the heap budget, so that concurrently running species
+ * stay within the -Xmx of the JVM. The footprint is estimated from the size of the input TDB and fasta files.
+ */
+public class SpeciesScheduler {
+    private static final long MB = 1024L * 1024L;
+    private static final double HEAP_BUDGET_FRACTION = 0.8;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final int threads;
+    private final long baseHeapMb;
+    private final double heapPerInputMb;
+    private final long heapBudgetMb;
+    private final Object lock = new Object();
+    private long availableHeapMb;
+    private int running;
+
+    public SpeciesScheduler(int threads, long baseHeapMb, double heapPerInputMb) {
+        this(threads, baseHeapMb, heapPerInputMb,
+                (long) (Runtime.getRuntime().maxMemory() * HEAP_BUDGET_FRACTION / MB));
+    }
+
+    SpeciesScheduler(int threads, long baseHeapMb, double heapPerInputMb, long heapBudgetMb) {
+        if (threads < 1) {
+            throw new GlyGenException("Number of species threads must be at least 1: " + threads);
+        }
+        this.threads = threads;
+        this.baseHeapMb = baseHeapMb;
+        this.heapPerInputMb = heapPerInputMb;
+        this.heapBudgetMb = heapBudgetMb;
+    }
+
+    /**
+     * Estimates the heap needed to generate the dataset of a species: a fixed base for the reference models plus a
+     * share of the size of the input TDB and the canonical/isoform fasta files
+     */
+    public long estimateHeapMb(GlygenConfig config) {
+        long inputBytes = sizeOf(config.getDbDir()) + sizeOf(config.getCanonical()) + sizeOf(config.getIsoform());
+        return baseHeapMb + (long) Math.ceil(heapPerInputMb * inputBytes / MB);
+    }
+
+    /**
+     * Runs the task for each config and waits for all of them to finish
+     *
+     * @return false if the task failed for one or more configs
+     */
+    public boolean run(List<GlygenConfig> configList, Consumer<GlygenConfig> task) {
+        Map<GlygenConfig, Long> estimateMap = new HashMap<>();
+        for (GlygenConfig config : configList) {
+            estimateMap.put(config, Math.min(estimateHeapMb(config), heapBudgetMb));
+        }
+        List<GlygenConfig> pending = new ArrayList<>(configList);
+        pending.sort(Comparator.comparing(estimateMap::get).reversed());
+        logger.info("Run {} species on {} threads with heap budget {} MB", pending.size(), threads, heapBudgetMb);
+
+        List<Boolean> results = new ArrayList<>();
+        ExecutorService es = Executors.newFixedThreadPool(threads);
+        availableHeapMb = heapBudgetMb;
+        running = 0;
+        try {
+            while (!pending.isEmpty()) {
+                GlygenConfig config = nextToRun(pending, estimateMap);
+                long estimate = estimateMap.get(config);
+                logger.info("Schedule {} with estimated heap {} MB", config.getName(), estimate);
+                es.execute(() -> {
+                    boolean success = false;
+                    try {
+                        task.accept(config);
+                        success = true;
+                    } catch (Exception e) {
+                        logger.error("Error generating Glygen dataset for {}", config.getName(), e);
+                    } finally {
+                        release(estimate, success, results);
+                    }
+                });
+            }
+            synchronized (lock) {
+                while (running > 0) {
+                    lock.wait();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GlyGenException("Interrupted while running species", e);
+        } finally {
+            es.shutdown();
+        }
+
+        try {
+            es.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !results.contains(Boolean.FALSE);
+    }
+
+    /**
+     * Waits for the largest pending species that fits in the available heap and a free thread. When nothing is
+     * running the largest pending species is always started, even if its estimate is over the budget.
+     */
+    private GlygenConfig nextToRun(List<GlygenConfig> pending, Map<GlygenConfig, Long> estimateMap)
+            throws InterruptedException {
+        synchronized (lock) {
+            while (true) {
+                if (running < threads) {
+                    Iterator<GlygenConfig> iterator = pending.iterator();
+                    while (iterator.hasNext()) {
+                        GlygenConfig config = iterator.next();
+                        long estimate = estimateMap.get(config);
+                        if (running == 0 || estimate <= availableHeapMb) {
+                            iterator.remove();
+                            availableHeapMb -= estimate;
+                            running++;
+                            return config;
+                        }
+                    }
+                }
+                lock.wait();
+            }
+        }
+    }
+
+    private void release(long estimate, boolean success, List<Boolean> results) {
+        synchronized (lock) {
+            results.add(success);
+            availableHeapMb += estimate;
+            running--;
+            lock.notifyAll();
+        }
+    }
+
+    private static long sizeOf(String path) {
+        if (path == null) {
+            return 0;
+        }
+        File file = new File(path);
+        if (!file.exists()) {
+            return 0;
+        }
+        return file.isDirectory() ? FileUtils.sizeOfDirectory(file) : file.length();
+    }
+}
@@ -0,0 +1,116 @@
+package uk.ac.ebi.uniprot.glygen.index;
+
+import org.apache.jena.rdf.model.Literal;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.createModelFromRdfFile;
+
+/**
+ * Properties and catalytic activity labels of every enzyme of the enzyme rdf, built in one scan of the enzyme model
+ * so that EnzymeAppender emits enzyme information without querying the enzyme model per EC number.
+ */
+public class EnzymeIndex {
+    private static final Logger logger = LoggerFactory.getLogger(EnzymeIndex.class);
+
+    private final Map<String, Enzyme> enzymeMap = new HashMap<>();
+
+    public EnzymeIndex(Model enzModel) {
+        Property activityProp = enzModel.createProperty(UP_ACTIVITY);
+        Resource catalyticActivity = enzModel.createResource(UP_TYPE_CATALYTIC_ACTIVITY);
+
+        for (Resource resource : enzModel.listResourcesWithProperty(RDF.type,
+                enzModel.createResource(UP_TYPE_ENZYME)).toList()) {
+            if (!resource.isURIResource()) {
+                continue;
+            }
+            Enzyme enzyme = new Enzyme();
+            for (Statement statement : resource.listProperties().toList()) {
+                enzyme.propertyMap.computeIfAbsent(statement.getPredicate().getURI(), k -> new ArrayList<>())
+                        .add(statement.getObject());
+
+                if (statement.getPredicate().equals(activityProp) && statement.getObject().isURIResource()) {
+                    Resource activity = statement.getResource();
+                    if (activity.hasProperty(RDF.type, catalyticActivity)) {
+                        for (Statement label : activity.listProperties(RDFS.label).toList()) {
+                            if (label.getObject().isLiteral()) {
+                                enzyme.catalyticActivities.add(new CatalyticActivity(activity, label.getLiteral()));
+                            }
+                        }
+                    }
+                }
+            }
+            enzymeMap.put(resource.getURI(), enzyme);
+        }
+        logger.info("Indexed enzymes: {}", enzymeMap.size());
+    }
+
+    public static EnzymeIndex fromRdfFile(String fileName) {
+        return new EnzymeIndex(createModelFromRdfFile(fileName));
+    }
+
+    /**
+     * Returns the enzyme with the id, null if the enzyme rdf has no enzyme with the id
+     */
+    public Enzyme getEnzyme(String enzId) {
+        return enzymeMap.get(enzId);
+    }
+
+    public int size() {
+        return enzymeMap.size();
+    }
+
+    public static class Enzyme {
+        private final Map<String, List<RDFNode>> propertyMap = new HashMap<>();
+        private final List<CatalyticActivity> catalyticActivities = new ArrayList<>();
+
+        private Enzyme() {
+        }
+
+        /**
+         * Returns the values of the property of the enzyme, empty if it has none
+         */
+        public List<RDFNode> getValues(Property property) {
+            return propertyMap.getOrDefault(property.getURI(), Collections.emptyList());
+        }
+
+        /**
+         * Returns the up:activity nodes of the enzyme that are catalytic activities, once per rdfs:label
+         */
+        public List<CatalyticActivity> getCatalyticActivities() {
+            return catalyticActivities;
+        }
+    }
+
+    public static class CatalyticActivity {
+        private final Resource activity;
+        private final Literal label;
+
+        private CatalyticActivity(Resource activity, Literal label) {
+            this.activity = activity;
+            this.label = label;
+        }
+
+        public Resource getActivity() {
+            return activity;
+        }
+
+        public Literal getLabel() {
+            return label;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package uk.ac.ebi.uniprot.glygen.index;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.ac.ebi.uniprot.glygen.util.RdfSnapshotCache;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.createModelFromRdfFile;
+
+/**
+ * Label and root namespace (label of the top level class it is a subclass of, e.g. biological_process) of every GO
+ * class, computed in one traversal of the GO model. Indexes are serialized next to the GO file, or to the cache
+ * directory, with the size and hash of the GO file (see RdfSnapshotCache), so later runs reuse them until the content
+ * of the GO file changes.
+ */
+public class GoHierarchyIndex implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final Logger logger = LoggerFactory.getLogger(GoHierarchyIndex.class);
+    public static final String INDEX_SUFFIX = ".index";
+
+    private final HashMap<String, String> labelMap = new HashMap<>();
+    private final HashMap<String, String> namespaceMap = new HashMap<>();
+
+    public GoHierarchyIndex(Model goModel) {
+        Map<Resource, Set<String>> rootMap = new HashMap<>();
+        for (Resource goClass : goModel.listResourcesWithProperty(RDF.type, OWL.Class).toList()) {
+            if (!goClass.isURIResource()) {
+                continue;
+            }
+            String label = getLabel(goClass);
+            if (label != null) {
+                labelMap.put(goClass.getURI(), label);
+            }
+            Set<String> roots = getRoots(goClass, rootMap);
+            if (!roots.isEmpty()) {
+                namespaceMap.put(goClass.getURI(), roots.iterator().next());
+            }
+        }
+        logger.info("GO classes with label: {}, with namespace: {}", labelMap.size(), namespaceMap.size());
+    }
+
+    /**
+     * Returns the index of the GO file, from the serialized index if it was built from the same GO file content, or
+     * else built from the GO file
+     */
+    public static GoHierarchyIndex fromRdfFile(String fileName) {
+        File goFile = new File(fileName);
+        if (!goFile.isFile()) {
+            return new GoHierarchyIndex(createModelFromRdfFile(fileName));
+        }
+        String hash;
+        try {
+            hash = RdfSnapshotCache.getHash(goFile);
+        } catch (IOException e) {
+            logger.warn("Unable to hash {}, not using a serialized index", goFile, e);
+            return new GoHierarchyIndex(createModelFromRdfFile(fileName));
+        }
+
+        File indexFile = RdfSnapshotCache.getCacheFile(goFile, INDEX_SUFFIX);
+        if (RdfSnapshotCache.isCurrent(indexFile, goFile, hash)) {
+            try {
+                GoHierarchyIndex index = read(indexFile);
+                logger.info("Read GO index {}", indexFile);
+                return index;
+            } catch (IOException | ClassNotFoundException e) {
+                logger.warn("Unable to read GO index {}, rebuilding it", indexFile, e);
+            }
+        }
+
+        GoHierarchyIndex index = new GoHierarchyIndex(createModelFromRdfFile(fileName));
+        File tmpFile = null;
+        try {
+            tmpFile = RdfSnapshotCache.createTempFile(indexFile);
+            index.write(tmpFile);
+            RdfSnapshotCache.replace(tmpFile, indexFile, goFile, hash, new Properties());
+            logger.info("Wrote GO index {}", indexFile);
+        } catch (IOException e) {
+            logger.warn("Unable to write GO index {}", indexFile, e);
+            if (tmpFile != null) {
+                tmpFile.delete();
+            }
+        }
+        return index;
+    }
+
+    public static GoHierarchyIndex read(File file) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
+            return (GoHierarchyIndex) in.readObject();
+        }
+    }
+
+    public void write(File file) throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(file))) {
+            out.writeObject(this);
+        }
+    }
+
+    /**
+     * Returns the rdfs:label of the GO class, null if it is not an owl:Class or has no label
+     */
+    public String getLabel(String goId) {
+        return labelMap.get(goId);
+    }
+
+    /**
+     * Returns the label of the root class of the GO class, null if none is found
+     */
+    public String getNamespace(String goId) {
+        return namespaceMap.get(goId);
+    }
+
+    public int size() {
+        return labelMap.size();
+    }
+
+    private static String getLabel(Resource resource) {
+        for (Statement statement : resource.listProperties(RDFS.label).toList()) {
+            if (statement.getObject().isLiteral()) {
+                return statement.getString();
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Labels of the labelled owl:Class nodes without a superclass that the node is a subClassOf*, memoized per
+     * node. A node seen again while its roots are being worked out (a cycle) adds no roots.
+     */
+    private static Set<String> getRoots(Resource node, Map<Resource, Set<String>> rootMap) {
+        Set<String> roots = rootMap.get(node);
+        if (roots != null) {
+            return roots;
+        }
+        rootMap.put(node, Collections.emptySet());
+
+        Set<String> nodeRoots = new TreeSet<>();
+        boolean hasSuperClass = false;
+        for (Statement statement : node.listProperties(RDFS.subClassOf).toList()) {
+            hasSuperClass = true;
+            RDFNode superClass = statement.getObject();
+            if (superClass.isResource()) {
+                nodeRoots.addAll(getRoots(superClass.asResource(), rootMap));
+            }
+        }
+        if (!hasSuperClass && node.hasProperty(RDF.type, OWL.Class)) {
+            String label = getLabel(node);
+            if (label != null) {
+                nodeRoots.add(label);
+            }
+        }
+
+        roots = nodeRoots.isEmpty() ? Collections.emptySet() : nodeRoots;
+        rootMap.put(node, roots);
+        return roots;
+    }
+}
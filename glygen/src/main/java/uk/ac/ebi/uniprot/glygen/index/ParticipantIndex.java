@@ -0,0 +1,105 @@
+package uk.ac.ebi.uniprot.glygen.index;
+
+import org.apache.jena.rdf.model.Literal;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.vocabulary.RDF;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
+
+/**
+ * Mnemonic and organism of every protein, and the interactions of every participant with the protein stating
+ * them, built in one scan of the proteins of the input model so that InteractionAppender resolves participants
+ * without a query per participant.
+ */
+public class ParticipantIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ParticipantIndex.class);
+
+    private final Map<String, Literal> mnemonicMap = new HashMap<>();
+    private final Map<String, Resource> organismMap = new HashMap<>();
+    private final Map<String, List<Link>> linkMap = new HashMap<>();
+
+    public ParticipantIndex(Model rdfModel) {
+        Property mnemonicProp = rdfModel.createProperty(UP_MNEMONIC);
+        Property organismProp = rdfModel.createProperty(UP_ORGANISM);
+        Property interactionProp = rdfModel.createProperty(UP_INTERACTION);
+        Property participantProp = rdfModel.createProperty(UP_PARTICIPANT);
+
+        for (Resource protein : rdfModel.listResourcesWithProperty(RDF.type,
+                rdfModel.createResource(UP_TYPE_PROTEIN)).toList()) {
+            if (!protein.isURIResource()) {
+                continue;
+            }
+            Statement mnemonic = protein.getProperty(mnemonicProp);
+            Statement organism = protein.getProperty(organismProp);
+            if (mnemonic != null && organism != null) {
+                mnemonicMap.put(protein.getURI(), mnemonic.getLiteral());
+                organismMap.put(protein.getURI(), organism.getResource());
+            }
+
+            for (RDFNode interaction : rdfModel.listObjectsOfProperty(protein, interactionProp).toList()) {
+                if (!interaction.isResource()) {
+                    continue;
+                }
+                for (RDFNode participant : rdfModel.listObjectsOfProperty(interaction.asResource(),
+                        participantProp).toList()) {
+                    if (participant.isURIResource()) {
+                        linkMap.computeIfAbsent(participant.asResource().getURI(), k -> new ArrayList<>())
+                                .add(new Link(protein, interaction.asResource()));
+                    }
+                }
+            }
+        }
+        logger.debug("Indexed proteins: {}, participants: {}", mnemonicMap.size(), linkMap.size());
+    }
+
+    /**
+     * Returns the mnemonic of the protein, null if it is not a protein with mnemonic and organism
+     */
+    public Literal getMnemonic(String proteinUri) {
+        return mnemonicMap.get(proteinUri);
+    }
+
+    /**
+     * Returns the organism of the protein, null if it is not a protein with mnemonic and organism
+     */
+    public Resource getOrganism(String proteinUri) {
+        return organismMap.get(proteinUri);
+    }
+
+    /**
+     * Returns the interactions the participant takes part in, with the protein stating each of them
+     */
+    public List<Link> getLinks(String participantUri) {
+        return linkMap.getOrDefault(participantUri, Collections.emptyList());
+    }
+
+    public static class Link {
+        private final Resource protein;
+        private final Resource interaction;
+
+        private Link(Resource protein, Resource interaction) {
+            this.protein = protein;
+            this.interaction = interaction;
+        }
+
+        public Resource getProtein() {
+            return protein;
+        }
+
+        public Resource getInteraction() {
+            return interaction;
+        }
+    }
+}
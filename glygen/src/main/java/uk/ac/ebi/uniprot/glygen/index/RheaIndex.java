@@ -0,0 +1,256 @@
+package uk.ac.ebi.uniprot.glygen.index;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.riot.system.stream.StreamManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
+import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
+import uk.ac.ebi.uniprot.glygen.util.RdfSnapshotCache;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Equation and EC classification of every Rhea reaction, extracted from the Rhea rdf in one streaming parse into a
+ * compact index file next to the Rhea rdf, or in the cache directory, and memory mapped from there. The index is
+ * rebuilt when the size or hash of the Rhea rdf differs from the ones it was built from (see RdfSnapshotCache), so it
+ * is built once per Rhea release and the Rhea model never has to be loaded on the heap.
+ * <p>
+ * File layout: magic, version, entry count, entry offsets, then per entry, sorted by reaction URI, the UTF-8 reaction
+ * URI, equation and EC URI, each preceded by its length (-1 when missing).
+ */
+public class RheaIndex {
+    private static final Logger logger = LoggerFactory.getLogger(RheaIndex.class);
+    public static final String INDEX_SUFFIX = ".index";
+
+    private static final String RH_EQUATION = "http://rdf.rhea-db.org/equation";
+    private static final String RH_EC = "http://rdf.rhea-db.org/ec";
+    private static final int MAGIC = 0x52484541; // RHEA
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int dataStart;
+
+    public RheaIndex(File indexFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Not a Rhea index: " + indexFile);
+        }
+        count = buffer.getInt(2 * Integer.BYTES);
+        dataStart = HEADER_SIZE + count * Integer.BYTES;
+    }
+
+    /**
+     * Returns the index of the Rhea rdf, from the index file if it was built from the same Rhea rdf content, or else
+     * built from the Rhea rdf
+     */
+    public static RheaIndex fromRdfFile(String fileName) {
+        File rheaFile = new File(fileName);
+        File indexFile = null;
+        try {
+            if (!rheaFile.isFile()) {
+                // rdf read from the classpath
+                return buildTemporary(fileName);
+            }
+
+            String hash = RdfSnapshotCache.getHash(rheaFile);
+            indexFile = RdfSnapshotCache.getCacheFile(rheaFile, INDEX_SUFFIX);
+            if (RdfSnapshotCache.isCurrent(indexFile, rheaFile, hash)) {
+                try {
+                    RheaIndex index = new RheaIndex(indexFile);
+                    logger.info("Read Rhea index {}", indexFile);
+                    return index;
+                } catch (IOException e) {
+                    logger.warn("Unable to read Rhea index {}, rebuilding it", indexFile, e);
+                }
+            }
+
+            File tmpFile;
+            try {
+                tmpFile = RdfSnapshotCache.createTempFile(indexFile);
+            } catch (IOException e) {
+                logger.warn("Unable to write Rhea index {}, using a temporary one", indexFile, e);
+                return buildTemporary(fileName);
+            }
+            try {
+                build(fileName, tmpFile);
+                RdfSnapshotCache.replace(tmpFile, indexFile, rheaFile, hash, new Properties());
+            } finally {
+                tmpFile.delete();
+            }
+            return new RheaIndex(indexFile);
+        } catch (IOException e) {
+            logger.error("Unable to write Rhea index {}", indexFile, e);
+            throw new GlyGenException(e);
+        }
+    }
+
+    // index of rdf read from the classpath or with a read only cache directory, deleted on exit
+    private static RheaIndex buildTemporary(String fileName) throws IOException {
+        File indexFile = File.createTempFile("rhea", INDEX_SUFFIX);
+        indexFile.deleteOnExit();
+        build(fileName, indexFile);
+        return new RheaIndex(indexFile);
+    }
+
+    /**
+     * Extracts the equation and EC classification of the reactions of the Rhea rdf into the index file
+     */
+    public static void build(String fileName, File indexFile) throws IOException {
+        Map<String, String> equationMap = new HashMap<>();
+        Map<String, String> ecMap = new HashMap<>();
+
+        InputStream in = StreamManager.get().open(fileName);
+        if (in == null) {
+            throw new IllegalArgumentException("File: " + fileName + " not found");
+        }
+        try (InputStream rdfIn = in) {
+            RDFParser.source(rdfIn)
+                    .lang(RDFLanguages.filenameToLang(fileName, Lang.RDFXML))
+                    .parse(new StreamRDFBase() {
+                        @Override
+                        public void triple(Triple triple) {
+                            Node subject = triple.getSubject();
+                            Node object = triple.getObject();
+                            if (!subject.isURI()) {
+                                return;
+                            }
+                            String predicate = triple.getPredicate().getURI();
+                            if (RH_EQUATION.equals(predicate) && object.isLiteral()) {
+                                equationMap.putIfAbsent(subject.getURI(), object.getLiteralLexicalForm());
+                            } else if (RH_EC.equals(predicate) && object.isURI()) {
+                                ecMap.putIfAbsent(subject.getURI(), object.getURI());
+                            }
+                        }
+                    });
+        }
+
+        Map<String, String[]> entryMap = new TreeMap<>();
+        equationMap.forEach((reaction, equation) -> entryMap.put(reaction, new String[]{equation, null}));
+        ecMap.forEach((reaction, ec) -> entryMap.computeIfAbsent(reaction, k -> new String[2])[1] = ec);
+        write(entryMap, indexFile);
+        logger.info("Wrote Rhea index {} with {} reactions", indexFile, entryMap.size());
+    }
+
+    private static void write(Map<String, String[]> entryMap, File indexFile) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entryMap.size());
+
+            int offset = 0;
+            for (Map.Entry<String, String[]> entry : entryMap.entrySet()) {
+                out.writeInt(offset);
+                offset += getSize(entry.getKey()) + getSize(entry.getValue()[0]) + getSize(entry.getValue()[1]);
+            }
+            for (Map.Entry<String, String[]> entry : entryMap.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue()[0]);
+                writeString(out, entry.getValue()[1]);
+            }
+        }
+    }
+
+    private static int getSize(String value) {
+        return Integer.BYTES + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Returns the equation of the reaction, null if the Rhea rdf has none
+     */
+    public String getEquation(String reactionId) {
+        int position = find(reactionId);
+        return position < 0 ? null : readString(skipString(position));
+    }
+
+    /**
+     * Returns the URI of the EC classification of the reaction, null if the Rhea rdf has none
+     */
+    public String getEnzymeClassification(String reactionId) {
+        int position = find(reactionId);
+        return position < 0 ? null : readString(skipString(skipString(position)));
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // binary search of the entries, returns the position of the entry of the reaction or -1
+    private int find(String reactionId) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int position = dataStart + buffer.getInt(HEADER_SIZE + mid * Integer.BYTES);
+            int cmp = readString(position).compareTo(reactionId);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private String readString(int position) {
+        int length = buffer.getInt(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int skipString(int position) {
+        return position + Integer.BYTES + Math.max(0, buffer.getInt(position));
+    }
+
+    /**
+     * Builds the index of a Rhea release: RheaIndex &lt;rhea rdf&gt; [cache directory]
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: uk.ac.ebi.uniprot.glygen.index.RheaIndex <rhea_rdf> [<cache_dir>]");
+            System.exit(1);
+        }
+        if (args.length > 1) {
+            GlygenConfig.setCacheDir(args[1]);
+        }
+        fromRdfFile(args[0]);
+    }
+}
@@ -0,0 +1,126 @@
+package uk.ac.ebi.uniprot.glygen.index;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.apache.jena.vocabulary.SKOS;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_MNEMONIC;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.createModelFromRdfFile;
+
+/**
+ * Index of the terms of one type in a reference vocabulary (keywords, tissues, diseases, locations), built once from
+ * the vocabulary rdf so that appenders look terms up by id instead of querying the vocabulary model per term. Terms
+ * hold graph nodes, not resources of the vocabulary model, so the model is not kept after indexing; appenders add
+ * them to their output model with Model.asRDFNode.
+ */
+public class VocabularyIndex {
+    private final Map<String, Term> termMap = new HashMap<>();
+
+    public VocabularyIndex(Model model, String type) {
+        for (Resource resource : model.listResourcesWithProperty(RDF.type, model.createResource(type)).toList()) {
+            if (resource.isURIResource()) {
+                termMap.put(resource.getURI(), new Term(resource));
+            }
+        }
+    }
+
+    public static VocabularyIndex fromRdfFile(String fileName, String type) {
+        return new VocabularyIndex(createModelFromRdfFile(fileName), type);
+    }
+
+    /**
+     * Returns the term with the id, null if the vocabulary has no term of the indexed type with the id
+     */
+    public Term getTerm(String id) {
+        return termMap.get(id);
+    }
+
+    /**
+     * Returns the prefLabel of the term with the id, null if there is no such term or it has no prefLabel
+     */
+    public String getPrefLabel(String id) {
+        Term term = termMap.get(id);
+        return term == null || term.getPrefLabel() == null ? null : term.getPrefLabel().getLiteralLexicalForm();
+    }
+
+    public int size() {
+        return termMap.size();
+    }
+
+    public static class Term {
+        private final Node prefLabel;
+        private final List<Node> altLabels;
+        private final Node comment;
+        private final Node mnemonic;
+        private final List<Node> seeAlso;
+
+        private Term(Resource resource) {
+            prefLabel = getFirstLiteral(resource, SKOS.prefLabel);
+            altLabels = getLiterals(resource, SKOS.altLabel);
+            comment = getFirstLiteral(resource, RDFS.comment);
+            mnemonic = getFirstLiteral(resource, resource.getModel().createProperty(UP_MNEMONIC));
+            seeAlso = getResources(resource, RDFS.seeAlso);
+        }
+
+        public Node getPrefLabel() {
+            return prefLabel;
+        }
+
+        public List<Node> getAltLabels() {
+            return altLabels;
+        }
+
+        public Node getComment() {
+            return comment;
+        }
+
+        public Node getMnemonic() {
+            return mnemonic;
+        }
+
+        public List<Node> getSeeAlso() {
+            return seeAlso;
+        }
+
+        private static Node getFirstLiteral(Resource resource, Property property) {
+            List<Node> literals = getLiterals(resource, property);
+            return literals.isEmpty() ? null : literals.get(0);
+        }
+
+        private static List<Node> getLiterals(Resource resource, Property property) {
+            List<Node> literals = new ArrayList<>();
+            for (RDFNode node : getObjects(resource, property)) {
+                if (node.isLiteral()) {
+                    literals.add(node.asNode());
+                }
+            }
+            return literals.isEmpty() ? Collections.emptyList() : literals;
+        }
+
+        private static List<Node> getResources(Resource resource, Property property) {
+            List<Node> resources = new ArrayList<>();
+            for (RDFNode node : getObjects(resource, property)) {
+                if (node.isResource()) {
+                    resources.add(node.asNode());
+                }
+            }
+            return resources.isEmpty() ? Collections.emptyList() : resources;
+        }
+
+        private static List<RDFNode> getObjects(Resource resource, Property property) {
+            return resource.listProperties(property).mapWith(Statement::getObject).toList();
+        }
+    }
+}
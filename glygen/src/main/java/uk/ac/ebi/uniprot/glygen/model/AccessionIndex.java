@@ -0,0 +1,170 @@
+package uk.ac.ebi.uniprot.glygen.model;
+
+import uk.ac.ebi.uniprot.glygen.util.StringDictionary;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static uk.ac.ebi.uniprot.glygen.util.StringDictionary.NOT_FOUND;
+
+/**
+ * Accessions of the proteome with the isoform ids mapped to them and the canonical isoforms, for GlygenDataset.
+ * Accessions and isoform ids are kept in string dictionaries; the isoforms of an accession are a list of mappings
+ * in int arrays indexed by the dictionary ids, and the canonical isoforms a bit set, instead of a HashSet of
+ * isoform ids per accession and a TreeSet of canonical isoform ids. Not thread safe; GlygenDataset guards it with a read-write lock.
+ */
+class AccessionIndex {
+    private static final int NONE = -1;
+
+    private StringDictionary accessions = new StringDictionary();
+    private StringDictionary isoforms = new StringDictionary();
+    private final BitSet canonicals = new BitSet();
+    // first mapping of each accession, then the isoform and the next mapping of the same accession of each mapping
+    private int[] firstMapping = new int[0];
+    private int[] mappingIsoform = new int[16];
+    private int[] nextMapping = new int[16];
+    private int mappings;
+
+    private final Set<String> accessionSet = new AbstractSet<String>() {
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < accessions.size();
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return accessions.get(next++);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return accessions.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof String && accessions.contains((String) o);
+        }
+    };
+
+    /**
+     * Replaces the accessions, dropping the isoforms and canonicals
+     */
+    void reset(Set<String> accessionSet) {
+        accessions = new StringDictionary(accessionSet.size());
+        for (String accession : accessionSet) {
+            accessions.add(accession);
+        }
+        isoforms = new StringDictionary();
+        canonicals.clear();
+        firstMapping = new int[accessions.size()];
+        Arrays.fill(firstMapping, NONE);
+        mappings = 0;
+    }
+
+    /**
+     * Read only view of the accessions
+     */
+    Set<String> getAccessionSet() {
+        return accessionSet;
+    }
+
+    boolean containsAccession(String accession) {
+        return accessions.contains(accession);
+    }
+
+    /**
+     * Whether the id is an isoform mapped to an accession
+     */
+    boolean containsIsoform(String isoId) {
+        return isoforms.contains(isoId);
+    }
+
+    /**
+     * Maps the isoform to the accession; an existing mapping is found without allocating
+     *
+     * @return false if the accession is not in the index
+     */
+    boolean map(String isoId, String accession) {
+        int acc = accessions.getId(accession);
+        if (acc == NOT_FOUND) {
+            return false;
+        }
+        int iso = isoforms.getId(isoId);
+        if (iso != NOT_FOUND) {
+            for (int m = firstMapping[acc]; m != NONE; m = nextMapping[m]) {
+                if (mappingIsoform[m] == iso) {
+                    return true;
+                }
+            }
+        } else {
+            iso = isoforms.add(isoId);
+        }
+        if (mappings == mappingIsoform.length) {
+            mappingIsoform = Arrays.copyOf(mappingIsoform, mappings * 2);
+            nextMapping = Arrays.copyOf(nextMapping, mappings * 2);
+        }
+        mappingIsoform[mappings] = iso;
+        nextMapping[mappings] = firstMapping[acc];
+        firstMapping[acc] = mappings++;
+        return true;
+    }
+
+    /**
+     * Isoforms mapped to the accession, in the order they were mapped, or null if the accession is not in the index
+     */
+    Set<String> getIsoforms(String accession) {
+        int acc = accessions.getId(accession);
+        if (acc == NOT_FOUND) {
+            return null;
+        }
+        int count = 0;
+        for (int m = firstMapping[acc]; m != NONE; m = nextMapping[m]) {
+            count++;
+        }
+        // the mappings of an accession are listed newest first
+        String[] isoIds = new String[count];
+        for (int m = firstMapping[acc]; m != NONE; m = nextMapping[m]) {
+            isoIds[--count] = isoforms.get(mappingIsoform[m]);
+        }
+        return new LinkedHashSet<>(Arrays.asList(isoIds));
+    }
+
+    boolean isCanonical(String isoId) {
+        int iso = isoforms.getId(isoId);
+        return iso != NOT_FOUND && canonicals.get(iso);
+    }
+
+    /**
+     * Marks a mapped isoform as canonical
+     *
+     * @return false if the isoform is not mapped to an accession
+     */
+    boolean setCanonical(String isoId) {
+        int iso = isoforms.getId(isoId);
+        if (iso == NOT_FOUND) {
+            return false;
+        }
+        canonicals.set(iso);
+        return true;
+    }
+
+    int getCanonicalCount() {
+        return canonicals.cardinality();
+    }
+}
@@ -0,0 +1,29 @@
+package uk.ac.ebi.uniprot.glygen.model;
+
+/**
+ * Parts of the glygen dataset (output triples and the state kept in GlygenDataset) that appenders read or write.
+ * Used to work out which appenders depend on each other.
+ */
+public enum DatasetPart {
+    /** protein resources, their types and the accession set */
+    PROTEIN,
+    NAME,
+    GENE,
+    TISSUE,
+    /** sequence resources, the isoform to accession map and the canonical isoform map */
+    SEQUENCE,
+    /** transcript resources and the tracked transcript ids */
+    TRANSCRIPT,
+    GENOMIC_COORDINATE,
+    CLASSIFICATION,
+    ENZYME,
+    INTERACTION,
+    STRUCTURE,
+    COMPONENT,
+    ANNOTATION,
+    /** cross references and the referenced database uri set */
+    CROSS_REFERENCE,
+    CITATION,
+    REACTION,
+    DATABASE
+}
@@ -20,6 +20,8 @@ public class GlygenConfig {
     private static final String OUT = "out";
     private static final String XXXX = "xxxx";
     private static String reactomeNeo4jInfo;
+    private static int queryReaders;
+    private static String cacheDir;
     private static String enzyme;
     private static String tissues;
     private static String keywords;
@@ -29,6 +31,7 @@ public class GlygenConfig {
     private static String locations;
     private static String rhea;
     private static String canonicalMapOut;
+    private static String canonicalIsoformMap = "canonical-isoforms-xxxx.tsv";
     private static String dbXrefMapOut;
     private static Model enzModel;
     private static Map<String, String> intActIdMap;
@@ -192,6 +195,14 @@ public class GlygenConfig {
         canonicalMapOut = val;
     }
 
+    public String getCanonicalIsoformMap() {
+        return canonicalIsoformMap.replace(XXXX, this.name);
+    }
+
+    public static void setCanonicalIsoformMap(String val) {
+        canonicalIsoformMap = val;
+    }
+
     public static String getDbXrefMapOut() {
         return dbXrefMapOut;
     }
@@ -224,6 +235,29 @@ public class GlygenConfig {
         reactomeNeo4jInfo = info;
     }
 
+    /**
+     * Reader threads of an appender's QueryPipeline; 0 if not set, for the QueryPipeline default
+     */
+    public static int getQueryReaders() {
+        return queryReaders;
+    }
+
+    public static void setQueryReaders(int readers) {
+        queryReaders = readers;
+    }
+
+    /**
+     * Directory of the snapshots and indexes of the reference files; null if not set, to keep them next to the
+     * reference files
+     */
+    public static String getCacheDir() {
+        return cacheDir;
+    }
+
+    public static void setCacheDir(String dir) {
+        cacheDir = dir;
+    }
+
     public String getTaxId() {
         return taxId;
     }
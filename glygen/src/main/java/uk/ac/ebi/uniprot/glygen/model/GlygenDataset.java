@@ -2,16 +2,24 @@ package uk.ac.ebi.uniprot.glygen.model;
 
 import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.ReadWrite;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.vocabulary.RDF;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import uk.ac.ebi.uniprot.glygen.util.BufferedGraph;
+import uk.ac.ebi.uniprot.glygen.util.LongObjectMap;
+import uk.ac.ebi.uniprot.glygen.util.StringDictionary;
 
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.getUri;
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.CHAR_FORWARD_SLASH;
@@ -28,35 +36,115 @@ public class GlygenDataset {
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final Model rdfModel;
     private final Model outModel;
-    private TreeSet<String> canonicalSet = new TreeSet<>();
-    private Map<String, Set<String>> accessionMap = new HashMap<>();
-    private final Map<String, String> transIdMap = new HashMap<>();
-    private final Map<Long, Resource> positionMap = new HashMap<>();
-    private final Set<String> dbUriSet = new HashSet<>();
+    private final AccessionIndex accessionIndex;
+    // guards the accession index, which SequenceAppender writes while other appenders read it
+    private final ReadWriteLock accessionLock;
+    private final TranscriptIds transcriptIds;
+    private final LongObjectMap<Resource> positionMap;
+    private final Set<String> dbUriSet;
+    private final Map<String, String> canonicalIsoformMap;
+    private final BufferedGraph outBuffer;
+    private Dataset inDataset;
 
     public GlygenDataset(Model rdfModel, Model outModel) {
+        this(rdfModel, outModel, null);
+    }
+
+    /**
+     * Dataset whose output model writes through the given buffer, so that appenders emit their triples into the
+     * buffer and {@link #flush()} writes what is left of it to the output dataset
+     */
+    public GlygenDataset(Model rdfModel, Model outModel, BufferedGraph outBuffer) {
         this.rdfModel = rdfModel;
         this.outModel = outModel;
+        this.outBuffer = outBuffer;
+        this.accessionIndex = new AccessionIndex();
+        this.accessionLock = new ReentrantReadWriteLock();
+        this.transcriptIds = new TranscriptIds();
+        this.positionMap = new LongObjectMap<>();
+        this.dbUriSet = ConcurrentHashMap.newKeySet();
+        this.canonicalIsoformMap = new ConcurrentHashMap<>();
+    }
+
+    private GlygenDataset(GlygenDataset dataset, Model rdfModel, Model outModel) {
+        this.rdfModel = rdfModel;
+        this.outModel = outModel;
+        this.accessionIndex = dataset.accessionIndex;
+        this.accessionLock = dataset.accessionLock;
+        this.transcriptIds = dataset.transcriptIds;
+        this.positionMap = dataset.positionMap;
+        this.dbUriSet = dataset.dbUriSet;
+        this.canonicalIsoformMap = dataset.canonicalIsoformMap;
+        this.outBuffer = null;
+        this.inDataset = dataset.inDataset;
+    }
+
+    /**
+     * Creates a view of this dataset that shares accessions, isoforms, positions, transcript ids and database uris
+     * but reads and writes the given models. Used to run appenders concurrently, each on its own models; the shared
+     * state belongs to the DatasetPart the appenders declare, and the views are safe to use from concurrent threads.
+     */
+    public GlygenDataset withModels(Model rdfModel, Model outModel) {
+        return new GlygenDataset(this, rdfModel, outModel);
     }
 
     public Model getOutModel() {
         return outModel;
     }
 
+    /**
+     * Writes the triples buffered for the output model to the output dataset; must be called before the write
+     * transaction of the output dataset is committed
+     */
+    public void flush() {
+        if (outBuffer != null) {
+            outBuffer.flush();
+        }
+    }
+
     public Model getRdfModel() {
         return rdfModel;
     }
 
+    /**
+     * Sets the dataset the input model belongs to, so that other threads can read the input in their own read
+     * transactions (see {@link #readInput})
+     */
+    public void setInputDataset(Dataset inDataset) {
+        this.inDataset = inDataset;
+    }
+
+    /**
+     * Applies the function to the input model in a read transaction of the calling thread, for reads of the input
+     * from threads other than the one the appender runs on. An input model without a dataset is read as it is.
+     */
+    public <T> T readInput(Function<Model, T> function) {
+        if (inDataset == null) {
+            return function.apply(rdfModel);
+        }
+        inDataset.begin(ReadWrite.READ);
+        try {
+            return function.apply(rdfModel);
+        } finally {
+            inDataset.end();
+        }
+    }
+
     public void createAccessionMap(Set<String> set) {
-        accessionMap = new HashMap<>();
-        for (String acc : set) {
-            accessionMap.put(acc, new HashSet<>());
+        accessionLock.writeLock().lock();
+        try {
+            accessionIndex.reset(set);
+        } finally {
+            accessionLock.writeLock().unlock();
         }
-        canonicalSet = new TreeSet<>();
     }
 
+    /**
+     * Read only view of the accessions. Mapping isoforms leaves it as it is; createAccessionMap replaces it, which
+     * appenders reading DatasetPart.PROTEIN are not run concurrently with.
+     */
     public Set<String> getAccessionSet() {
-        return accessionMap.keySet();
+        return accessionIndex.getAccessionSet();
     }
 
     public void addIsoformIdToCanonicalSet(String isoId) {
@@ -66,55 +154,111 @@ public class GlygenDataset {
         }
 
         String acc = PROTEIN_PREFIX + isoId.substring(isoId.lastIndexOf(CHAR_FORWARD_SLASH) + 1, isoId.indexOf(DASH));
-        if (canonicalSet.contains(isoId)) {
-            logger.error("Canonical getting added again {}, for {}", isoId, acc);
-            throw new GlyGenException("Canonical getting added again " + isoId);
+        accessionLock.writeLock().lock();
+        try {
+            if (accessionIndex.isCanonical(isoId)) {
+                logger.error("Canonical getting added again {}, for {}", isoId, acc);
+                throw new GlyGenException("Canonical getting added again " + isoId);
+            }
+            mapIsoformIdToAccession(isoId, acc);
+            accessionIndex.setCanonical(isoId);
+        } finally {
+            accessionLock.writeLock().unlock();
         }
-        mapIsoformIdToAccession(isoId, acc);
-        canonicalSet.add(isoId);
     }
 
     public void mapIsoformIdToAccession(String isoId, String accession) {
-        if (!accessionMap.containsKey(accession)) {
+        boolean mapped;
+        accessionLock.writeLock().lock();
+        try {
+            mapped = accessionIndex.map(isoId, accession);
+        } finally {
+            accessionLock.writeLock().unlock();
+        }
+        if (!mapped) {
             logger.error("Unexpected accession in Dataset {}", accession);
             throw new GlyGenException("Unexpected accession in Dataset " + accession);
-        } else {
-            accessionMap.get(accession).add(isoId);
         }
     }
 
+    /**
+     * Whether the id is an accession of the dataset or an isoform mapped to one
+     */
     public boolean isValidAccession(String acc) {
-        if (accessionMap.containsKey(acc)) return true;
-        for (String key : accessionMap.keySet())
-            if (accessionMap.get(key).contains(acc))
-                return true;
-        return false;
+        accessionLock.readLock().lock();
+        try {
+            return accessionIndex.containsAccession(acc) || accessionIndex.containsIsoform(acc);
+        } finally {
+            accessionLock.readLock().unlock();
+        }
     }
 
+    /**
+     * Isoforms mapped to the accession (a copy), or null if the accession is not in the dataset
+     */
     public Set<String> getIsoformsForAccession(String accession) {
-        return accessionMap.get(accession);
+        accessionLock.readLock().lock();
+        try {
+            return accessionIndex.getIsoforms(accession);
+        } finally {
+            accessionLock.readLock().unlock();
+        }
     }
 
     public boolean isCanonical(String isoId) {
-        return canonicalSet.contains(isoId);
+        accessionLock.readLock().lock();
+        try {
+            return accessionIndex.isCanonical(isoId);
+        } finally {
+            accessionLock.readLock().unlock();
+        }
     }
 
     public int getCanonicalCount() {
-        return canonicalSet.size();
+        accessionLock.readLock().lock();
+        try {
+            return accessionIndex.getCanonicalCount();
+        } finally {
+            accessionLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the accession to canonical isoform id map (e.g. P05067 to P05067-1) of the proteome
+     */
+    public void setCanonicalIsoformMap(Map<String, String> map) {
+        canonicalIsoformMap.clear();
+        canonicalIsoformMap.putAll(map);
+    }
+
+    public Map<String, String> getCanonicalIsoformMap() {
+        return Collections.unmodifiableMap(canonicalIsoformMap);
+    }
+
+    public String getCanonicalIsoform(String accession) {
+        return canonicalIsoformMap.get(accession);
     }
 
+    /**
+     * Returns the faldo position of the genomic location, created in the output model of the first appender asking
+     * for it. Positions are shared by the appenders writing genes, genomic coordinates and annotations, in whatever
+     * order they run, so they are not a DatasetPart of their own.
+     */
     public Resource createPosition(long loc) {
-        if (positionMap.containsKey(loc)) {
-            return positionMap.get(loc);
-        }
+        synchronized (positionMap) {
+            Resource position = positionMap.get(loc);
+            if (position != null) {
+                return position;
+            }
 
-        Resource position = outModel.createResource(getUri(POSITION_PREFIX));
-        position.addProperty(RDF.type, outModel.createResource(FALDO_TYPE_EXACT_POSITION));
-        position.addProperty(outModel.createProperty(FALDO_POSITION), outModel.createTypedLiteral(loc));
+            position = outModel.createResource(getUri(POSITION_PREFIX));
+            position.addProperty(RDF.type, outModel.createResource(FALDO_TYPE_EXACT_POSITION));
+            position.addProperty(outModel.createProperty(FALDO_POSITION), outModel.createTypedLiteral(loc));
 
-        positionMap.put(loc, position);
+            positionMap.put(loc, position);
 
-        return position;
+            return position;
+        }
     }
 
     public void addDbUri(String uri) {
@@ -127,10 +271,32 @@ public class GlygenDataset {
 
     public void trackTranscriptId(String transId) {
         String key = transId.contains(".") ? transId.substring(0, transId.indexOf(".")) : transId;
-        transIdMap.put(key, transId);
+        transcriptIds.put(key, transId);
     }
 
     public String getTranscriptId(String key){
-        return transIdMap.get(key);
+        return transcriptIds.get(key);
+    }
+
+    /**
+     * Versioned transcript ids by their unversioned id, in a string dictionary with the versioned ids by dictionary
+     * id; used by concurrent appenders
+     */
+    private static class TranscriptIds {
+        private final StringDictionary keys = new StringDictionary();
+        private String[] transIds = new String[16];
+
+        synchronized void put(String key, String transId) {
+            int id = keys.add(key);
+            if (id == transIds.length) {
+                transIds = Arrays.copyOf(transIds, id * 2);
+            }
+            transIds[id] = transId;
+        }
+
+        synchronized String get(String key) {
+            int id = keys.getId(key);
+            return id == StringDictionary.NOT_FOUND ? null : transIds[id];
+        }
     }
 }
@@ -0,0 +1,238 @@
+package uk.ac.ebi.uniprot.glygen.stats;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
+import uk.ac.ebi.uniprot.glygen.core.StorageBackend;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import static uk.ac.ebi.uniprot.glygen.model.AnnotationType.ANNOTATION_TYPES;
+import static uk.ac.ebi.uniprot.glygen.model.AnnotationType.ANNOTATION_TYPES_WITH_COMMENT_ATTRIB;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.ALTERNATIVE_NAME;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.RECOMMENDED_NAME;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.SUBMITTED_NAME;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.*;
+
+/**
+ * Times the RdfUtility queries run on an input TDB, first with the fixed reordering heuristics of TDB and then with
+ * the optimizer statistics of the database (see StorageBackend), writing the rows and the time of each query in
+ * both runs. The statistics are written first if the database has none. An untimed run before the two warms the
+ * caches, so that neither run pays for the first reads from disk.
+ */
+public class QueryTimingReport {
+    private static final Logger logger = LoggerFactory.getLogger(QueryTimingReport.class);
+    private static final String DISABLED_SUFFIX = ".off";
+
+    private final String dbDir;
+    private final StorageBackend backend;
+    private final String transcriptDb;
+
+    public QueryTimingReport(String dbDir, String transcriptDb) {
+        this.dbDir = dbDir;
+        this.backend = StorageBackend.of(dbDir);
+        this.transcriptDb = transcriptDb;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: uk.ac.ebi.uniprot.glygen.stats.QueryTimingReport <input TDB> " +
+                    "[<report file>] [<transcript db>]");
+            System.exit(1);
+        }
+        QueryTimingReport report = new QueryTimingReport(args[0], args.length > 2 ? args[2] : "Ensembl");
+        List<QueryTiming> timings = report.run();
+        try (Writer writer = args.length > 1 ? new FileWriter(args[1]) : new PrintWriter(System.out)) {
+            write(timings, writer);
+        }
+    }
+
+    public List<QueryTiming> run() {
+        if (!backend.hasStatistics(dbDir)) {
+            backend.writeStatistics(dbDir);
+        }
+        Map<String, Function<Model, Object>> queries = getQueries();
+        File statistics = backend.getStatisticsFile(dbDir);
+        File disabled = new File(statistics.getPath() + DISABLED_SUFFIX);
+
+        Map<String, long[]> fixed;
+        rename(statistics, disabled);
+        try {
+            time(queries);
+            fixed = time(queries);
+        } finally {
+            rename(disabled, statistics);
+        }
+        Map<String, long[]> withStatistics = time(queries);
+
+        List<QueryTiming> timings = new ArrayList<>();
+        for (String name : queries.keySet()) {
+            if (fixed.get(name)[0] != withStatistics.get(name)[0]) {
+                logger.error("Rows of {} differ: {} and {}", name, fixed.get(name)[0], withStatistics.get(name)[0]);
+                throw new GlyGenException("Rows of " + name + " differ with the statistics");
+            }
+            timings.add(new QueryTiming(name, fixed.get(name)[0], fixed.get(name)[1],
+                    withStatistics.get(name)[1]));
+        }
+        return timings;
+    }
+
+    public static void write(List<QueryTiming> timings, Writer writer) throws IOException {
+        writer.write("query\trows\tfixed_ms\tstatistics_ms\n");
+        long fixed = 0;
+        long withStatistics = 0;
+        for (QueryTiming timing : timings) {
+            writer.write(timing.getQuery() + "\t" + timing.getRows() + "\t" + timing.getFixedMillis() + "\t" +
+                    timing.getStatisticsMillis() + "\n");
+            fixed += timing.getFixedMillis();
+            withStatistics += timing.getStatisticsMillis();
+        }
+        writer.write("total\t\t" + fixed + "\t" + withStatistics + "\n");
+    }
+
+    /**
+     * Rows and milliseconds of each query, on a new connection to the database
+     */
+    private Map<String, long[]> time(Map<String, Function<Model, Object>> queries) {
+        backend.release(dbDir);
+        Dataset dataset = backend.connect(dbDir);
+        Map<String, long[]> timings = new LinkedHashMap<>();
+        dataset.begin(ReadWrite.READ);
+        try {
+            for (Map.Entry<String, Function<Model, Object>> query : queries.entrySet()) {
+                long start = System.nanoTime();
+                long rows = count(query.getValue().apply(dataset.getDefaultModel()));
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                logger.debug("{}: {} rows in {} ms", query.getKey(), rows, millis);
+                timings.put(query.getKey(), new long[]{rows, millis});
+            }
+        } finally {
+            dataset.end();
+        }
+        backend.release(dbDir);
+        return timings;
+    }
+
+    private static long count(Object result) {
+        if (result instanceof ResultSet) {
+            ResultSet resultSet = (ResultSet) result;
+            long rows = 0;
+            while (resultSet.hasNext()) {
+                resultSet.next();
+                rows++;
+            }
+            return rows;
+        }
+        if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        }
+        return result == null ? 0 : 1;
+    }
+
+    private static void rename(File from, File to) {
+        if (!from.renameTo(to)) {
+            logger.error("Unable to rename {} to {}", from, to);
+            throw new GlyGenException("Unable to rename " + from + " to " + to);
+        }
+    }
+
+    /**
+     * The queries on the input model, with the parameters the appenders use
+     */
+    Map<String, Function<Model, Object>> getQueries() {
+        Map<String, Function<Model, Object>> queries = new LinkedHashMap<>();
+        queries.put("getAllProteinAccessionsFromRdf", model -> getAllProteinAccessionsFromRdf(model));
+        queries.put("getSecondaryAccessionsFromRdf", model -> getSecondaryAccessionsFromRdf(model));
+        for (String nameType : new String[]{RECOMMENDED_NAME, ALTERNATIVE_NAME, SUBMITTED_NAME}) {
+            queries.put("getAllStructuredNameFromRdf(" + nameType + ")",
+                    model -> getAllStructuredNameFromRdf(model, nameType));
+        }
+        queries.put("getGeneLabelFromRdf(prefLabel)", model -> getGeneLabelFromRdf(model, true));
+        queries.put("getGeneLabelFromRdf(orfName)", model -> getGeneLabelFromRdf(model, false));
+        queries.put("getGeneAltLabelsFromRdf", model -> getGeneAltLabelsFromRdf(model));
+        queries.put("getSequenceInfoFromRdf", model -> getSequenceInfoFromRdf(model));
+        queries.put("getAllSequenceNamesFromRdf", model -> getAllSequenceNamesFromRdf(model));
+        queries.put("getCanonicalSequenceIdMapFromRdf", model -> getCanonicalSequenceIdMapFromRdf(model));
+        queries.put("getEnsemblTranscriptsFromRdf", model -> getEnsemblTranscriptsFromRdf(model, transcriptDb));
+        queries.put("getSingleSeqEnsemblTranscriptsFromRdf",
+                model -> getSingleSeqEnsemblTranscriptsFromRdf(model, transcriptDb));
+        queries.put("getTissuesFromRdf", model -> getTissuesFromRdf(model));
+        queries.put("getKeywordClassificationsFromRdf", model -> getKeywordClassificationsFromRdf(model));
+        queries.put("getGoClassificationAttributionsFromRdf",
+                model -> getGoClassificationAttributionsFromRdf(model));
+        queries.put("getEnzymeFromRdf", model -> getEnzymeFromRdf(model));
+        queries.put("getInteractionFromRdf", model -> getInteractionFromRdf(model));
+        queries.put("getAllParticipantInfoFromRdf", model -> getAllParticipantInfoFromRdf(model));
+        queries.put("getAllAnnotationsFromRdf", model -> getAllAnnotationsFromRdf(model, ANNOTATION_TYPES));
+        queries.put("getAllAnnotationAttributionsFromRdf",
+                model -> getAllAnnotationAttributionsFromRdf(model, ANNOTATION_TYPES));
+        for (String annotation : new TreeSet<>(ANNOTATION_TYPES_WITH_COMMENT_ATTRIB)) {
+            String type = annotation.substring(annotation.lastIndexOf('/') + 1);
+            queries.put("getAnnotationAttributionOfCommentFromRdf(" + type + ")",
+                    model -> getAnnotationAttributionOfCommentFromRdf(model, annotation));
+        }
+        queries.put("getLigandInfoFromRdf(ligand)", model -> getLigandInfoFromRdf(model, true));
+        queries.put("getLigandInfoFromRdf(ligandPart)", model -> getLigandInfoFromRdf(model, false));
+        queries.put("getCatalyticActivityInfoFromRdf", model -> getCatalyticActivityInfoFromRdf(model));
+        queries.put("getCatalyticActivityEnzymesInfoFromRdf",
+                model -> getCatalyticActivityEnzymesInfoFromRdf(model));
+        queries.put("getCatalyticAnnotationAttributionFromRdf(catalyticActivity)",
+                model -> getCatalyticAnnotationAttributionFromRdf(model, false));
+        queries.put("getCatalyticAnnotationAttributionFromRdf(physiologicalReaction)",
+                model -> getCatalyticAnnotationAttributionFromRdf(model, true));
+        queries.put("getReactionAttributionEvidenceFromRdf", model -> getReactionAttributionEvidenceFromRdf(model));
+        queries.put("getCellularLocationsFromRdf", model -> getCellularLocationsFromRdf(model));
+        queries.put("getStructureResourceFromRdf", model -> getStructureResourceFromRdf(model));
+        queries.put("getProteinComponentsFromRdf", model -> getProteinComponentsFromRdf(model));
+        queries.put("getProteinDomainsFromRdf", model -> getProteinDomainsFromRdf(model));
+        queries.put("getDbCrossReferenceFromRdf", model -> getDbCrossReferenceFromRdf(model));
+        queries.put("getDistinctDbCrossRefDatabasesFromRdf", model -> getDistinctDbCrossRefDatabasesFromRdf(model));
+        queries.put("getJournalCitationsFromRdf", model -> getJournalCitationsFromRdf(model));
+        queries.put("getJournalCitationAuthorsFromRdf", model -> getJournalCitationAuthorsFromRdf(model));
+        return queries;
+    }
+
+    public static class QueryTiming {
+        private final String query;
+        private final long rows;
+        private final long fixedMillis;
+        private final long statisticsMillis;
+
+        QueryTiming(String query, long rows, long fixedMillis, long statisticsMillis) {
+            this.query = query;
+            this.rows = rows;
+            this.fixedMillis = fixedMillis;
+            this.statisticsMillis = statisticsMillis;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getFixedMillis() {
+            return fixedMillis;
+        }
+
+        public long getStatisticsMillis() {
+            return statisticsMillis;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package uk.ac.ebi.uniprot.glygen.stats;
+
+import org.apache.jena.sparql.expr.ExprEvalException;
+import org.apache.jena.sparql.expr.NodeValue;
+import org.apache.jena.sparql.util.NodeFactoryExtra;
+import org.apache.jena.vocabulary.RDF;
+import uk.ac.ebi.uniprot.glygen.stats.Statistics.StatKey;
+import uk.ac.ebi.uniprot.glygen.writer.StreamingNTriplesWriter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Counts the statistics of StatisticsWriter from the triples of a streamed output instead of querying a model.
+ * The triples of a subject must be contiguous, as StreamingNTriplesWriter writes them, so that the classes of a
+ * subject are known when its class-predicate counts are taken.
+ */
+public class StatisticsCollector implements StreamingNTriplesWriter.TripleListener {
+    private static final String TYPE = term(RDF.type.getURI());
+
+    private final Statistics statistics;
+    private final Map<String, StatKey> classKeys = new HashMap<>();
+    private final Map<String, StatKey> predicateKeys = new HashMap<>();
+    private final Map<String, List<StatKey>> classPredicateKeys = new HashMap<>();
+    private final Map<String, List<StatKey>> classPredicateValueKeys = new HashMap<>();
+    private final Map<StatKey, NodeValue> values = new HashMap<>();
+
+    private String subject;
+    private final Set<String> subjectClasses = new HashSet<>();
+    private final List<String[]> subjectTriples = new ArrayList<>();
+
+    public StatisticsCollector(Statistics statistics) {
+        this.statistics = statistics;
+        statistics.getClassMap().replaceAll((k, v) -> 0L);
+        statistics.getPredicateMap().replaceAll((k, v) -> 0L);
+        statistics.getClassPredicateMap().replaceAll((k, v) -> 0L);
+        statistics.getClassPredicateValueMap().replaceAll((k, v) -> 0L);
+
+        statistics.getClassMap().keySet().forEach(k -> classKeys.put(term(k.getClas()), k));
+        statistics.getPredicateMap().keySet().forEach(k -> predicateKeys.put(term(k.getPred()), k));
+        statistics.getClassPredicateMap().keySet().forEach(k ->
+                classPredicateKeys.computeIfAbsent(term(k.getPred()), p -> new ArrayList<>()).add(k));
+        statistics.getClassPredicateValueMap().keySet().forEach(k -> {
+            classPredicateValueKeys.computeIfAbsent(term(k.getPred()), p -> new ArrayList<>()).add(k);
+            values.put(k, NodeValue.parse(k.getValue()));
+        });
+    }
+
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public void triple(String subject, String predicate, String object) {
+        if (!subject.equals(this.subject)) {
+            countSubject();
+            this.subject = subject;
+        }
+
+        increment(statistics.getPredicateMap(), predicateKeys.get(predicate));
+        if (TYPE.equals(predicate)) {
+            subjectClasses.add(object);
+            increment(statistics.getClassMap(), classKeys.get(object));
+        }
+        if (classPredicateKeys.containsKey(predicate) || classPredicateValueKeys.containsKey(predicate)) {
+            subjectTriples.add(new String[]{predicate, object});
+        }
+    }
+
+    @Override
+    public void finish() {
+        countSubject();
+        subject = null;
+    }
+
+    private void countSubject() {
+        for (String[] triple : subjectTriples) {
+            for (StatKey key : classPredicateKeys.getOrDefault(triple[0], Collections.emptyList())) {
+                if (subjectClasses.contains(term(key.getClas()))) {
+                    increment(statistics.getClassPredicateMap(), key);
+                }
+            }
+            for (StatKey key : classPredicateValueKeys.getOrDefault(triple[0], Collections.emptyList())) {
+                if (subjectClasses.contains(term(key.getClas())) && sameValue(triple[1], values.get(key))) {
+                    increment(statistics.getClassPredicateValueMap(), key);
+                }
+            }
+        }
+        subjectClasses.clear();
+        subjectTriples.clear();
+    }
+
+    private static boolean sameValue(String object, NodeValue value) {
+        try {
+            return NodeValue.sameAs(NodeValue.makeNode(NodeFactoryExtra.parseNode(object)), value);
+        } catch (ExprEvalException e) {
+            // not comparable, as the filter of the query
+            return false;
+        }
+    }
+
+    private static void increment(Map<StatKey, Long> map, StatKey key) {
+        if (key != null) {
+            map.merge(key, 1L, Long::sum);
+        }
+    }
+
+    private static String term(String uri) {
+        return "<" + uri + ">";
+    }
+}
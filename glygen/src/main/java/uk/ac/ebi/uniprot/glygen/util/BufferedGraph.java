@@ -0,0 +1,140 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphUtil;
+import org.apache.jena.graph.TransactionHandler;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.sparql.graph.GraphFactory;
+import org.apache.jena.sparql.util.NodeUtils;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Graph that buffers the triples added to it and writes them to the target graph in batches sorted by subject,
+ * predicate and object, so that a TDB target updates its indexes in key order once per batch instead of once per
+ * added triple. Reads see the target and the buffered triples; deletes go to both. A batch size of 1 or less writes
+ * every triple straight to the target.
+ */
+public class BufferedGraph extends GraphBase {
+    private static final Logger logger = LoggerFactory.getLogger(BufferedGraph.class);
+    private static final Comparator<Triple> TRIPLE_ORDER = (a, b) -> {
+        int order = NodeUtils.compareRDFTerms(a.getSubject(), b.getSubject());
+        if (order == 0) {
+            order = NodeUtils.compareRDFTerms(a.getPredicate(), b.getPredicate());
+        }
+        if (order == 0) {
+            order = NodeUtils.compareRDFTerms(a.getObject(), b.getObject());
+        }
+        return order;
+    };
+
+    private final Graph target;
+    private final Graph buffer;
+    private final int batchSize;
+    private long flushedCount;
+    private long flushedNanos;
+
+    public BufferedGraph(Graph target, int batchSize) {
+        this.target = target;
+        this.buffer = GraphFactory.createGraphMem();
+        this.batchSize = batchSize;
+    }
+
+    public Graph getTarget() {
+        return target;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Number of buffered triples not yet written to the target
+     */
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    /**
+     * Writes the buffered triples to the target
+     */
+    public void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Triple> batch = buffer.find().toList();
+        batch.sort(TRIPLE_ORDER);
+        GraphUtil.add(target, batch);
+        buffer.clear();
+
+        flushedCount += batch.size();
+        flushedNanos += System.nanoTime() - start;
+        logger.debug("Flushed {} triples, {} in {} ms", batch.size(), flushedCount, flushedNanos / 1_000_000);
+    }
+
+    @Override
+    public void performAdd(Triple triple) {
+        if (batchSize <= 1) {
+            target.add(triple);
+            return;
+        }
+        buffer.add(triple);
+        if (buffer.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void performDelete(Triple triple) {
+        buffer.delete(triple);
+        target.delete(triple);
+    }
+
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(Triple triple) {
+        if (buffer.isEmpty()) {
+            return target.find(triple);
+        }
+        return target.find(triple).andThen(buffer.find(triple).filterDrop(target::contains));
+    }
+
+    @Override
+    protected boolean graphBaseContains(Triple triple) {
+        return buffer.contains(triple) || target.contains(triple);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return buffer.isEmpty() && target.isEmpty();
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        flush();
+        return target.size();
+    }
+
+    @Override
+    protected PrefixMapping createPrefixMapping() {
+        return target.getPrefixMapping();
+    }
+
+    @Override
+    public TransactionHandler getTransactionHandler() {
+        return target.getTransactionHandler();
+    }
+
+    @Override
+    public void close() {
+        flush();
+        target.close();
+        super.close();
+    }
+}
@@ -0,0 +1,44 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads and writes the accession to canonical isoform id map of a species (e.g. P05067 to P05067-1), one tab
+ * separated pair per line, sorted by accession.
+ */
+public class CanonicalIsoformMap {
+    private static final String TAB = "\t";
+
+    private CanonicalIsoformMap() {
+    }
+
+    public static void write(Map<String, String> canonicalMap, String fileName) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
+            for (Map.Entry<String, String> entry : new TreeMap<>(canonicalMap).entrySet()) {
+                writer.write(entry.getKey() + TAB + entry.getValue());
+                writer.newLine();
+            }
+        }
+    }
+
+    public static Map<String, String> read(String fileName) throws IOException {
+        Map<String, String> canonicalMap = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] tokens = line.split(TAB);
+                if (tokens.length == 2) {
+                    canonicalMap.put(tokens[0], tokens[1]);
+                }
+            }
+        }
+        return canonicalMap;
+    }
+}
@@ -3,19 +3,21 @@ package uk.ac.ebi.uniprot.glygen.util;
 import org.apache.jena.query.Dataset;
 import org.apache.jena.query.ReadWrite;
 import org.apache.jena.rdf.model.Model;
-import org.apache.jena.tdb.TDBFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.ac.ebi.kraken.util.fasta.FastaReader;
 import uk.ac.ebi.uniprot.glygen.core.ConfigReader;
 import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
+import uk.ac.ebi.uniprot.glygen.core.StorageBackend;
 import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
 
 import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getCanonicalSequenceIdFromRdf;
@@ -26,6 +28,19 @@ import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getCanonicalSequenceIdFro
  */
 public class CanonicalWriter {
     private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final String outputDir;
+
+    public CanonicalWriter() {
+        this(null);
+    }
+
+    /**
+     * @param outputDir directory with the canonical isoform maps written by the data generator; canonical isoforms
+     *                  of species without a map are queried from their out TDB
+     */
+    public CanonicalWriter(String outputDir) {
+        this.outputDir = outputDir;
+    }
 
     public void generateCanonicalCsv(List<GlygenConfig> configList) throws IOException {
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(GlygenConfig.getCanonicalMapOut()))) {
@@ -33,9 +48,14 @@ public class CanonicalWriter {
             writer.newLine();
 
             for (GlygenConfig config : configList) {
-                Dataset dataset = TDBFactory.createDataset(config.getDbDirOut());
-                dataset.begin(ReadWrite.READ);
-                Model model = dataset.getDefaultModel();
+                Map<String, String> canonicalMap = readCanonicalIsoformMap(config);
+                Dataset dataset = null;
+                Model model = null;
+                if (canonicalMap == null) {
+                    dataset = StorageBackend.of(config.getDbDirOut()).connect(config.getDbDirOut());
+                    dataset.begin(ReadWrite.READ);
+                    model = dataset.getDefaultModel();
+                }
                 try (FastaReader fastaReader = new FastaReader(getAbsFileName(config.getCanonical()))) {
                     fastaReader.openInputFile();
 
@@ -43,8 +63,12 @@ public class CanonicalWriter {
                     while ((sequence = fastaReader.nextSequence()) != null) {
                         String accession = getUniprotIdFromSequenceName(sequence.name);
                         CanonicalCsvInfo canCsv = new CanonicalCsvInfo();
-                        canCsv.accession = isSpEntry(sequence.name) ?
-                                getCanonicalSequenceIdFromRdf(model, accession) : accession + CANONICAL_SUFFIX;
+                        if (!isSpEntry(sequence.name)) {
+                            canCsv.accession = accession + CANONICAL_SUFFIX;
+                        } else {
+                            canCsv.accession = canonicalMap != null ? canonicalMap.get(accession) :
+                                    getCanonicalSequenceIdFromRdf(model, accession);
+                        }
                         if (canCsv.accession == null) {
                             logger.info("accession is null: {}", accession);
                             continue;
@@ -60,12 +84,26 @@ public class CanonicalWriter {
                         writer.newLine();
                     }
                 }
-                dataset.end();
+                if (dataset != null) {
+                    dataset.end();
+                }
             }
             writer.flush();
         }
     }
 
+    private Map<String, String> readCanonicalIsoformMap(GlygenConfig config) throws IOException {
+        if (outputDir == null) {
+            return null;
+        }
+        File file = new File(outputDir, config.getCanonicalIsoformMap());
+        if (!file.isFile()) {
+            logger.info("No canonical isoform map {}, using {}", file, config.getDbDirOut());
+            return null;
+        }
+        return CanonicalIsoformMap.read(file.getPath());
+    }
+
     static class CanonicalCsvInfo {
         public String accession;
         public String geneName;
@@ -83,6 +121,7 @@ public class CanonicalWriter {
         } catch (Exception ex) {
             throw new GlyGenException("Error reading Glygen config");
         }
-        new CanonicalWriter().generateCanonicalCsv(configList);
+        // optional argument: output directory of the data generator, with the canonical isoform maps
+        new CanonicalWriter(args.length > 0 ? args[0] : null).generateCanonicalCsv(configList);
     }
 }
\ No newline at end of file
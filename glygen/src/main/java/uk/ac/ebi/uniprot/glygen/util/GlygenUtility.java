@@ -94,6 +94,11 @@ public class GlygenUtility {
     public static final String CO_FACTOR = "cofactor";
     public static final String CONFLICTING_SEQUENCE = "conflictingSequence";
     public static final String DISEASE = "disease";
+    public static final String LOCATION = "location";
+    public static final String TISSUE = "tissue";
+    public static final String CONCEPT = "concept";
+    public static final String TERM = "term";
+    public static final String REACTION = "reaction";
     public static final String LOCATED_IN = "locatedIn";
     public static final String MEASURED_ERROR = "measuredError";
     public static final String MEASURED_VALUE = "measuredValue";
@@ -295,6 +300,7 @@ public class GlygenUtility {
     public static final String UP_DATA_TYPE_TOKEN = "http://www.w3.org/2001/XMLSchema#token";
 
     public static final String REACTOME_DB = "http://purl.uniprot.org/database/Reactome";
+    public static final String PDB_DB = "http://purl.uniprot.org/database/PDB";
 
     private GlygenUtility() {
     }
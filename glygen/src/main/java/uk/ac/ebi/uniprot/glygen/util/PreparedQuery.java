@@ -0,0 +1,73 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.ARQ;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.sparql.algebra.Algebra;
+import org.apache.jena.sparql.algebra.Op;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.Substitute;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.ExecutionContext;
+import org.apache.jena.sparql.engine.QueryIterator;
+import org.apache.jena.sparql.engine.ResultSetStream;
+import org.apache.jena.sparql.engine.binding.Binding;
+import org.apache.jena.sparql.engine.binding.BindingFactory;
+import org.apache.jena.sparql.engine.binding.BindingUtils;
+import org.apache.jena.sparql.engine.main.QC;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A select query that is parsed, compiled and optimized once and then executed with variables bound to constants.
+ * The constants are substituted into the compiled plan, so a lookup by id runs as a bound triple pattern instead of
+ * a scan filtered on the id. Prepared queries are kept in a registry keyed by the query string.
+ */
+public class PreparedQuery {
+    private static final Map<String, PreparedQuery> REGISTRY = new ConcurrentHashMap<>();
+
+    private final List<String> resultVars;
+    private final Op op;
+
+    private PreparedQuery(String queryStr) {
+        Query query = QueryFactory.create(queryStr);
+        this.resultVars = query.getResultVars();
+        this.op = Algebra.optimize(Algebra.compile(query));
+    }
+
+    /**
+     * Returns the prepared query for the query string, preparing it on first use
+     */
+    public static PreparedQuery prepare(String queryStr) {
+        return REGISTRY.computeIfAbsent(queryStr, PreparedQuery::new);
+    }
+
+    /**
+     * Executes the query with the variable bound to the uri
+     */
+    public ResultSet execute(Model model, String varName, String uri) {
+        return execute(model, BindingFactory.binding(Var.alloc(varName), NodeFactory.createURI(uri)));
+    }
+
+    /**
+     * Executes the query with the variables of the solution bound to their values
+     */
+    public ResultSet execute(Model model, QuerySolution initialBinding) {
+        return execute(model, BindingUtils.asBinding(initialBinding));
+    }
+
+    private ResultSet execute(Model model, Binding binding) {
+        Graph graph = model.getGraph();
+        ExecutionContext execCxt = new ExecutionContext(ARQ.getContext(), graph, DatasetGraphFactory.wrap(graph),
+                QC.getFactory(ARQ.getContext()));
+        QueryIterator iterator = QC.execute(Substitute.substitute(op, binding), binding, execCxt);
+        return new ResultSetStream(resultVars, model, iterator);
+    }
+}
@@ -0,0 +1,198 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+
+/**
+ * Binary RDF Thrift snapshots of parsed rdf files. The first load of a file parses it and writes the snapshot next to
+ * it, or to the cache directory if one is set, with a meta file holding the size and SHA-256 hash of the source, the
+ * triple count and the time the parse took. Later loads read the snapshot instead of parsing the source while size
+ * and hash still match.
+ * <p>
+ * The indexes built from reference files (GoHierarchyIndex, RheaIndex) are cached the same way, through
+ * getCacheFile, isCurrent and replace.
+ */
+public class RdfSnapshotCache {
+    private static final Logger logger = LoggerFactory.getLogger(RdfSnapshotCache.class);
+    public static final String SNAPSHOT_SUFFIX = ".trdf";
+    public static final String META_SUFFIX = ".meta";
+
+    private static final String SIZE = "size";
+    private static final String HASH = "sha256";
+    private static final String PARSE_MS = "parseMs";
+    private static final String TRIPLES = "triples";
+
+    private RdfSnapshotCache() {
+    }
+
+    /**
+     * Returns the model of the rdf file, read from its snapshot when it is up to date, else parsed by the parser
+     * and written to a new snapshot
+     */
+    public static Model load(File file, Parser parser) {
+        File snapshot = getCacheFile(file, SNAPSHOT_SUFFIX);
+
+        String hash;
+        try {
+            hash = getHash(file);
+        } catch (IOException e) {
+            logger.warn("Unable to hash {}, not using a snapshot", file, e);
+            return parser.parse();
+        }
+
+        if (isCurrent(snapshot, file, hash)) {
+            Properties properties = readMeta(snapshot);
+            long start = System.currentTimeMillis();
+            try (InputStream in = new BufferedInputStream(new FileInputStream(snapshot))) {
+                Model model = ModelFactory.createDefaultModel();
+                RDFDataMgr.read(model, in, Lang.RDFTHRIFT);
+                if (!String.valueOf(model.size()).equals(properties.getProperty(TRIPLES))) {
+                    throw new IOException("Triple count of " + snapshot + " differs from its meta file");
+                }
+                long loadMs = System.currentTimeMillis() - start;
+                long parseMs = Long.parseLong(properties.getProperty(PARSE_MS, "0"));
+                logger.info("Loaded snapshot {} in {} ms, parsing took {} ms, saved {} ms", snapshot, loadMs,
+                        parseMs, parseMs - loadMs);
+                return model;
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Unable to read snapshot {}, parsing {}", snapshot, file, e);
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        Model model = parser.parse();
+        long parseMs = System.currentTimeMillis() - start;
+        write(model, snapshot, file, hash, parseMs);
+        return model;
+    }
+
+    private static void write(Model model, File snapshot, File source, String hash, long parseMs) {
+        File tmpFile = null;
+        try {
+            tmpFile = createTempFile(snapshot);
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tmpFile))) {
+                RDFDataMgr.write(out, model, RDFFormat.RDF_THRIFT);
+            }
+            Properties properties = new Properties();
+            properties.setProperty(PARSE_MS, String.valueOf(parseMs));
+            properties.setProperty(TRIPLES, String.valueOf(model.size()));
+            replace(tmpFile, snapshot, source, hash, properties);
+            logger.info("Wrote snapshot {}", snapshot);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Unable to write snapshot {}", snapshot, e);
+            if (tmpFile != null) {
+                tmpFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Returns the cache file of the source file: the source file name with the suffix, in the cache directory of
+     * GlygenConfig if one is set, else next to the source file. Sources of the same name in different directories
+     * share a cache file, which their different hashes keep from being mixed up.
+     */
+    public static File getCacheFile(File source, String suffix) {
+        String cacheDir = GlygenConfig.getCacheDir();
+        if (cacheDir == null || cacheDir.isEmpty()) {
+            return new File(source.getPath() + suffix);
+        }
+        return new File(cacheDir, source.getName() + suffix);
+    }
+
+    /**
+     * Returns true if the cache file exists and its meta file holds the size and hash of the source file
+     */
+    public static boolean isCurrent(File cacheFile, File source, String hash) {
+        Properties properties = readMeta(cacheFile);
+        return cacheFile.isFile() && String.valueOf(source.length()).equals(properties.getProperty(SIZE)) &&
+                hash.equals(properties.getProperty(HASH));
+    }
+
+    /**
+     * Returns a new temporary file in the directory of the cache file, creating the directory if needed
+     */
+    public static File createTempFile(File cacheFile) throws IOException {
+        File dir = cacheFile.getAbsoluteFile().getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Unable to create " + dir);
+        }
+        return File.createTempFile(cacheFile.getName(), ".tmp", dir);
+    }
+
+    /**
+     * Replaces the cache file by the temporary file and writes its meta file with the size and hash of the source
+     * file and the given properties
+     */
+    public static void replace(File tmpFile, File cacheFile, File source, String hash, Properties properties)
+            throws IOException {
+        File meta = new File(cacheFile.getPath() + META_SUFFIX);
+        // meta is removed first, so that a cache file is never matched with a meta of another source
+        if ((meta.exists() && !meta.delete()) || (cacheFile.exists() && !cacheFile.delete()) ||
+                !tmpFile.renameTo(cacheFile)) {
+            throw new IOException("Unable to replace " + cacheFile);
+        }
+        Properties metaProperties = new Properties();
+        metaProperties.putAll(properties);
+        metaProperties.setProperty(SIZE, String.valueOf(source.length()));
+        metaProperties.setProperty(HASH, hash);
+        try (OutputStream out = new FileOutputStream(meta)) {
+            metaProperties.store(out, "Source of " + cacheFile.getName() + ": " + source.getAbsolutePath());
+        }
+    }
+
+    private static Properties readMeta(File cacheFile) {
+        File meta = new File(cacheFile.getPath() + META_SUFFIX);
+        Properties properties = new Properties();
+        if (meta.isFile()) {
+            try (InputStream in = new FileInputStream(meta)) {
+                properties.load(in);
+            } catch (IOException e) {
+                logger.warn("Unable to read {}", meta, e);
+            }
+        }
+        return properties;
+    }
+
+    public static String getHash(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        byte[] buffer = new byte[1 << 16];
+        try (InputStream in = new DigestInputStream(new FileInputStream(file), digest)) {
+            while (in.read(buffer) != -1) {
+                // digest updated by the stream
+            }
+        }
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return hash.toString();
+    }
+
+    public interface Parser {
+        Model parse();
+    }
+}
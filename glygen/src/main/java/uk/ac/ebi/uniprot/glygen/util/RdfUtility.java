@@ -1,6 +1,11 @@
 package uk.ac.ebi.uniprot.glygen.util;
 
+import java.io.File;
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
 import org.apache.jena.ontology.OntModel;
 import org.apache.jena.ontology.OntModelSpec;
 import org.apache.jena.query.Dataset;
@@ -9,6 +14,7 @@ import org.apache.jena.query.QueryExecution;
 import org.apache.jena.query.QueryExecutionFactory;
 import org.apache.jena.query.QueryFactory;
 import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.QuerySolutionMap;
 import org.apache.jena.query.ReadWrite;
 import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
@@ -21,6 +27,7 @@ import org.apache.jena.vocabulary.OWL;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
 import org.apache.jena.vocabulary.SKOS;
+import org.apache.jena.vocabulary.XSD;
 
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
 
@@ -43,6 +50,22 @@ public class RdfUtility {
     public static OntModel getOntModelBase(Model base) {
         OntModel model = base == null ? ModelFactory.createOntologyModel(OntModelSpec.OWL_DL_MEM):
                 ModelFactory.createOntologyModel(OntModelSpec.OWL_DL_MEM, base);
+        setOutputNsPrefixes(model);
+        return  model;
+    }
+
+    /**
+     * Returns the base model (or a new default model) with the same namespace prefixes as getOntModelBase, but
+     * without the ontology layer over it, so that output triples are written straight to the base graph
+     */
+    public static Model getModelBase(Model base) {
+        Model model = base == null ? ModelFactory.createDefaultModel() : base;
+        model.setNsPrefix("xsd", XSD.getURI());
+        setOutputNsPrefixes(model);
+        return model;
+    }
+
+    private static void setOutputNsPrefixes(Model model) {
         model.setNsPrefix("up", UNIPROT_CORE_NS);
         model.setNsPrefix("rdf", RDF.getURI());
         model.setNsPrefix("rdfs", RDFS.getURI());
@@ -50,7 +73,6 @@ public class RdfUtility {
         model.setNsPrefix("gly", GLYGEN_CORE_NS);
         model.setNsPrefix("owl", OWL.NS);
         model.setNsPrefix("faldo", FALDO_NS);
-        return  model;
     }
 
     public static ResultSet getAllProteinAccessionsFromRdf(Model rdfModel) {
@@ -112,10 +134,9 @@ public class RdfUtility {
     public static String getPrefLabelFromTissuesRdf(Model tisuModel, String tisuId) {
         String queryStr = SPARQL_QUERY_BASE_STR +
                 "       ?tissue rdf:type <http://purl.uniprot.org/core/Tissue> . " +
-                "       ?tissue skos:prefLabel ?prefLabel . " +
-                "       filter(?tissue = <" + tisuId + ">) }";
+                "       ?tissue skos:prefLabel ?prefLabel . }";
 
-        return getSingleLiteralFromRdfModel(tisuModel, queryStr, PREF_LABEL);
+        return getSingleLiteral(PreparedQuery.prepare(queryStr).execute(tisuModel, TISSUE, tisuId), PREF_LABEL);
     }
 
     public static ResultSet getKeywordClassificationsFromRdf(Model rdfModel) {
@@ -130,47 +151,44 @@ public class RdfUtility {
         String queryStr = SPARQL_QUERY_BASE_STR +
                 "       ?protein rdf:type <http://purl.uniprot.org/core/Protein> . " +
                 "       ?protein up:mnemonic ?mnemonic . " +
-                "       ?protein up:organism ?organism . " +
-                "       filter(?protein = <" + accession + ">) } ";
+                "       ?protein up:organism ?organism . } ";
 
-        return getResultSet(rdfModel, queryStr);
+        return PreparedQuery.prepare(queryStr).execute(rdfModel, PROTEIN, accession);
     }
 
     public static String getPrefLabelFromKeywordsRdf(Model keyModel, String keyId) {
         String queryStr = SPARQL_QUERY_BASE_STR +
                 "       ?concept rdf:type <http://purl.uniprot.org/core/Concept> . " +
-                "       ?concept skos:prefLabel ?prefLabel . " +
-                "       filter(?concept = <" + keyId + ">) } ";
+                "       ?concept skos:prefLabel ?prefLabel . } ";
 
-        return getSingleLiteralFromRdfModel(keyModel, queryStr, PREF_LABEL);
+        return getSingleLiteral(PreparedQuery.prepare(queryStr).execute(keyModel, CONCEPT, keyId), PREF_LABEL);
     }
 
     public static ResultSet getAltLabelsFromKeywordsRdf(Model keyModel, String keyId) {
         String queryStr = SPARQL_QUERY_BASE_STR +
                 "       ?concept rdf:type <http://purl.uniprot.org/core/Concept> . " +
-                "       ?concept skos:altLabel ?altLabel . " +
-                "       filter(?concept = <" + keyId + ">) } ";
+                "       ?concept skos:altLabel ?altLabel . } ";
 
-        return getResultSet(keyModel, queryStr);
+        return PreparedQuery.prepare(queryStr).execute(keyModel, CONCEPT, keyId);
     }
 
     public static String getTermLabelFromGeneOntologiesRdf(Model goModel, String goId) {
         String queryStr = SPARQL_QUERY_BASE_STR +
-                "       <" + goId + "> rdf:type <http://www.w3.org/2002/07/owl#Class> . " +
-                "       <" + goId + "> rdfs:label ?label . }";
+                "       ?term rdf:type <http://www.w3.org/2002/07/owl#Class> . " +
+                "       ?term rdfs:label ?label . }";
 
-        return getSingleLiteralFromRdfModel(goModel, queryStr, LABEL);
+        return getSingleLiteral(PreparedQuery.prepare(queryStr).execute(goModel, TERM, goId), LABEL);
     }
 
     public static String getClassificationLabelFromGeneOntologiesRdf(Model goModel, String goId) {
         String queryStr = SPARQL_QUERY_BASE_STR +
-                "       <" + goId + "> rdf:type <http://www.w3.org/2002/07/owl#Class> . " +
-                "       <" + goId + "> rdfs:subClassOf* ?superClass .  " +
+                "       ?term rdf:type <http://www.w3.org/2002/07/owl#Class> . " +
+                "       ?term rdfs:subClassOf* ?superClass .  " +
                 "       ?superClass rdf:type <http://www.w3.org/2002/07/owl#Class> . " +
                 "       ?superClass rdfs:label ?label . " +
                 "       FILTER NOT EXISTS { ?superClass rdfs:subClassOf ?blah } } ";
 
-        return getSingleLiteralFromRdfModel(goModel, queryStr, LABEL);
+        return getSingleLiteral(PreparedQuery.prepare(queryStr).execute(goModel, TERM, goId), LABEL);
     }
 
     public static ResultSet getEnzymeFromRdf(Model rdfModel) {
@@ -187,10 +205,10 @@ public class RdfUtility {
             String rdfProp, String property) {
         String queryStr = SPARQL_QUERY_BASE_STR +
                 "       ?enzyme rdf:type <http://purl.uniprot.org/core/Enzyme> . " +
-                "       ?enzyme <" + rdfProp + "> ?" + property + " . " +
-                "   filter(?enzyme = <" + enzId + ">) } ";  // important to filter by enzymeId
+                "       ?enzyme <" + rdfProp + "> ?" + property + " . } ";
 
-        return getResultSet(enzModel, queryStr);
+        // important to bind the enzymeId
+        return PreparedQuery.prepare(queryStr).execute(enzModel, ENZYME, enzId);
     }
 
     public static ResultSet getCatalyticActivityFromEnzymeRdf(Model enzModel, String enzId) {
@@ -198,10 +216,10 @@ public class RdfUtility {
                 "       ?enzyme rdf:type <http://purl.uniprot.org/core/Enzyme> . " +
                 "       ?enzyme up:activity ?activity . " +
                 "       ?activity rdf:type <http://purl.uniprot.org/core/Catalytic_Activity> . " +
-                "       ?activity rdfs:label ?label ." +
-                "    filter(?enzyme = <" + enzId + ">) } "; // important to filter by enzymeId
+                "       ?activity rdfs:label ?label . } ";
 
-        return getResultSet(enzModel, queryStr);
+        // important to bind the enzymeId
+        return PreparedQuery.prepare(queryStr).execute(enzModel, ENZYME, enzId);
     }
 
     public static ResultSet getInteractionFromRdf(Model rdfModel) {
@@ -227,9 +245,9 @@ public class RdfUtility {
     public static ResultSet getInfoOfParticipantFromRdf(Model rdfModel, String partId) {
         String queryStr = SPARQL_QUERY_PROTEIN_STR +
                 "       ?protein up:interaction ?interaction . " +
-                "       ?interaction up:participant <" + partId + "> } ";
+                "       ?interaction up:participant ?participant } ";
 
-        return getResultSet(rdfModel, queryStr);
+        return PreparedQuery.prepare(queryStr).execute(rdfModel, PARTICIPANT, partId);
     }
 
     public static ResultSet getStructureResourceFromRdf(Model rdfModel) {
@@ -245,10 +263,16 @@ public class RdfUtility {
         return getResultSet(rdfModel, queryStr);
     }
 
-    public static ResultSet getAnnotationFromRdf(Model rdfModel, String annotation) {
+    /**
+     * Annotations of the given types with their properties and range, in one scan of the protein annotations. An
+     * annotation has a row for each combination of its multi-valued properties; its attributions are read by
+     * getAllAnnotationAttributionsFromRdf.
+     */
+    public static ResultSet getAllAnnotationsFromRdf(Model rdfModel, Collection<String> annotationTypes) {
         String queryStr = SPARQL_QUERY_PROTEIN_STR +
                 "       ?protein up:annotation ?annotation . " +
-                "       ?annotation rdf:type <" + annotation + "> . " +
+                "       ?annotation rdf:type ?type . " +
+                "       FILTER (?type IN (" + getTypeList(annotationTypes) + ")) " +
                 "       OPTIONAL {?annotation rdfs:comment ?comment } " +
                 "       OPTIONAL {?annotation rdfs:seeAlso ?seeAlso } " +
                 "       OPTIONAL {?annotation skos:related ?related } " +
@@ -260,11 +284,41 @@ public class RdfUtility {
                 "       OPTIONAL {?annotation up:method ?method } " +
                 "       OPTIONAL {?annotation up:sequence ?sequence } " +
                 "       OPTIONAL {?annotation up:substitution ?substitution } " +
+                "       OPTIONAL {?annotation up:range ?range . " +
+                "           ?range rdf:type <http://biohackathon.org/resource/faldo#Region> . " +
+                "           ?range faldo:begin ?begin . " +
+                "           ?range faldo:end ?end . " +
+                "           ?begin faldo:position ?beginPos . " +
+                "           ?end faldo:position ?endPos } " +
                 "}";
 
         return getResultSet(rdfModel, queryStr);
     }
 
+    /**
+     * Attributions of the annotations of the given types, in one scan of the annotation reifications
+     */
+    public static ResultSet getAllAnnotationAttributionsFromRdf(Model rdfModel, Collection<String> annotationTypes) {
+        String queryStr = SPARQL_QUERY_PREFIX_STR +
+                "   SELECT DISTINCT ?annotation ?type ?attribution ?source ?evidence WHERE { " +
+                "       ?reifId rdf:object ?annotation . " +
+                "       ?annotation rdf:type ?type . " +
+                "       FILTER (?type IN (" + getTypeList(annotationTypes) + ")) " +
+                "       ?reifId up:attribution ?attribution . " +
+                "       ?attribution up:evidence ?evidence . " +
+                "       OPTIONAL { ?attribution up:source ?source . } } ";
+
+        return getResultSet(rdfModel, queryStr);
+    }
+
+    private static String getTypeList(Collection<String> annotationTypes) {
+        StringJoiner types = new StringJoiner(", ");
+        for (String annotation : annotationTypes) {
+            types.add("<" + annotation + ">");
+        }
+        return types.toString();
+    }
+
     public static ResultSet getCatalyticActivityInfoFromRdf(Model rdfModel) {
         String queryStr = SPARQL_QUERY_PROTEIN_STR +
                 "       ?protein up:annotation ?annotation . " +
@@ -317,19 +371,6 @@ public class RdfUtility {
         return getResultSet(rdfModel, queryStr);
     }
 
-    // reification query for given annotation
-    public static ResultSet getAnnotationAttributionFromRdf(Model rdfModel, String annotation) {
-        String queryStr = SPARQL_QUERY_PREFIX_STR +
-                    "   SELECT DISTINCT ?annotation ?attribution ?source ?evidence WHERE { " +
-                    "       ?reifId rdf:object ?annotation . " +
-                    "       ?annotation rdf:type <" + annotation + "> . " +
-                    "       ?reifId up:attribution ?attribution . " +
-                    "       ?attribution up:evidence ?evidence . " +
-                    "       OPTIONAL { ?attribution up:source ?source . } } " ;
-
-        return getResultSet(rdfModel, queryStr);
-    }
-
     // reification query to get attribution of 'comment'
     public static ResultSet getAnnotationAttributionOfCommentFromRdf(Model rdfModel, String annotation) {
         String queryStr = SPARQL_QUERY_PREFIX_STR +
@@ -348,13 +389,31 @@ public class RdfUtility {
     public static ResultSet getGoClassificationAttributionFromRdf(Model rdfModel, String protId, String accession) {
         String queryStr = SPARQL_QUERY_PREFIX_STR +
                 "   SELECT DISTINCT ?reifId ?classifiedWith ?attribution ?source ?evidence WHERE { " +
-                "       <" + protId + "> up:classifiedWith ?classifiedWith . " +
+                "       ?protein up:classifiedWith ?classifiedWith . " +
                 "       ?reifId rdf:object ?classifiedWith . " +
                 "       ?reifId up:attribution ?attribution . " +
                 "       ?attribution up:evidence ?evidence . " +
                 "       OPTIONAL { ?attribution up:source ?source . } " +
                 "       filter(regex(str(?classifiedWith), \"GO_\") &&" +
-                "                   regex(str(?reifId), \"" + accession + "\") ) }" ;
+                "                   regex(str(?reifId), ?accession) ) }" ;
+
+        QuerySolutionMap initialBinding = new QuerySolutionMap();
+        initialBinding.add(PROTEIN, rdfModel.createResource(protId));
+        initialBinding.add(ACCESSION, rdfModel.createLiteral(accession));
+        return PreparedQuery.prepare(queryStr).execute(rdfModel, initialBinding);
+    }
+
+    // reification query for GO classification of all proteins, joined on the subject of the reified statement
+    public static ResultSet getGoClassificationAttributionsFromRdf(Model rdfModel) {
+        String queryStr = SPARQL_QUERY_PREFIX_STR +
+                "   SELECT DISTINCT ?protein ?reifId ?classifiedWith ?attribution ?source ?evidence WHERE { " +
+                "       ?reifId rdf:subject ?protein . " +
+                "       ?reifId rdf:object ?classifiedWith . " +
+                "       ?protein up:classifiedWith ?classifiedWith . " +
+                "       ?reifId up:attribution ?attribution . " +
+                "       ?attribution up:evidence ?evidence . " +
+                "       OPTIONAL { ?attribution up:source ?source . } " +
+                "       filter(regex(str(?classifiedWith), \"GO_\")) }" ;
 
         return getResultSet(rdfModel, queryStr);
     }
@@ -379,24 +438,23 @@ public class RdfUtility {
                 "       ?disease rdf:type <http://purl.uniprot.org/core/Disease> . " +
                 "       ?disease skos:prefLabel ?prefLabel . " +
                 "       ?disease rdfs:comment ?comment . " +
-                "       ?disease up:mnemonic ?mnemonic . " +
-                "       filter(?disease = <" + disId + ">) }";
+                "       ?disease up:mnemonic ?mnemonic . }";
 
-        return getResultSet(disModel, queryStr);
+        return PreparedQuery.prepare(queryStr).execute(disModel, DISEASE, disId);
     }
 
     public static String getReactionLabelFromRheaRdf(Model rheaModel, String rheaId) {
         String queryStr = "prefix rh: <http://rdf.rhea-db.org/> " +
                 " select ?label where {" +
-                "       <" + rheaId + "> rh:equation ?label . } ";
-        return getSingleLiteralFromRdfModel(rheaModel, queryStr, LABEL);
+                "       ?reaction rh:equation ?label . } ";
+        return getSingleLiteral(PreparedQuery.prepare(queryStr).execute(rheaModel, REACTION, rheaId), LABEL);
     }
 
     public static Resource getEnzymeClassificationFromRheaRdf(Model rheaModel, String rheaId) {
         String queryStr = "prefix rh: <http://rdf.rhea-db.org/> " +
                 " select ?ec where {" +
-                "       <" + rheaId + "> rh:ec ?ec . } ";
-        return getResourceFromRdfModel(rheaModel, queryStr, EC);
+                "       ?reaction rh:ec ?ec . } ";
+        return getResource(PreparedQuery.prepare(queryStr).execute(rheaModel, REACTION, rheaId), EC);
     }
 
     public static void main(String args[]) {
@@ -443,43 +501,26 @@ public class RdfUtility {
     public static ResultSet getInfoFromDiseasesRdf(Model disModel, String disId, String rdfProp, String property) {
         String queryStr = SPARQL_QUERY_BASE_STR +
                 "       ?disease rdf:type <http://purl.uniprot.org/core/Disease> . " +
-                "       ?disease <" + rdfProp + "> ?" + property + " . " +
-                "       filter (?disease = <" + disId + ">) }";
+                "       ?disease <" + rdfProp + "> ?" + property + " . }";
 
-        return getResultSet(disModel, queryStr);
+        return PreparedQuery.prepare(queryStr).execute(disModel, DISEASE, disId);
     }
 
     public static ResultSet getPrefLabelCommentFromLocationsRdf(Model locModel, String locId) {
         String queryStr = SPARQL_QUERY_BASE_STR +
                 "       ?location rdf:type <http://purl.uniprot.org/core/Cellular_Component> . " +
                 "       ?location skos:prefLabel ?prefLabel . " +
-                "       ?location rdfs:comment ?comment . " +
-                "       filter (?location = <" + locId + ">) }";
+                "       ?location rdfs:comment ?comment . }";
 
-        return getResultSet(locModel, queryStr);
+        return PreparedQuery.prepare(queryStr).execute(locModel, LOCATION, locId);
     }
 
     public static ResultSet getInfoFromLocationsRdf(Model locModel, String locId, String rdfProp, String property) {
         String queryStr = SPARQL_QUERY_BASE_STR +
                 "       ?location rdf:type <http://purl.uniprot.org/core/Cellular_Component> . " +
-                "       ?location <" + rdfProp + "> ?" + property + " . " +
-                "       filter (?location = <" + locId + ">) }";
+                "       ?location <" + rdfProp + "> ?" + property + " . }";
 
-        return getResultSet(locModel, queryStr);
-    }
-
-    public static ResultSet getPositionInfoFromRdf(Model rdfModel, String annotation) {
-        String queryStr = SPARQL_QUERY_PROTEIN_STR +
-                "       ?protein up:annotation ?annotation . " +
-                "       ?annotation rdf:type <" + annotation + "> . " +
-                "       ?annotation up:range ?range . " +
-                "       ?range rdf:type <http://biohackathon.org/resource/faldo#Region> . " +
-                "       ?range faldo:begin ?begin . " +
-                "       ?range faldo:end ?end . " +
-                "       ?begin faldo:position ?beginPos . " +
-                "       ?end faldo:position ?endPos . } ";
-
-        return getResultSet(rdfModel, queryStr);
+        return PreparedQuery.prepare(queryStr).execute(locModel, LOCATION, locId);
     }
 
     public static ResultSet getProteinComponentsFromRdf(Model rdfModel) {
@@ -597,7 +638,15 @@ public class RdfUtility {
     }
 
     public static ResultSet getCitationAuthorsFromRdf(Model rdfModel, String citId) {
-        String queryStr = SPARQL_QUERY_BASE_STR + " <" + citId + "> up:author ?author . }";
+        String queryStr = SPARQL_QUERY_BASE_STR + " ?citation up:author ?author . }";
+
+        return PreparedQuery.prepare(queryStr).execute(rdfModel, CITATION, citId);
+    }
+
+    public static ResultSet getJournalCitationAuthorsFromRdf(Model rdfModel) {
+        String queryStr = SPARQL_QUERY_BASE_STR +
+                "       ?citation rdf:type <http://purl.uniprot.org/core/Journal_Citation> . " +
+                "       ?citation up:author ?author . }";
 
         return getResultSet(rdfModel, queryStr);
     }
@@ -605,12 +654,12 @@ public class RdfUtility {
     public static String getCanonicalSequenceIdFromRdf(Model rdfModel, String accId) {
         String queryStr = SPARQL_QUERY_PROTEIN_STR +
                 "       ?protein up:sequence ?sequence ." +
-                "       ?sequence rdf:type <http://purl.uniprot.org/core/Simple_Sequence> ." +
-                "       filter (?protein = <http://purl.uniprot.org/uniprot/" + accId + ">) } ";
+                "       ?sequence rdf:type <http://purl.uniprot.org/core/Simple_Sequence> . } ";
 
         // For some accessions like P0DMS8, F8WCM5, other sp entries are isoforms, hence not using
         // getSingleResourceUriFromRdfModel(rdfModel, queryStr, SEQUENCE);
-        ResultSet resultSet = getResultSet(rdfModel, queryStr);
+        ResultSet resultSet = PreparedQuery.prepare(queryStr)
+                .execute(rdfModel, PROTEIN, "http://purl.uniprot.org/uniprot/" + accId);
         while (resultSet.hasNext()) {
             QuerySolution solution = resultSet.nextSolution();
             if (solution.getResource(SEQUENCE).toString().contains(accId)) {
@@ -621,6 +670,29 @@ public class RdfUtility {
         return null;
     }
 
+    /**
+     * Returns the canonical isoform id of every protein, keyed by accession, as getCanonicalSequenceIdFromRdf
+     * returns it for the accession
+     */
+    public static Map<String, String> getCanonicalSequenceIdMapFromRdf(Model rdfModel) {
+        String queryStr = SPARQL_QUERY_PROTEIN_STR +
+                "       ?protein up:sequence ?sequence ." +
+                "       ?sequence rdf:type <http://purl.uniprot.org/core/Simple_Sequence> . } ";
+
+        Map<String, String> canonicalMap = new HashMap<>();
+        ResultSet resultSet = getResultSet(rdfModel, queryStr);
+        while (resultSet.hasNext()) {
+            QuerySolution solution = resultSet.nextSolution();
+            String protein = solution.getResource(PROTEIN).getURI();
+            String accId = protein.substring(protein.lastIndexOf(CHAR_FORWARD_SLASH) + 1);
+            String sequence = solution.getResource(SEQUENCE).toString();
+            if (sequence.contains(accId)) {
+                canonicalMap.putIfAbsent(accId, sequence.substring(sequence.lastIndexOf(CHAR_FORWARD_SLASH) + 1));
+            }
+        }
+        return canonicalMap;
+    }
+
     public static int getCountFromOutput(Model m, String queryStr) {
         Query query = QueryFactory.create(queryStr);
         try (QueryExecution execution = QueryExecutionFactory.create(query, m)) {
@@ -653,7 +725,19 @@ public class RdfUtility {
         }
     }
 
+    /**
+     * Returns the model of the rdf file. Files on disk are loaded through an RDF Thrift snapshot next to them, see
+     * {@link RdfSnapshotCache}; classpath resources are always parsed.
+     */
     public static Model createModelFromRdfFile(String fileName) {
+        File file = new File(fileName);
+        if (file.isFile()) {
+            return RdfSnapshotCache.load(file, () -> parseRdfFile(fileName));
+        }
+        return parseRdfFile(fileName);
+    }
+
+    private static Model parseRdfFile(String fileName) {
         Model model = ModelFactory.createDefaultModel();
         InputStream in = FileManager.get().open(fileName);
         if (in == null) {
@@ -668,8 +752,7 @@ public class RdfUtility {
         return QueryExecutionFactory.create(query, rdfModel).execSelect();
     }
 
-    private static String getSingleLiteralFromRdfModel(Model model, String queryStr, String propName) {
-        ResultSet resultSet = getResultSet(model, queryStr);
+    private static String getSingleLiteral(ResultSet resultSet, String propName) {
         if (resultSet.hasNext()) {
             QuerySolution solution = resultSet.nextSolution();
             return solution.getLiteral(propName).getString();
@@ -677,8 +760,7 @@ public class RdfUtility {
         return null;
     }
 
-    private static Resource getResourceFromRdfModel(Model model, String queryStr, String propName) {
-        ResultSet resultSet = getResultSet(model, queryStr);
+    private static Resource getResource(ResultSet resultSet, String propName) {
         if (resultSet.hasNext()) {
             QuerySolution solution = resultSet.nextSolution();
             return solution.getResource(propName);
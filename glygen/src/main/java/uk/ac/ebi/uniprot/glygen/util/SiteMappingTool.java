@@ -5,6 +5,7 @@ import uk.ac.ebi.kraken.util.fasta.FastaReader;
 import java.io.*;
 import java.nio.file.Files;
 import java.util.HashMap;
+import java.util.Map;
 
 public class SiteMappingTool {
     private static final HashMap<String, String> iso_can_map = new HashMap<>();
@@ -23,6 +24,14 @@ public class SiteMappingTool {
         }
     }
 
+    private static void readCanonicalIsoformMap(String canonical_map_file) throws IOException {
+        for (Map.Entry<String, String> entry : CanonicalIsoformMap.read(canonical_map_file).entrySet()) {
+            iso_can_map.putIfAbsent(entry.getKey(), entry.getValue());
+            iso_can_map.putIfAbsent(entry.getValue(), entry.getValue());
+        }
+        System.out.println(" iso_can_map.size() : " + iso_can_map.size());
+    }
+
     private static void readSequenceMap(String seq_file) throws IOException {
         try (FastaReader fastaReader = new FastaReader(seq_file)) {
             fastaReader.openInputFile();
@@ -39,12 +48,12 @@ public class SiteMappingTool {
 
 
     public static void main(String[] args) throws Exception {
-        if (args.length != 8) {
-            System.out.println("Input parameters missing, please provide inputs. \nUsage: uk.ac.ebi.uniprot.glygen.util.GlygenUtility.SiteMappingTool -protein_list <can_iso_mapping_file> -glygen_fasta <seq_file> -isoform_info <isoform_file> -out_file <output_file>");
+        if (args.length != 8 && args.length != 10) {
+            System.out.println("Input parameters missing, please provide inputs. \nUsage: uk.ac.ebi.uniprot.glygen.util.GlygenUtility.SiteMappingTool -protein_list <can_iso_mapping_file> -glygen_fasta <seq_file> -isoform_info <isoform_file> -out_file <output_file> [-canonical_map <canonical_isoform_map_file>]");
             System.exit(1);
         }
-        String map_file = "", seq_file = "", iso_file = "", out_file = "";
-        for (int i = 0; i < 8 ; i+=2) {
+        String map_file = "", seq_file = "", iso_file = "", out_file = "", canonical_map_file = "";
+        for (int i = 0; i < args.length - 1; i+=2) {
             if (args[i].equals("-protein_list")) {
                 map_file = args[i+1];
                 if (!Files.isReadable(new File(map_file).toPath())) {
@@ -66,6 +75,13 @@ public class SiteMappingTool {
                     System.exit(1);
                 }
             }
+            if (args[i].equals("-canonical_map")) {
+                canonical_map_file = args[i+1];
+                if (!Files.isReadable(new File(canonical_map_file).toPath())) {
+                    System.out.println("Please provide valid canonical isoform map file for '-canonical_map'");
+                    System.exit(1);
+                }
+            }
             if (args[i].equals("-out_file")) {
                 out_file = args[i+1];
                 if (Files.exists(new File(out_file).toPath())) {
@@ -76,6 +92,9 @@ public class SiteMappingTool {
         }
 
         readIsoformMap(map_file);
+        if (!canonical_map_file.isEmpty()) {
+            readCanonicalIsoformMap(canonical_map_file);
+        }
         readSequenceMap(seq_file);
     }
 
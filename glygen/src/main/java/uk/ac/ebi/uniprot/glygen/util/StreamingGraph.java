@@ -0,0 +1,113 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import org.apache.jena.graph.GraphEvents;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.riot.out.NodeFmtLib;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NullIterator;
+import org.apache.jena.util.iterator.WrappedIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.ac.ebi.uniprot.glygen.writer.StreamingNTriplesWriter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Write mostly graph over a streamed output: added triples go to the writer and are registered in the subject
+ * registry. Reads by a concrete subject are answered by the registry when it can: predicate presence, unless a
+ * single triple was removed from the subject, and the objects of value predicates (see SubjectRegistry). Other reads, and the size, scan the whole output written so
+ * far (see StreamingNTriplesWriter.find), which is correct but slow; they are logged so that a predicate read in
+ * a loop can be made a value predicate.
+ */
+public class StreamingGraph extends GraphBase {
+    private static final Logger logger = LoggerFactory.getLogger(StreamingGraph.class);
+
+    private final StreamingNTriplesWriter writer;
+    private final SubjectRegistry registry;
+    private final Set<String> scannedPatterns = new HashSet<>();
+
+    public StreamingGraph(StreamingNTriplesWriter writer, SubjectRegistry registry) {
+        this.writer = writer;
+        this.registry = registry;
+    }
+
+    public SubjectRegistry getRegistry() {
+        return registry;
+    }
+
+    @Override
+    public void performAdd(Triple triple) {
+        writer.triple(triple);
+        registry.add(triple);
+    }
+
+    @Override
+    public void performDelete(Triple triple) {
+        writer.delete(triple);
+        registry.remove(triple.getSubject(), triple.getPredicate(), triple.getObject());
+    }
+
+    @Override
+    public void remove(Node subject, Node predicate, Node object) {
+        checkOpen();
+        writer.remove(subject, predicate, object);
+        registry.remove(subject, predicate, object);
+        getEventManager().notifyEvent(this, GraphEvents.remove(subject, predicate, object));
+    }
+
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(Triple triple) {
+        Node subject = triple.getSubject();
+        Node predicate = triple.getPredicate();
+        List<Triple> triples;
+        if (subject.isConcrete() && predicate.isConcrete() && registry.isValuePredicate(predicate)) {
+            triples = new ArrayList<>();
+            for (Node object : registry.getObjects(subject, predicate)) {
+                if (triple.getObject().matches(object)) {
+                    triples.add(Triple.create(subject, predicate, object));
+                }
+            }
+        } else {
+            triples = scan(triple);
+        }
+        return triples.isEmpty() ? NullIterator.instance() : WrappedIterator.create(triples.iterator());
+    }
+
+    @Override
+    protected boolean graphBaseContains(Triple triple) {
+        Node subject = triple.getSubject();
+        Node predicate = triple.getPredicate();
+        if (subject.isConcrete() && registry.isExact(subject, predicate) && (!triple.getObject().isConcrete() ||
+                (predicate.isConcrete() && registry.isValuePredicate(predicate)))) {
+            return registry.contains(subject, predicate, triple.getObject());
+        }
+        return !scan(triple).isEmpty();
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        logger.warn("Size of the streamed output counted by a scan");
+        return (int) Math.min(Integer.MAX_VALUE, writer.count());
+    }
+
+    private List<Triple> scan(Triple triple) {
+        // once per pattern shape, e.g. "S <predicate> ANY"
+        String shape = (triple.getSubject().isConcrete() ? "S " : "ANY ") +
+                (triple.getPredicate().isConcrete() ? NodeFmtLib.str(triple.getPredicate()) + " " : "ANY ") +
+                (triple.getObject().isConcrete() ? "O" : "ANY");
+        if (scannedPatterns.add(shape)) {
+            logger.warn("Streamed output scanned to find {}", shape);
+        }
+        return writer.find(triple.getSubject(), triple.getPredicate(), triple.getObject());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return registry.size() == 0;
+    }
+}
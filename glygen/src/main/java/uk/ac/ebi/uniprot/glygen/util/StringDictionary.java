@@ -0,0 +1,108 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import java.util.Arrays;
+
+/**
+ * Dictionary of strings to dense int ids (0, 1, 2, ... in the order they are added), so that data about the strings
+ * can be kept in primitive arrays indexed by id. The strings are kept in an array by id and found through an open
+ * addressing table of ids; there is no entry object per string, and looking up a string does not allocate. Not
+ * thread safe.
+ */
+public class StringDictionary {
+    public static final int NOT_FOUND = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    // ids by hash slot, NOT_FOUND for a free slot
+    private int[] table;
+    private String[] strings;
+    private int size;
+
+    public StringDictionary() {
+        this(MIN_CAPACITY);
+    }
+
+    public StringDictionary(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L) {
+            capacity <<= 1;
+        }
+        table = newTable(capacity);
+        strings = new String[Math.max(expectedSize, MIN_CAPACITY)];
+    }
+
+    /**
+     * Id of the string, or NOT_FOUND
+     */
+    public int getId(String string) {
+        for (int i = slot(string.hashCode()); ; i = (i + 1) & (table.length - 1)) {
+            if (table[i] == NOT_FOUND || strings[table[i]].equals(string)) {
+                return table[i];
+            }
+        }
+    }
+
+    public boolean contains(String string) {
+        return getId(string) != NOT_FOUND;
+    }
+
+    /**
+     * Id of the string, adding it if it is new
+     */
+    public int add(String string) {
+        int i = slot(string.hashCode());
+        for (; table[i] != NOT_FOUND; i = (i + 1) & (table.length - 1)) {
+            if (strings[table[i]].equals(string)) {
+                return table[i];
+            }
+        }
+        if (size == strings.length) {
+            strings = Arrays.copyOf(strings, size * 2);
+        }
+        int id = size++;
+        strings[id] = string;
+        table[i] = id;
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return id;
+    }
+
+    public String get(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("No string with id " + id);
+        }
+        return strings[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(table, NOT_FOUND);
+        Arrays.fill(strings, 0, size, null);
+        size = 0;
+    }
+
+    private int slot(int hash) {
+        // spreads the hashes of strings sharing a long prefix (e.g. uniprot uris)
+        return (hash * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(table.length - 1);
+    }
+
+    private void rehash(int capacity) {
+        table = newTable(capacity);
+        for (int id = 0; id < size; id++) {
+            int i = slot(strings[id].hashCode());
+            while (table[i] != NOT_FOUND) {
+                i = (i + 1) & (table.length - 1);
+            }
+            table[i] = id;
+        }
+    }
+
+    private static int[] newTable(int capacity) {
+        int[] table = new int[capacity];
+        Arrays.fill(table, NOT_FOUND);
+        return table;
+    }
+}
@@ -0,0 +1,137 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.RDF;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_REVIEWED;
+
+/**
+ * In-memory registry of the subjects written to a streamed output, answering the read backs appenders do on the
+ * output model (e.g. hasProperty(RDF.type) before adding a shared resource). For each subject it keeps the
+ * predicates it has and, for the value predicates only, the objects. Objects of other predicates are not kept, so
+ * their triples cannot be listed. Removing a single such triple cannot tell whether it was the last one of its
+ * predicate, so it marks the subject as inexact; StreamingGraph scans the written output for those reads instead.
+ */
+public class SubjectRegistry {
+    public static final List<Node> VALUE_PREDICATES = Collections.unmodifiableList(Arrays.asList(
+            RDF.type.asNode(), OWL.sameAs.asNode(), NodeFactory.createURI(UP_REVIEWED)));
+
+    private final Set<Node> valuePredicates;
+    // predicate to objects per subject; objects are null for predicates that are not value predicates
+    private final Map<Node, Map<Node, List<Node>>> subjects = new HashMap<>();
+    // subjects that may have lost the last triple of a predicate that is not a value predicate
+    private final Set<Node> inexactSubjects = new HashSet<>();
+
+    public SubjectRegistry() {
+        this(VALUE_PREDICATES);
+    }
+
+    public SubjectRegistry(List<Node> valuePredicates) {
+        this.valuePredicates = new HashSet<>(valuePredicates);
+    }
+
+    public boolean isValuePredicate(Node predicate) {
+        return valuePredicates.contains(predicate);
+    }
+
+    public void add(Triple triple) {
+        Map<Node, List<Node>> predicates = subjects.computeIfAbsent(triple.getSubject(), s -> new HashMap<>(4));
+        if (!isValuePredicate(triple.getPredicate())) {
+            predicates.putIfAbsent(triple.getPredicate(), null);
+            return;
+        }
+        List<Node> objects = predicates.computeIfAbsent(triple.getPredicate(), p -> new ArrayList<>(1));
+        if (!objects.contains(triple.getObject())) {
+            objects.add(triple.getObject());
+        }
+    }
+
+    /**
+     * Removes the triples matching the pattern, whose subject must be concrete
+     */
+    public void remove(Node subject, Node predicate, Node object) {
+        Map<Node, List<Node>> predicates = subjects.get(subject);
+        if (predicates == null) {
+            return;
+        }
+        if (!predicate.isConcrete()) {
+            if (object.isConcrete()) {
+                if (predicates.containsValue(null)) {
+                    inexactSubjects.add(subject);
+                }
+                predicates.values().removeIf(objects -> objects != null && objects.remove(object) &&
+                        objects.isEmpty());
+            } else {
+                predicates.clear();
+            }
+        } else if (object.isConcrete() && isValuePredicate(predicate)) {
+            List<Node> objects = predicates.get(predicate);
+            if (objects != null && objects.remove(object) && objects.isEmpty()) {
+                predicates.remove(predicate);
+            }
+        } else if (!object.isConcrete()) {
+            predicates.remove(predicate);
+        } else if (predicates.containsKey(predicate)) {
+            inexactSubjects.add(subject);
+        }
+        if (predicates.isEmpty()) {
+            subjects.remove(subject);
+            inexactSubjects.remove(subject);
+        }
+    }
+
+    /**
+     * Whether contains answers exactly for the subject and predicate: always for a value predicate, otherwise only
+     * if no single triple of a predicate that is not a value predicate was removed from the subject
+     */
+    public boolean isExact(Node subject, Node predicate) {
+        return (predicate.isConcrete() && isValuePredicate(predicate)) || !inexactSubjects.contains(subject);
+    }
+
+    /**
+     * Whether a triple matching the pattern was added; the subject and predicate must be concrete unless the
+     * object is not. Not exact for a subject whose predicates are not all known (see isExact).
+     */
+    public boolean contains(Node subject, Node predicate, Node object) {
+        Map<Node, List<Node>> predicates = subjects.get(subject);
+        if (predicates == null) {
+            return false;
+        }
+        if (!object.isConcrete()) {
+            return !predicate.isConcrete() || predicates.containsKey(predicate);
+        }
+        if (!predicate.isConcrete()) {
+            throw new UnsupportedOperationException("Object lookups need a predicate: " + subject + " ANY " +
+                    object);
+        }
+        return getObjects(subject, predicate).contains(object);
+    }
+
+    /**
+     * Returns the objects of the subject's value predicate
+     */
+    public List<Node> getObjects(Node subject, Node predicate) {
+        if (!isValuePredicate(predicate)) {
+            throw new UnsupportedOperationException("Objects of " + predicate + " are not registered");
+        }
+        Map<Node, List<Node>> predicates = subjects.get(subject);
+        List<Node> objects = predicates == null ? null : predicates.get(predicate);
+        return objects == null ? Collections.emptyList() : Collections.unmodifiableList(objects);
+    }
+
+    public int size() {
+        return subjects.size();
+    }
+}
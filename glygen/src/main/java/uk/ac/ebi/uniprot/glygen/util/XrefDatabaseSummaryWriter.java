@@ -6,9 +6,9 @@ import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.ReadWrite;
 import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
-import org.apache.jena.tdb.TDBFactory;
 import uk.ac.ebi.uniprot.glygen.core.ConfigReader;
 import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
+import uk.ac.ebi.uniprot.glygen.core.StorageBackend;
 import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
 
 import java.io.*;
@@ -36,7 +36,7 @@ public class XrefDatabaseSummaryWriter {
         Set<String> mainSet = new TreeSet<>();
 
         for (GlygenConfig config : configList) {
-            Dataset dataset = TDBFactory.createDataset(config.getDbDirOut());
+            Dataset dataset = StorageBackend.of(config.getDbDirOut()).connect(config.getDbDirOut());
             dataset.begin(ReadWrite.READ);
             Model model = dataset.getDefaultModel();
             ResultSet resultSet = getDistinctDbCrossRefDatabasesFromRdf(model);
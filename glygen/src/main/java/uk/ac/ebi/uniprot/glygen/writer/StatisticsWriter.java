@@ -87,6 +87,14 @@ public class StatisticsWriter implements OutputWriter {
                 "WHERE { ?s <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> ?c . " +
                 "       ?s <%s> ?o . filter (?o = %s && ?c = <%s> ) } ";
         statistics.getClassPredicateValueMap().replaceAll((k, v) -> getClassPredicateValueCount(model, cpvQuery, k));
+        writeStatistics(config, statistics);
+        logger.info("End statistics");
+    }
+
+    /**
+     * Writes statistics already counted, e.g. by a StatisticsCollector
+     */
+    public void writeStatistics(GlygenConfig config, Statistics statistics) {
         String fullFilename = outputDir + File.separator + config.getStatisticsFile();
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(fullFilename))) {
             ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
@@ -94,6 +102,5 @@ public class StatisticsWriter implements OutputWriter {
         } catch (IOException e) {
             logger.error("Error writing statistics ", e );
         }
-        logger.info("End statistics");
     }
 }
\ No newline at end of file
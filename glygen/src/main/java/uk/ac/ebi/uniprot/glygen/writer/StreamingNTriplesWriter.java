@@ -0,0 +1,576 @@
+package uk.ac.ebi.uniprot.glygen.writer;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.out.NodeFmtLib;
+import org.apache.jena.riot.system.RiotLib;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.core.Quad;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * StreamRDF sink writing gzipped N-Triples without duplicates. Triples are held in memory as N-Triples lines and
+ * spilled to sorted run files in the spill directory once spillSize distinct lines are held; finish() merges the
+ * runs into the output, writing each line once, in sorted order, so that the triples of a subject are contiguous.
+ * Triples can be deleted until then: every add and delete gets a sequence number, and a line is dropped if it was
+ * deleted, or removed by a subject pattern, after it was last added. Deletes are held and spilled with the lines,
+ * and subject pattern removals in runs of their own, so that none of the state grows beyond spillSize in memory.
+ */
+public class StreamingNTriplesWriter implements StreamRDF {
+    private static final Logger logger = LoggerFactory.getLogger(StreamingNTriplesWriter.class);
+    private static final char SEPARATOR = '\t';
+
+    private final File outputFile;
+    private final File spillDir;
+    private final int spillSize;
+    private final TripleListener listener;
+
+    // sequence of the last add of each line, negated if the line was deleted after that
+    private final Map<String, Long> lines = new HashMap<>();
+    private final List<Removal> removals = new ArrayList<>();
+    private final List<File> runs = new ArrayList<>();
+    private final List<File> removalRuns = new ArrayList<>();
+    private long sequence;
+    private long writtenCount;
+    private boolean createdSpillDir;
+
+    /**
+     * @param listener gets every written triple, as N-Triples terms, in output order; may be null
+     */
+    public StreamingNTriplesWriter(File outputFile, File spillDir, int spillSize, TripleListener listener) {
+        this.outputFile = outputFile;
+        this.spillDir = spillDir;
+        this.spillSize = spillSize;
+        this.listener = listener;
+    }
+
+    public File getOutputFile() {
+        return outputFile;
+    }
+
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+
+    public int getRunCount() {
+        return runs.size();
+    }
+
+    public int getRemovalRunCount() {
+        return removalRuns.size();
+    }
+
+    @Override
+    public void start() {
+        if (!spillDir.isDirectory()) {
+            if (!spillDir.mkdirs()) {
+                logger.error("Unable to create spill directory {}", spillDir);
+                throw new GlyGenException("Unable to create spill directory " + spillDir);
+            }
+            createdSpillDir = true;
+        }
+    }
+
+    @Override
+    public void triple(Triple triple) {
+        put(toLine(triple), ++sequence);
+    }
+
+    @Override
+    public void quad(Quad quad) {
+        triple(quad.asTriple());
+    }
+
+    @Override
+    public void base(String base) {
+        // N-Triples has no base
+    }
+
+    @Override
+    public void prefix(String prefix, String iri) {
+        // N-Triples has no prefixes
+    }
+
+    /**
+     * Drops the triple unless it is added again
+     */
+    public void delete(Triple triple) {
+        put(toLine(triple), -(++sequence));
+    }
+
+    /**
+     * Drops the triples of the subject matching the predicate and object (either may be Node.ANY) that were added
+     * so far
+     */
+    public void remove(Node subject, Node predicate, Node object) {
+        if (!subject.isConcrete()) {
+            throw new UnsupportedOperationException("Removing triples needs a subject");
+        }
+        if (predicate.isConcrete() && object.isConcrete()) {
+            delete(Triple.create(subject, predicate, object));
+            return;
+        }
+        removals.add(new Removal(NodeFmtLib.str(subject) + " ",
+                predicate.isConcrete() ? NodeFmtLib.str(predicate) : null,
+                object.isConcrete() ? NodeFmtLib.str(object) : null, ++sequence));
+        if (removals.size() >= spillSize) {
+            spillRemovals();
+        }
+    }
+
+    /**
+     * Triples written so far matching the pattern, found by merging the spilled runs as finish() does. This is
+     * a scan of the whole output, for the reads the subject registry cannot answer
+     */
+    public List<Triple> find(Node subject, Node predicate, Node object) {
+        String subjectKey = subject.isConcrete() ? NodeFmtLib.str(subject) + " " : null;
+        String predicateTerm = predicate.isConcrete() ? NodeFmtLib.str(predicate) : null;
+        String objectTerm = object.isConcrete() ? NodeFmtLib.str(object) : null;
+        List<Triple> triples = new ArrayList<>();
+        merge((line, predicateStart, objectStart) -> {
+            if ((subjectKey == null || line.startsWith(subjectKey)) &&
+                    (predicateTerm == null || predicateTerm.equals(line.substring(predicateStart,
+                            objectStart - 1))) &&
+                    (objectTerm == null || objectTerm.equals(line.substring(objectStart, line.length() - 2)))) {
+                triples.add(Triple.create(toNode(line.substring(0, predicateStart - 1)),
+                        toNode(line.substring(predicateStart, objectStart - 1)),
+                        toNode(line.substring(objectStart, line.length() - 2))));
+            }
+        });
+        return triples;
+    }
+
+    /**
+     * Number of triples written so far, counted by merging the spilled runs
+     */
+    public long count() {
+        long[] count = new long[1];
+        merge((line, predicateStart, objectStart) -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Merges the spilled runs and the lines held in memory into the output file
+     */
+    @Override
+    public void finish() {
+        long start = System.currentTimeMillis();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(new FileOutputStream(outputFile), 1 << 16), StandardCharsets.UTF_8))) {
+            merge((line, predicateStart, objectStart) -> {
+                writer.write(line);
+                writer.write('\n');
+                writtenCount++;
+                if (listener != null) {
+                    listener.triple(line.substring(0, predicateStart - 1),
+                            line.substring(predicateStart, objectStart - 1),
+                            line.substring(objectStart, line.length() - 2));
+                }
+            });
+        } catch (IOException e) {
+            logger.error("Error writing {}", outputFile, e);
+            throw new GlyGenException(e);
+        } finally {
+            close();
+        }
+        if (listener != null) {
+            listener.finish();
+        }
+        logger.info("Wrote {} triples to {} in {} ms", writtenCount, outputFile, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Deletes the spilled runs, and the spill directory if it was created by start(), dropping what was not
+     * written. Called by finish(), and to be called when the output is abandoned; does nothing once closed
+     */
+    public void close() {
+        for (File run : runs) {
+            deleteRun(run);
+        }
+        for (File run : removalRuns) {
+            deleteRun(run);
+        }
+        runs.clear();
+        removalRuns.clear();
+        lines.clear();
+        removals.clear();
+        if (createdSpillDir && spillDir.isDirectory() && !spillDir.delete()) {
+            logger.warn("Unable to delete spill directory {}", spillDir);
+        }
+    }
+
+    private void deleteRun(File run) {
+        if (run.exists() && !run.delete()) {
+            logger.warn("Unable to delete run {}", run);
+        }
+    }
+
+    private void put(String line, long event) {
+        lines.put(line, event);
+        if (lines.size() >= spillSize) {
+            spill();
+        }
+    }
+
+    /**
+     * Passes the lines that were added after they were last deleted or removed to the sink, in sorted order
+     */
+    private void merge(LineSink sink) {
+        List<RunReader> readers = new ArrayList<>();
+        List<RemovalReader> removalReaders = new ArrayList<>();
+        try {
+            PriorityQueue<RunReader> queue = new PriorityQueue<>();
+            for (File run : runs) {
+                readers.add(new RunReader(run));
+            }
+            readers.add(new RunReader(sortedLines()));
+            for (RunReader reader : readers) {
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+            for (File run : removalRuns) {
+                removalReaders.add(new RemovalReader(run));
+            }
+            removalReaders.add(new RemovalReader(sortedRemovals()));
+            RemovalCursor removalCursor = new RemovalCursor(removalReaders);
+
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                String line = reader.line;
+                long lastEvent = reader.sequence;
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+                // the same line from other runs
+                while (!queue.isEmpty() && queue.peek().line.equals(line)) {
+                    RunReader duplicate = queue.poll();
+                    if (Math.abs(duplicate.sequence) > Math.abs(lastEvent)) {
+                        lastEvent = duplicate.sequence;
+                    }
+                    if (duplicate.next()) {
+                        queue.add(duplicate);
+                    }
+                }
+                if (lastEvent < 0) {
+                    continue;
+                }
+                int predicateStart = line.indexOf(' ') + 1;
+                int objectStart = line.indexOf(' ', predicateStart) + 1;
+                if (!removalCursor.removes(line, predicateStart, objectStart, lastEvent)) {
+                    sink.line(line, predicateStart, objectStart);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Error merging runs in {}", spillDir, e);
+            throw new GlyGenException(e);
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+            for (RemovalReader reader : removalReaders) {
+                reader.close();
+            }
+        }
+    }
+
+    private void spill() {
+        File run = writeRun("run", sortedLines(), (writer, entry) -> {
+            writer.write(entry.getKey());
+            writer.write(SEPARATOR);
+            writer.write(Long.toString(entry.getValue()));
+        });
+        runs.add(run);
+        logger.debug("Spilled {} lines to {}", lines.size(), run);
+        lines.clear();
+    }
+
+    private void spillRemovals() {
+        File run = writeRun("removals", sortedRemovals(), (writer, removal) -> {
+            writer.write(removal.subjectKey);
+            writer.write(SEPARATOR);
+            writer.write(Long.toString(removal.sequence));
+            writer.write(SEPARATOR);
+            writer.write(removal.predicate == null ? "" : removal.predicate);
+            writer.write(SEPARATOR);
+            writer.write(removal.object == null ? "" : removal.object);
+        });
+        removalRuns.add(run);
+        logger.debug("Spilled {} removals to {}", removals.size(), run);
+        removals.clear();
+    }
+
+    private <T> File writeRun(String prefix, Iterator<T> rows, RowWriter<T> rowWriter) {
+        File run;
+        try {
+            run = File.createTempFile(prefix, ".nt", spillDir);
+        } catch (IOException e) {
+            logger.error("Unable to create run in {}", spillDir, e);
+            throw new GlyGenException(e);
+        }
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(run),
+                StandardCharsets.UTF_8))) {
+            while (rows.hasNext()) {
+                rowWriter.write(writer, rows.next());
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            logger.error("Error writing run {}", run, e);
+            throw new GlyGenException(e);
+        }
+        return run;
+    }
+
+    private Iterator<Map.Entry<String, Long>> sortedLines() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(lines.entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+        return entries.iterator();
+    }
+
+    private Iterator<Removal> sortedRemovals() {
+        List<Removal> sorted = new ArrayList<>(removals);
+        sorted.sort(Comparator.comparing(removal -> removal.subjectKey));
+        return sorted.iterator();
+    }
+
+    static String toLine(Triple triple) {
+        return NodeFmtLib.str(triple.getSubject()) + " " + NodeFmtLib.str(triple.getPredicate()) + " " +
+                NodeFmtLib.str(triple.getObject()) + " .";
+    }
+
+    private static Node toNode(String term) {
+        if (term.startsWith("_:")) {
+            return NodeFactory.createBlankNode(NodeFmtLib.decodeBNodeLabel(term.substring(2)));
+        }
+        return RiotLib.parse(term);
+    }
+
+    /**
+     * Gets the triples written to the output
+     */
+    public interface TripleListener {
+        void triple(String subject, String predicate, String object);
+
+        void finish();
+    }
+
+    private interface LineSink {
+        void line(String line, int predicateStart, int objectStart) throws IOException;
+    }
+
+    private interface RowWriter<T> {
+        void write(Writer writer, T row) throws IOException;
+    }
+
+    /**
+     * Removal of the triples of a subject, keyed by the subject term and the space following it in a line, so
+     * that removals sort as the lines of their subjects do
+     */
+    private static class Removal {
+        private final String subjectKey;
+        private final String predicate;
+        private final String object;
+        private final long sequence;
+
+        Removal(String subjectKey, String predicate, String object, long sequence) {
+            this.subjectKey = subjectKey;
+            this.predicate = predicate;
+            this.object = object;
+            this.sequence = sequence;
+        }
+
+        boolean matches(String predicate, String object) {
+            return (this.predicate == null || this.predicate.equals(predicate)) &&
+                    (this.object == null || this.object.equals(object));
+        }
+    }
+
+    /**
+     * Sorted lines of a spilled run, or of the lines still in memory
+     */
+    private static class RunReader implements Comparable<RunReader> {
+        private final BufferedReader reader;
+        private final Iterator<Map.Entry<String, Long>> iterator;
+        private String line;
+        private long sequence;
+
+        RunReader(File run) throws IOException {
+            this.reader = openRun(run);
+            this.iterator = null;
+        }
+
+        RunReader(Iterator<Map.Entry<String, Long>> iterator) {
+            this.reader = null;
+            this.iterator = iterator;
+        }
+
+        boolean next() throws IOException {
+            if (iterator != null) {
+                if (!iterator.hasNext()) {
+                    return false;
+                }
+                Map.Entry<String, Long> entry = iterator.next();
+                line = entry.getKey();
+                sequence = entry.getValue();
+                return true;
+            }
+            String row = reader.readLine();
+            if (row == null) {
+                return false;
+            }
+            int separator = row.lastIndexOf(SEPARATOR);
+            line = row.substring(0, separator);
+            sequence = Long.parseLong(row.substring(separator + 1));
+            return true;
+        }
+
+        void close() {
+            closeRun(reader);
+        }
+
+        @Override
+        public int compareTo(RunReader other) {
+            return line.compareTo(other.line);
+        }
+    }
+
+    /**
+     * Sorted removals of a spilled run, or of the removals still in memory
+     */
+    private static class RemovalReader {
+        private final BufferedReader reader;
+        private final Iterator<Removal> iterator;
+        private Removal removal;
+
+        RemovalReader(File run) throws IOException {
+            this.reader = openRun(run);
+            this.iterator = null;
+        }
+
+        RemovalReader(Iterator<Removal> iterator) {
+            this.reader = null;
+            this.iterator = iterator;
+        }
+
+        boolean next() throws IOException {
+            if (iterator != null) {
+                removal = iterator.hasNext() ? iterator.next() : null;
+                return removal != null;
+            }
+            String row = reader.readLine();
+            if (row == null) {
+                removal = null;
+                return false;
+            }
+            // subjects and predicates have no tabs, objects may
+            int sequenceStart = row.indexOf(SEPARATOR) + 1;
+            int predicateStart = row.indexOf(SEPARATOR, sequenceStart) + 1;
+            int objectStart = row.indexOf(SEPARATOR, predicateStart) + 1;
+            String predicate = row.substring(predicateStart, objectStart - 1);
+            String object = row.substring(objectStart);
+            removal = new Removal(row.substring(0, sequenceStart - 1), predicate.isEmpty() ? null : predicate,
+                    object.isEmpty() ? null : object,
+                    Long.parseLong(row.substring(sequenceStart, predicateStart - 1)));
+            return true;
+        }
+
+        void close() {
+            closeRun(reader);
+        }
+    }
+
+    /**
+     * Removals of the subject of the current line, read from the removal runs as the merge moves through the
+     * subjects in sorted order
+     */
+    private static class RemovalCursor {
+        private final List<RemovalReader> readers = new ArrayList<>();
+        private final List<Removal> current = new ArrayList<>();
+        private String currentKey;
+
+        RemovalCursor(List<RemovalReader> removalReaders) throws IOException {
+            for (RemovalReader reader : removalReaders) {
+                if (reader.next()) {
+                    readers.add(reader);
+                }
+            }
+        }
+
+        boolean removes(String line, int predicateStart, int objectStart, long lastAdded) throws IOException {
+            if (readers.isEmpty() && current.isEmpty()) {
+                return false;
+            }
+            if (currentKey == null || !line.startsWith(currentKey) || currentKey.length() != predicateStart) {
+                advance(line.substring(0, predicateStart));
+            }
+            if (current.isEmpty()) {
+                return false;
+            }
+            String predicate = line.substring(predicateStart, objectStart - 1);
+            String object = line.substring(objectStart, line.length() - 2);
+            for (Removal removal : current) {
+                if (removal.sequence > lastAdded && removal.matches(predicate, object)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void advance(String subjectKey) throws IOException {
+            currentKey = subjectKey;
+            current.clear();
+            Iterator<RemovalReader> iterator = readers.iterator();
+            while (iterator.hasNext()) {
+                RemovalReader reader = iterator.next();
+                boolean more = true;
+                while (more && reader.removal.subjectKey.compareTo(subjectKey) < 0) {
+                    more = reader.next();
+                }
+                while (more && reader.removal.subjectKey.equals(subjectKey)) {
+                    current.add(reader.removal);
+                    more = reader.next();
+                }
+                if (!more) {
+                    reader.close();
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static BufferedReader openRun(File run) throws IOException {
+        return new BufferedReader(new InputStreamReader(new FileInputStream(run), StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    private static void closeRun(BufferedReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                logger.warn("Unable to close run", e);
+            }
+        }
+    }
+}
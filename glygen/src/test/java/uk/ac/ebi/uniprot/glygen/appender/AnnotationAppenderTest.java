@@ -3,6 +3,7 @@ package uk.ac.ebi.uniprot.glygen.appender;
 import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import org.apache.jena.query.QuerySolution;
@@ -12,12 +13,15 @@ import org.apache.jena.rdf.model.ModelFactory;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static uk.ac.ebi.uniprot.glygen.model.AnnotationType.ANNOTATION_TYPES;
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.SPARQL_QUERY_BASE_STR;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.SPARQL_QUERY_PREFIX_STR;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getAllAnnotationAttributionsFromRdf;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getAllAnnotationsFromRdf;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getResultSet;
 import static uk.ac.ebi.uniprot.glygen.util.TestUtility.addProteinToOutModel;
 import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestRdfModel;
@@ -107,6 +111,74 @@ class AnnotationAppenderTest {
         assertEquals(14, glyCount);
     }
 
+    @Test
+    void testRangeAppendedOncePerAnnotation() {
+        appendTestData();
+        // an annotation with several values of a property has a row for each of them
+        Set<String> ranges = new HashSet<>();
+        ResultSet resultSet = getAllAnnotationsFromRdf(rdfModel, ANNOTATION_TYPES);
+        while (resultSet.hasNext()) {
+            QuerySolution solution = resultSet.nextSolution();
+            if (solution.contains(RANGE)) {
+                ranges.add(solution.getResource(RANGE).getURI());
+            }
+        }
+
+        String queryStr = "select (count(*) as ?count) { " +
+                "       ?range <http://www.w3.org/1999/02/22-rdf-syntax-ns#type>" +
+                "        <http://biohackathon.org/resource/faldo#Region> . } ";
+        resultSet = getResultSet(outModel, queryStr);
+        assertTrue(resultSet.hasNext());
+        assertEquals(ranges.size(), resultSet.nextSolution().getLiteral(COUNT).getInt());
+    }
+
+    @Test
+    void testAttributionsReadApartFromAnnotations() {
+        // attributions do not multiply the rows of the annotation scan
+        ResultSet resultSet = getAllAnnotationsFromRdf(rdfModel, ANNOTATION_TYPES);
+        while (resultSet.hasNext()) {
+            assertFalse(resultSet.nextSolution().contains(ATTRIBUTION));
+        }
+
+        Set<String> attributions = new HashSet<>();
+        int rowCount = 0;
+        resultSet = getAllAnnotationAttributionsFromRdf(rdfModel, ANNOTATION_TYPES);
+        while (resultSet.hasNext()) {
+            QuerySolution solution = resultSet.nextSolution();
+            assertTrue(ANNOTATION_TYPES.contains(solution.getResource(TYPE).getURI()));
+            attributions.add(solution.getResource(ANNOTATION).getURI() + " " +
+                    solution.getResource(ATTRIBUTION).getURI());
+            ++rowCount;
+        }
+        assertTrue(rowCount > 0);
+        assertEquals(attributions.size(), rowCount);
+    }
+
+    @Test
+    void testRangesAppendedToEachDataset() {
+        GlygenConfig config = new GlygenConfig();
+        config.setDiseases("in/testDiseases.rdf");
+        config.setLocations("in/testLocations.rdf");
+        config.setRhea("in/testRhea.rdf");
+        AnnotationAppender appender = new AnnotationAppender(config);
+        String queryStr = "select (count(*) as ?count) { " +
+                "       ?range <http://www.w3.org/1999/02/22-rdf-syntax-ns#type>" +
+                "        <http://biohackathon.org/resource/faldo#Region> . } ";
+
+        // the same appender on a second dataset appends its ranges again
+        int[] rangeCounts = new int[2];
+        for (int i = 0; i < rangeCounts.length; i++) {
+            Model out = ModelFactory.createDefaultModel();
+            addProteinToOutModel(out, "http://purl.uniprot.org/uniprot/P05067");
+            GlygenDataset dataset = new GlygenDataset(rdfModel, out);
+            dataset.createAccessionMap(new HashSet<>(Arrays.asList("http://purl.uniprot.org/uniprot/P05067")));
+            appender.appendData(dataset);
+            rangeCounts[i] = getResultSet(out, queryStr).nextSolution().getLiteral(COUNT).getInt();
+        }
+        assertTrue(rangeCounts[0] > 0);
+        assertEquals(rangeCounts[0], rangeCounts[1]);
+    }
+
     @Test
     void testDiseaseInfoAppended() {
         appendTestData();
@@ -0,0 +1,111 @@
+package uk.ac.ebi.uniprot.glygen.appender;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.tdb.TDBFactory;
+import org.junit.jupiter.api.Test;
+import uk.ac.ebi.uniprot.glygen.core.ConfigReader;
+import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
+import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+
+import java.io.IOException;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestRdfModel;
+
+class AppenderSchedulerTest {
+
+    @Test
+    void testGetLevels() {
+        DataAppender basicInfo = new BasicInfoAppender();
+        DataAppender name = new NameAppender();
+        DataAppender structure = new StructureAppender();
+        DataAppender crossReference = new CrossReferenceAppender();
+        DataAppender citation = new CitationAppender();
+        DataAppender undeclared = dataset -> { };
+
+        List<List<DataAppender>> levels = AppenderScheduler.getLevels(
+                asList(basicInfo, name, structure, crossReference, citation, undeclared));
+
+        assertEquals(3, levels.size());
+        assertEquals(asList(basicInfo, structure, crossReference, citation), levels.get(0));
+        assertEquals(asList(name), levels.get(1));
+        assertEquals(asList(undeclared), levels.get(2));
+    }
+
+    @Test
+    void testLevelsFollowSharedState() throws IOException {
+        GlygenConfig config = ConfigReader.getGlygenConfigList(AppenderSchedulerTest.class
+                .getResourceAsStream("/tstGlygenConfig.properties"), "").get(0);
+        config.setCanonical("in/sample.fasta");
+        config.setIsoform("in/sample_additional.fasta");
+        config.setEnsemblCds("in/ensembl.cds.sample.fa");
+        config.setEnsemblPeptide("in/ensembl.pep.sample.fa");
+        DataAppender basicInfo = new BasicInfoAppender();
+        DataAppender sequence = new SequenceAppender(config);
+        DataAppender transcript = new TranscriptResourceAppender(config);
+        DataAppender coordinate = new GenomicCoordinateAppender(config);
+        DataAppender classification = new ClassificationAppender();
+        DataAppender crossReference = new CrossReferenceAppender();
+        DataAppender databaseInfo = new DatabaseInfoAppender(config);
+
+        List<List<DataAppender>> levels = AppenderScheduler.getLevels(asList(basicInfo, sequence, transcript,
+                coordinate, classification, crossReference, databaseInfo));
+
+        // accession set, isoform map, transcript ids and database uris are read after they are written
+        assertEquals(asList(basicInfo, crossReference), levels.get(0));
+        assertEquals(asList(sequence, classification, databaseInfo), levels.get(1));
+        assertEquals(asList(transcript), levels.get(2));
+        assertEquals(asList(coordinate), levels.get(3));
+    }
+
+    @Test
+    void testRunMatchesSequentialRun() {
+        Dataset inDataset = TDBFactory.createDataset();
+        inDataset.begin(ReadWrite.WRITE);
+        inDataset.getDefaultModel().add(getTestRdfModel());
+        inDataset.commit();
+        inDataset.begin(ReadWrite.READ);
+
+        // sequential run into TDB, as TDB stores some literals in canonical form
+        Dataset expectedDataset = TDBFactory.createDataset();
+        expectedDataset.begin(ReadWrite.WRITE);
+        GlygenDataset sequential = new GlygenDataset(inDataset.getDefaultModel(), expectedDataset.getDefaultModel());
+        for (DataAppender appender : getAppenders()) {
+            appender.appendData(sequential);
+        }
+        Model expected = ModelFactory.createDefaultModel().add(expectedDataset.getDefaultModel());
+        expectedDataset.commit();
+
+        Dataset outDataset = TDBFactory.createDataset();
+        outDataset.begin(ReadWrite.WRITE);
+        GlygenDataset dataset = new GlygenDataset(inDataset.getDefaultModel(), outDataset.getDefaultModel());
+        try {
+            new AppenderScheduler(4).run(getAppenders(), dataset, inDataset, outDataset);
+        } finally {
+            outDataset.commit();
+            inDataset.end();
+        }
+
+        outDataset.begin(ReadWrite.READ);
+        try {
+            Model actual = ModelFactory.createDefaultModel().add(outDataset.getDefaultModel());
+            assertEquals(expected.size(), actual.size());
+            assertTrue(expected.isIsomorphicWith(actual));
+            assertEquals(sequential.getDbUriSet(), dataset.getDbUriSet());
+            assertEquals(sequential.getAccessionSet(), dataset.getAccessionSet());
+        } finally {
+            outDataset.end();
+        }
+    }
+
+    private List<DataAppender> getAppenders() {
+        return asList(new BasicInfoAppender(), new NameAppender(), new StructureAppender(),
+                new ProteinComponentAppender(), new CrossReferenceAppender(), new CitationAppender());
+    }
+}
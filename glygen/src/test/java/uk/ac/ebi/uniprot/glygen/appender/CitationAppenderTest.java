@@ -3,11 +3,14 @@ package uk.ac.ebi.uniprot.glygen.appender;
 import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -15,6 +18,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.SPARQL_QUERY_BASE_STR;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getCitationAuthorsFromRdf;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getResultSet;
 import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getDefaultTestOutModel;
 import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestRdfModel;
@@ -94,4 +98,27 @@ class CitationAppenderTest {
         assertEquals(157, authSet.size());
     }
 
+    @Test
+    void testAuthorsMatchPerCitationQueries() {
+        Model outModel = ModelFactory.createDefaultModel();
+
+        CitationAppender appender = new CitationAppender();
+        appender.appendData(new GlygenDataset(rdfModel, outModel));
+
+        List<Resource> citations = outModel.listSubjectsWithProperty(RDF.type,
+                outModel.createResource(UP_TYPE_JOURNAL_CITATION)).toList();
+        assertEquals(173, citations.size());
+        for (Resource citation : citations) {
+            Set<String> expected = new HashSet<>();
+            ResultSet resultSet = getCitationAuthorsFromRdf(rdfModel, citation.getURI());
+            while (resultSet.hasNext()) {
+                expected.add(resultSet.nextSolution().getLiteral(AUTHOR).getString());
+            }
+            Set<String> actual = new HashSet<>();
+            citation.listProperties(outModel.createProperty(UP_AUTHOR))
+                    .forEachRemaining(statement -> actual.add(statement.getString()));
+            assertEquals(expected, actual, citation.getURI());
+        }
+    }
+
 }
\ No newline at end of file
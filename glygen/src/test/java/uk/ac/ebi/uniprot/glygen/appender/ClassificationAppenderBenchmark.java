@@ -0,0 +1,57 @@
+package uk.ac.ebi.uniprot.glygen.appender;
+
+import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.Test;
+
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.CHAR_FORWARD_SLASH;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_TYPE_PROTEIN;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getGoClassificationAttributionFromRdf;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.createGoAttributedProteome;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getDefaultClassificationAppender;
+
+/**
+ * Time of the GO attribution queries per accession against ClassificationAppender's single query; run with
+ * -Pbenchmark, -DgoBenchmarkProteins for the number of proteins
+ */
+class ClassificationAppenderBenchmark {
+    private static final int PROTEINS = Integer.getInteger("goBenchmarkProteins", 1000);
+
+    @Test
+    void benchmarkGoAttributions() {
+        Model proteome = createGoAttributedProteome(PROTEINS, 5, 100);
+        Set<String> accSet = new HashSet<>();
+        proteome.listSubjectsWithProperty(RDF.type, proteome.createResource(UP_TYPE_PROTEIN))
+                .forEachRemaining(protein -> accSet.add(protein.getURI()));
+
+        long start = System.currentTimeMillis();
+        int rows = 0;
+        for (String acc : accSet) {
+            ResultSet rs = getGoClassificationAttributionFromRdf(proteome, acc,
+                    acc.substring(acc.lastIndexOf(CHAR_FORWARD_SLASH) + 1));
+            while (rs.hasNext()) {
+                rs.next();
+                rows++;
+            }
+        }
+        long perAccessionTime = System.currentTimeMillis() - start;
+
+        ClassificationAppender appender = getDefaultClassificationAppender();
+        // loads the keyword and GO indexes before timing
+        appender.appendData(new GlygenDataset(ModelFactory.createDefaultModel(), ModelFactory.createDefaultModel()));
+        GlygenDataset dataset = new GlygenDataset(proteome, ModelFactory.createDefaultModel());
+        dataset.createAccessionMap(accSet);
+        start = System.currentTimeMillis();
+        appender.appendData(dataset);
+        long appenderTime = System.currentTimeMillis() - start;
+
+        System.out.printf("GO attributions of %d proteins: %d rows, per accession queries %d ms, " +
+                "ClassificationAppender %d ms%n", accSet.size(), rows, perAccessionTime, appenderTime);
+    }
+}
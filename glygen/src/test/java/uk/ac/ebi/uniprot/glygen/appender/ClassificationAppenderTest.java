@@ -15,11 +15,15 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.SPARQL_QUERY_BASE_STR;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getGoClassificationAttributionFromRdf;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getResultSet;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.createGoAttributedProteome;
 import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getDefaultClassificationAppender;
 import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestRdfModel;
 
@@ -135,4 +139,51 @@ class ClassificationAppenderTest {
         ClassificationAppender appender = getDefaultClassificationAppender();
         assertDoesNotThrow(() -> appender.appendData(new GlygenDataset(rdfModel, outModel)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGoAttributionsMatchPerAccessionQueries() {
+        Model proteome = createGoAttributedProteome(20, 3, 10);
+        String excluded = "http://purl.uniprot.org/uniprot/P00000";
+        Set<String> accSet = new HashSet<>();
+        proteome.listSubjectsWithProperty(RDF.type, proteome.createResource(UP_TYPE_PROTEIN))
+                .forEachRemaining(protein -> accSet.add(protein.getURI()));
+        accSet.remove(excluded);
+
+        // the attributions the per-accession queries read
+        Set<String> expected = new HashSet<>();
+        for (String acc : accSet) {
+            ResultSet rs = getGoClassificationAttributionFromRdf(proteome, acc,
+                    acc.substring(acc.lastIndexOf(CHAR_FORWARD_SLASH) + 1));
+            while (rs.hasNext()) {
+                expected.add(toAttributionString(rs.nextSolution()));
+            }
+        }
+
+        Model outModel = ModelFactory.createDefaultModel();
+        GlygenDataset dataset = new GlygenDataset(proteome, outModel);
+        dataset.createAccessionMap(accSet);
+        getDefaultClassificationAppender().appendData(dataset);
+
+        String queryStr = SPARQL_QUERY_BASE_STR +
+                "       ?protein up:classifiedWith ?" + REIF_ID + " . " +
+                "       ?" + REIF_ID + " up:classifiedWith ?" + CLASSIFIED_WITH + " . " +
+                "       ?" + REIF_ID + " <" + GLY_ATTRIBUTION + "> ?" + ATTRIBUTION + " . " +
+                "       ?" + ATTRIBUTION + " up:evidence ?" + EVIDENCE + " . " +
+                "       OPTIONAL { ?" + ATTRIBUTION + " up:source ?" + SOURCE + " } } ";
+        Set<String> appended = new HashSet<>();
+        ResultSet rs = getResultSet(outModel, queryStr);
+        while (rs.hasNext()) {
+            appended.add(toAttributionString(rs.nextSolution()));
+        }
+
+        assertEquals(19 * 3, expected.size());
+        assertEquals(expected, appended);
+        assertFalse(outModel.containsResource(outModel.createResource(excluded)));
+    }
+
+    private String toAttributionString(QuerySolution solution) {
+        return solution.getResource(PROTEIN) + " " + solution.getResource(REIF_ID) + " " +
+                solution.getResource(CLASSIFIED_WITH) + " " + solution.getResource(ATTRIBUTION) + " " +
+                solution.getResource(EVIDENCE) + " " + solution.get(SOURCE);
+    }
+}
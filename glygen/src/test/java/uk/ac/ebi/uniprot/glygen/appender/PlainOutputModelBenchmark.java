@@ -0,0 +1,51 @@
+package uk.ac.ebi.uniprot.glygen.appender;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.Test;
+
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.PROTEIN_PREFIX;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_MNEMONIC;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_TYPE_PROTEIN;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getModelBase;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getOntModelBase;
+
+/**
+ * Write cost of the ontology output model against the plain one; run with -Pbenchmark, -DoutputBenchmarkProteins
+ * for the number of proteins
+ */
+class PlainOutputModelBenchmark {
+    private static final int PROTEINS = Integer.getInteger("outputBenchmarkProteins", 50000);
+
+    @Test
+    void benchmarkWriteCost() {
+        // warm up both before timing
+        write(getOntModelBase(ModelFactory.createDefaultModel()), PROTEINS / 10);
+        write(getModelBase(ModelFactory.createDefaultModel()), PROTEINS / 10);
+
+        long ontStart = System.nanoTime();
+        int triples = write(getOntModelBase(ModelFactory.createDefaultModel()), PROTEINS);
+        long ontTime = System.nanoTime() - ontStart;
+
+        long plainStart = System.nanoTime();
+        write(getModelBase(ModelFactory.createDefaultModel()), PROTEINS);
+        long plainTime = System.nanoTime() - plainStart;
+
+        System.out.printf("%d triples: ontology model %.0f ns/triple, plain model %.0f ns/triple%n", triples,
+                (double) ontTime / triples, (double) plainTime / triples);
+    }
+
+    private int write(Model outModel, int proteins) {
+        Resource proteinType = outModel.createResource(UP_TYPE_PROTEIN);
+        Property mnemonic = outModel.createProperty(UP_MNEMONIC);
+        for (int i = 0; i < proteins; i++) {
+            Resource protein = outModel.createResource(PROTEIN_PREFIX + "P" + i);
+            protein.addProperty(RDF.type, proteinType);
+            protein.addProperty(mnemonic, "PROTEIN_" + i);
+        }
+        return proteins * 2;
+    }
+}
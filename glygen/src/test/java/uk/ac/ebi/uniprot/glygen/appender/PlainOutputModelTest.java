@@ -0,0 +1,108 @@
+package uk.ac.ebi.uniprot.glygen.appender;
+
+import uk.ac.ebi.uniprot.glygen.core.ConfigReader;
+import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
+import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.rdf.model.StmtIterator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.POSITION_PREFIX;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.RANGE_PREFIX;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getModelBase;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getOntModelBase;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getDefaultTestOutModel;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestRdfModel;
+
+class PlainOutputModelTest {
+
+    @Test
+    void testSameTriplesAsOntModel() throws IOException {
+        Model ontOutput = append(base -> getOntModelBase(base));
+        Model plainOutput = append(base -> getModelBase(base));
+
+        assertTrue(ontOutput.size() > getDefaultTestOutModel().size());
+        // ranges of the genes and annotations
+        assertTrue(ontOutput.listSubjects().filterKeep(Resource::isAnon).hasNext());
+        assertEquals(ontOutput.size(), plainOutput.size());
+        assertTrue(ontOutput.isIsomorphicWith(plainOutput));
+        assertEquals(getOntModelBase(null).getNsPrefixMap(), getModelBase(null).getNsPrefixMap());
+    }
+
+    /**
+     * Runs the appenders in the order of GlygenDataGeneratorMain on an output model over a default base model and
+     * returns the base model with the random range and position uris replaced by blank nodes, which the isomorphism
+     * check matches up. The reaction
+     * annotations are left out as they need the Reactome Neo4j database.
+     */
+    private Model append(UnaryOperator<Model> outModelFactory) throws IOException {
+        GlygenConfig config = ConfigReader.getGlygenConfigList(PlainOutputModelTest.class
+                .getResourceAsStream("/tstGlygenConfig.properties"), "").get(0);
+        // the sample sequences, transcripts and genes of the appender tests
+        config.setCanonical("in/sample.fasta");
+        config.setIsoform("in/sample_additional.fasta");
+        config.setEnsemblCds("in/ensembl.cds.sample.fa");
+        config.setEnsemblPeptide("in/ensembl.pep.sample.fa");
+        config.setGeneInfo("tst_9606_gene.tsv");
+        Model base = getDefaultTestOutModel();
+        GlygenDataset dataset = new GlygenDataset(getTestRdfModel(), outModelFactory.apply(base));
+
+        List<DataAppender> appenders = Arrays.asList(
+                new BasicInfoAppender(),
+                new NameAppender(),
+                new GeneAppender(config),
+                new SequenceAppender(config),
+                new TranscriptResourceAppender(config),
+                new GenomicCoordinateAppender(config),
+                new ClassificationAppender(),
+                new EnzymeAppender(),
+                new InteractionAppender(config),
+                new AnnotationAppender(config),
+                new ProteinScanAppender(new TissueAppender(config), new StructureAppender(),
+                        new ProteinComponentAppender(), new CrossReferenceAppender()),
+                new CitationAppender(),
+                new DatabaseInfoAppender(config));
+        for (DataAppender appender : appenders) {
+            appender.appendData(dataset);
+        }
+        return normalizeRandomUris(base);
+    }
+
+    private Model normalizeRandomUris(Model model) {
+        Map<String, Resource> uris = new HashMap<>();
+        Model normalized = ModelFactory.createDefaultModel();
+        StmtIterator iterator = model.listStatements();
+        while (iterator.hasNext()) {
+            Statement statement = iterator.next();
+            normalized.add(normalize(statement.getSubject(), uris, normalized).asResource(),
+                    statement.getPredicate(), normalize(statement.getObject(), uris, normalized));
+        }
+        return normalized;
+    }
+
+    private RDFNode normalize(RDFNode node, Map<String, Resource> uris, Model normalized) {
+        if (!node.isURIResource()) {
+            return node;
+        }
+        String uri = node.asResource().getURI();
+        for (String prefix : Arrays.asList(RANGE_PREFIX, POSITION_PREFIX)) {
+            if (uri.startsWith(prefix)) {
+                return uris.computeIfAbsent(uri, key -> normalized.createResource());
+            }
+        }
+        return node;
+    }
+}
@@ -0,0 +1,76 @@
+package uk.ac.ebi.uniprot.glygen.appender;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.junit.jupiter.api.Test;
+import uk.ac.ebi.uniprot.glygen.model.DatasetPart;
+import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
+import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestRdfModel;
+
+class ProteinScanAppenderTest {
+    private Model rdfModel = getTestRdfModel();
+
+    @Test
+    void testAppendDataMatchesSeparateRuns() {
+        Model expected = ModelFactory.createDefaultModel();
+        GlygenDataset separate = new GlygenDataset(rdfModel, expected);
+        new StructureAppender().appendData(separate);
+        new ProteinComponentAppender().appendData(separate);
+        new CrossReferenceAppender().appendData(separate);
+
+        Model outModel = ModelFactory.createDefaultModel();
+        GlygenDataset dataset = new GlygenDataset(rdfModel, outModel);
+        new ProteinScanAppender(new StructureAppender(), new ProteinComponentAppender(),
+                new CrossReferenceAppender()).appendData(dataset);
+
+        assertTrue(expected.size() > 0);
+        assertTrue(expected.isIsomorphicWith(outModel));
+        assertEquals(separate.getDbUriSet(), dataset.getDbUriSet());
+    }
+
+    @Test
+    void testEachProteinScannedOnce() {
+        List<String> proteins = new ArrayList<>();
+        List<String> events = new ArrayList<>();
+        ProteinScanHandler handler = new ProteinScanHandler() {
+            @Override
+            public void startScan(GlygenDataset dataset) {
+                events.add("start");
+            }
+
+            @Override
+            public void handleProtein(ProteinRecord protein, GlygenDataset dataset) {
+                proteins.add(protein.getUri());
+            }
+
+            @Override
+            public void endScan(GlygenDataset dataset) {
+                events.add("end");
+            }
+        };
+
+        new ProteinScanAppender(handler).appendData(new GlygenDataset(rdfModel, ModelFactory.createDefaultModel()));
+
+        assertEquals(5, proteins.size());
+        assertEquals(5, proteins.stream().distinct().count());
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    void testReadsAndWrites() {
+        GlygenConfig.setTissues("in/testTissues.rdf");
+        ProteinScanAppender appender = new ProteinScanAppender(new TissueAppender(new GlygenConfig()),
+                new StructureAppender());
+
+        assertEquals(EnumSet.noneOf(DatasetPart.class), appender.reads());
+        assertEquals(EnumSet.of(DatasetPart.TISSUE, DatasetPart.STRUCTURE), appender.writes());
+    }
+}
@@ -0,0 +1,124 @@
+package uk.ac.ebi.uniprot.glygen.appender;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.tdb.TDBFactory;
+import org.junit.jupiter.api.Test;
+import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
+import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.ENCODED_BY;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getAllProteinAccessionsFromRdf;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getGeneAltLabelsFromRdf;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getGeneLabelFromRdf;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestRdfModel;
+
+class QueryPipelineTest {
+
+    @Test
+    void testRowsHandledOnCallingThread() {
+        Dataset inDataset = TDBFactory.createDataset();
+        inDataset.begin(ReadWrite.WRITE);
+        inDataset.getDefaultModel().add(getTestRdfModel());
+        inDataset.commit();
+
+        inDataset.begin(ReadWrite.READ);
+        try {
+            GlygenDataset dataset = new GlygenDataset(inDataset.getDefaultModel(), ModelFactory.createDefaultModel());
+            dataset.setInputDataset(inDataset);
+
+            List<Function<Model, ResultSet>> queries = new ArrayList<>();
+            queries.add(model -> getAllProteinAccessionsFromRdf(model));
+            queries.add(model -> getGeneLabelFromRdf(model, true));
+            queries.add(model -> getGeneAltLabelsFromRdf(model));
+
+            List<List<QuerySolution>> rows = new ArrayList<>();
+            Set<Thread> threads = new HashSet<>();
+            QueryPipeline pipeline = new QueryPipeline(dataset, 2);
+            for (Function<Model, ResultSet> query : queries) {
+                List<QuerySolution> queryRows = new ArrayList<>();
+                rows.add(queryRows);
+                pipeline.add("query" + rows.size(), query, solution -> {
+                    threads.add(Thread.currentThread());
+                    queryRows.add(solution);
+                });
+            }
+            pipeline.run();
+
+            assertEquals(1, threads.size());
+            assertTrue(threads.contains(Thread.currentThread()));
+            for (int i = 0; i < queries.size(); i++) {
+                ResultSet resultSet = queries.get(i).apply(inDataset.getDefaultModel());
+                int count = 0;
+                while (resultSet.hasNext()) {
+                    QuerySolution solution = resultSet.nextSolution();
+                    if (solution.contains(ENCODED_BY)) {
+                        assertEquals(solution.getResource(ENCODED_BY),
+                                rows.get(i).get(count).getResource(ENCODED_BY));
+                    }
+                    count++;
+                }
+                assertTrue(count > 0);
+                assertEquals(count, rows.get(i).size());
+            }
+        } finally {
+            inDataset.end();
+        }
+    }
+
+    @Test
+    void testQueryErrorReported() {
+        GlygenDataset dataset = new GlygenDataset(getTestRdfModel(), ModelFactory.createDefaultModel());
+        QueryPipeline pipeline = new QueryPipeline(dataset)
+                .add("accessions", model -> getAllProteinAccessionsFromRdf(model), solution -> {
+                })
+                .add("failing", model -> {
+                    throw new IllegalStateException("query failed");
+                }, solution -> {
+                });
+        assertThrows(GlyGenException.class, pipeline::run);
+    }
+
+    @Test
+    void testHandlerErrorStopsReaders() {
+        GlygenDataset dataset = new GlygenDataset(getTestRdfModel(), ModelFactory.createDefaultModel());
+        QueryPipeline pipeline = new QueryPipeline(dataset)
+                .add("accessions", model -> getAllProteinAccessionsFromRdf(model), solution -> {
+                    throw new GlyGenException("handler failed");
+                });
+        assertThrows(GlyGenException.class, pipeline::run);
+    }
+
+    @Test
+    void testReaderErrorEndsRun() {
+        GlygenDataset dataset = new GlygenDataset(getTestRdfModel(), ModelFactory.createDefaultModel());
+        QueryPipeline pipeline = new QueryPipeline(dataset, 2)
+                .add("accessions", model -> getAllProteinAccessionsFromRdf(model), solution -> {
+                })
+                .add("overflowing", model -> {
+                    throw new StackOverflowError();
+                }, solution -> {
+                });
+        assertThrows(StackOverflowError.class, pipeline::run);
+    }
+
+    @Test
+    void testDefaultReadersCapped() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        assertEquals(Math.min(QueryPipeline.MAX_DEFAULT_READERS, processors), QueryPipeline.getDefaultReaders(1));
+        assertEquals(1, QueryPipeline.getDefaultReaders(processors * 2));
+    }
+}
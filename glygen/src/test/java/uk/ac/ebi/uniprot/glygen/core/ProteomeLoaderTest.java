@@ -0,0 +1,98 @@
+package uk.ac.ebi.uniprot.glygen.core;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.rdf.model.Model;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestRdfModel;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestResourcePath;
+
+class ProteomeLoaderTest {
+    private static final String RDF = getTestResourcePath("in/testRdf.rdf");
+
+    @TempDir
+    File dir;
+
+    @Test
+    void testLoadConcurrently() {
+        for (StorageBackend storage : StorageBackend.values()) {
+            File db1 = new File(dir, storage + "db1");
+            File db2 = new File(dir, storage + "db2");
+            assertTrue(new ProteomeLoader(storage, 2, 1).load(Arrays.asList(db1 + "=" + RDF, db2 + "=" + RDF)));
+
+            for (File db : Arrays.asList(db1, db2)) {
+                assertTrue(new File(db, db.getName() + ".lock").exists());
+                assertEquals(storage, StorageBackend.of(db.getPath()));
+                assertTrue(storage.hasStatistics(db.getPath()));
+                assertLoaded(storage.connect(db.getPath()));
+            }
+        }
+    }
+
+    @Test
+    void testLoadedDatabaseSkipped() {
+        File db = new File(dir, "dbTest");
+        ProteomeLoader loader = new ProteomeLoader(StorageBackend.TDB1, 1, 60);
+        assertTrue(loader.load(Collections.singletonList(db + "=" + RDF)));
+        // statistics of a loaded database are written when missing
+        assertTrue(StorageBackend.TDB1.getStatisticsFile(db.getPath()).delete());
+        // a missing rdf file would fail the load
+        assertTrue(loader.load(Collections.singletonList(db + "=" + new File(dir, "missing.rdf"))));
+        assertTrue(StorageBackend.TDB1.hasStatistics(db.getPath()));
+        assertLoaded(StorageBackend.TDB1.connect(db.getPath()));
+    }
+
+    @Test
+    void testNewerRdfReloaded() throws Exception {
+        File db = new File(dir, "dbTest");
+        File rdf = new File(dir, "proteome.rdf");
+        Files.copy(new File(RDF).toPath(), rdf.toPath());
+        ProteomeLoader loader = new ProteomeLoader(StorageBackend.TDB1, 1, 60);
+        assertTrue(loader.load(Collections.singletonList(db + "=" + rdf)));
+        File lock = new File(db, db.getName() + ".lock");
+        assertTrue(lock.setLastModified(rdf.lastModified() - 60_000));
+
+        // a reload of a broken rdf fails, where a skip would not
+        Files.write(rdf.toPath(), "<rdf:RDF".getBytes(StandardCharsets.UTF_8));
+        assertTrue(rdf.setLastModified(lock.lastModified() + 1_000));
+        assertFalse(loader.load(Collections.singletonList(db + "=" + rdf)));
+
+        Files.copy(new File(RDF).toPath(), rdf.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        assertTrue(loader.load(Collections.singletonList(db + "=" + rdf)));
+        assertTrue(lock.lastModified() >= rdf.lastModified());
+        assertLoaded(StorageBackend.TDB1.connect(db.getPath()));
+    }
+
+    @Test
+    void testFailedLoadReported() {
+        File db = new File(dir, "dbMissing");
+        assertFalse(new ProteomeLoader(StorageBackend.TDB1, 1, 60)
+                .load(Collections.singletonList(db + "=" + new File(dir, "missing.rdf"))));
+        assertFalse(new File(db, db.getName() + ".lock").exists());
+    }
+
+    private void assertLoaded(Dataset dataset) {
+        Model expected = getTestRdfModel();
+        dataset.begin(ReadWrite.READ);
+        try {
+            // not isomorphic: TDB stores some literals as values
+            Model model = dataset.getDefaultModel();
+            assertEquals(expected.size(), model.size());
+            assertTrue(model.difference(expected).isEmpty());
+        } finally {
+            dataset.end();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package uk.ac.ebi.uniprot.glygen.core;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.shared.AddDeniedException;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.jupiter.api.Test;
+import uk.ac.ebi.uniprot.glygen.index.VocabularyIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_TYPE_CONCEPT;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_TYPE_DISEASE;
+
+class ReferenceModelRegistryTest {
+
+    @Test
+    void testModelLoadedOnceAndReadOnly() {
+        Model model = ReferenceModelRegistry.getModel("in/testDatabases.rdf");
+        assertSame(model, ReferenceModelRegistry.getModel("in/testDatabases.rdf"));
+        assertFalse(model.isEmpty());
+        assertThrows(AddDeniedException.class,
+                () -> model.add(model.createResource("http://example.org/db"), RDFS.label, "db"));
+    }
+
+    @Test
+    void testIndexesLoadedOnce() {
+        assertSame(ReferenceModelRegistry.getVocabularyIndex("in/testDiseases.rdf", UP_TYPE_DISEASE),
+                ReferenceModelRegistry.getVocabularyIndex("in/testDiseases.rdf", UP_TYPE_DISEASE));
+        assertSame(ReferenceModelRegistry.getGoHierarchyIndex("in/testGo.owl"),
+                ReferenceModelRegistry.getGoHierarchyIndex("in/testGo.owl"));
+        assertSame(ReferenceModelRegistry.getEnzymeIndex("in/testEnzyme.rdf"),
+                ReferenceModelRegistry.getEnzymeIndex("in/testEnzyme.rdf"));
+        assertSame(ReferenceModelRegistry.getRheaIndex("in/testRhea.rdf"),
+                ReferenceModelRegistry.getRheaIndex("in/testRhea.rdf"));
+    }
+
+    @Test
+    void testConcurrentCallersShareOneModel() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Model>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> ReferenceModelRegistry.getModel("in/testTissues.rdf")));
+            }
+            Model model = futures.get(0).get();
+            for (Future<Model> future : futures) {
+                assertSame(model, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testAsyncLoadSharedAndAwaited() {
+        CompletableFuture<VocabularyIndex> future =
+                ReferenceModelRegistry.getVocabularyIndexAsync("in/testKeywords.rdf", UP_TYPE_CONCEPT);
+        assertSame(future, ReferenceModelRegistry.getVocabularyIndexAsync("in/testKeywords.rdf", UP_TYPE_CONCEPT));
+        assertSame(ReferenceModelRegistry.await(future),
+                ReferenceModelRegistry.getVocabularyIndex("in/testKeywords.rdf", UP_TYPE_CONCEPT));
+    }
+
+    @Test
+    void testRequireExists() {
+        ReferenceModelRegistry.requireExists("in/testKeywords.rdf");
+        assertThrows(GlyGenException.class, () -> ReferenceModelRegistry.requireExists("in/testMissing.rdf"));
+        assertThrows(GlyGenException.class, () -> ReferenceModelRegistry.requireExists(null));
+    }
+
+    @Test
+    void testFailedLoadNotKept() {
+        assertThrows(RuntimeException.class, () -> ReferenceModelRegistry.getModel("in/testMissing.rdf"));
+        assertThrows(RuntimeException.class, () -> ReferenceModelRegistry.getModel("in/testMissing.rdf"));
+    }
+}
@@ -0,0 +1,91 @@
+package uk.ac.ebi.uniprot.glygen.core;
+
+import org.junit.jupiter.api.Test;
+import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpeciesSchedulerTest {
+
+    @Test
+    void testEstimateHeapMb() throws IOException {
+        SpeciesScheduler scheduler = new SpeciesScheduler(2, 100, 1.0, 1000);
+        GlygenConfig config = createConfig("species", 2 * 1024 * 1024);
+        assertEquals(102, scheduler.estimateHeapMb(config));
+        assertEquals(100, scheduler.estimateHeapMb(new GlygenConfig()));
+    }
+
+    @Test
+    void testRunStartsLargestFirst() throws IOException {
+        SpeciesScheduler scheduler = new SpeciesScheduler(1, 0, 1.0, 1000);
+        List<GlygenConfig> configList = asList(createConfig("small", 1024 * 1024),
+                createConfig("large", 3 * 1024 * 1024), createConfig("medium", 2 * 1024 * 1024));
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        assertTrue(scheduler.run(configList, config -> order.add(config.getName())));
+        assertEquals(asList("large", "medium", "small"), order);
+    }
+
+    @Test
+    void testRunLimitsConcurrencyByHeapBudget() throws IOException {
+        SpeciesScheduler scheduler = new SpeciesScheduler(4, 60, 0, 100);
+        List<GlygenConfig> configList = asList(createConfig("one", 1), createConfig("two", 1),
+                createConfig("three", 1));
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+
+        assertTrue(scheduler.run(configList, config -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            sleep();
+            active.decrementAndGet();
+        }));
+        assertEquals(1, maxActive.get());
+    }
+
+    @Test
+    void testRunReportsFailure() throws IOException {
+        SpeciesScheduler scheduler = new SpeciesScheduler(2, 10, 0, 100);
+        List<GlygenConfig> configList = asList(createConfig("good", 1), createConfig("bad", 1));
+        List<String> done = Collections.synchronizedList(new ArrayList<>());
+
+        assertFalse(scheduler.run(configList, config -> {
+            if (config.getName().equals("bad")) {
+                throw new GlyGenException("failed");
+            }
+            done.add(config.getName());
+        }));
+        assertEquals(Collections.singletonList("good"), done);
+    }
+
+    @Test
+    void testInvalidThreads() {
+        assertThrows(GlyGenException.class, () -> new SpeciesScheduler(0, 10, 0, 100));
+    }
+
+    private GlygenConfig createConfig(String name, int canonicalSize) throws IOException {
+        Path canonical = Files.createTempFile(name, ".fasta");
+        Files.write(canonical, new byte[canonicalSize]);
+        canonical.toFile().deleteOnExit();
+        GlygenConfig config = new GlygenConfig();
+        config.setName(name);
+        config.setCanonical(canonical.toString());
+        return config;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
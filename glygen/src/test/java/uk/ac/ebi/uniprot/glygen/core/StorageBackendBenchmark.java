@@ -0,0 +1,83 @@
+package uk.ac.ebi.uniprot.glygen.core;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import static uk.ac.ebi.uniprot.glygen.core.StorageBackendTest.QUERIES;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestResourcePath;
+
+/**
+ * Load, query, export and size of each storage backend; run with -Pbenchmark, -DstorageBenchmarkRdf=<uniprot human
+ * proteome rdf> to benchmark on a full proteome
+ */
+class StorageBackendBenchmark {
+    private static final String RDF = System.getProperty("storageBenchmarkRdf",
+            getTestResourcePath("in/testRdf.rdf"));
+
+    @TempDir
+    File dir;
+
+    @Test
+    void benchmarkStorage() throws IOException {
+        for (StorageBackend backend : StorageBackend.values()) {
+            File location = new File(dir, backend.name());
+            Dataset dataset = backend.connect(location.getPath());
+
+            long start = System.nanoTime();
+            dataset.begin(ReadWrite.WRITE);
+            RDFDataMgr.read(dataset, RDF);
+            dataset.commit();
+            dataset.end();
+            long loadTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int rows = 0;
+            dataset.begin(ReadWrite.READ);
+            try {
+                for (Function<Model, ResultSet> query : QUERIES) {
+                    ResultSet resultSet = query.apply(dataset.getDefaultModel());
+                    while (resultSet.hasNext()) {
+                        resultSet.next();
+                        rows++;
+                    }
+                }
+            } finally {
+                dataset.end();
+            }
+            long queryTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long triples;
+            dataset.begin(ReadWrite.READ);
+            try (OutputStream out = new GZIPOutputStream(new FileOutputStream(new File(dir,
+                    backend.name() + ".nt.gz")))) {
+                RDFDataMgr.write(out, dataset.getDefaultModel(), Lang.NTRIPLES);
+                triples = dataset.getDefaultModel().size();
+            } finally {
+                dataset.end();
+            }
+            long exportTime = System.nanoTime() - start;
+
+            long size = FileUtils.sizeOfDirectory(location);
+            backend.compact(dataset);
+            System.out.printf("%s, %d triples: load %d ms, %d query rows %d ms, export %d ms, " +
+                            "%d MB (%d MB compacted)%n", backend, triples, loadTime / 1_000_000, rows,
+                    queryTime / 1_000_000, exportTime / 1_000_000, size >> 20,
+                    FileUtils.sizeOfDirectory(location) >> 20);
+        }
+    }
+}
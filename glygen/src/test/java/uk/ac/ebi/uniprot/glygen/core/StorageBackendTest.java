@@ -0,0 +1,129 @@
+package uk.ac.ebi.uniprot.glygen.core;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getAllProteinAccessionsFromRdf;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getEnzymeFromRdf;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getInteractionFromRdf;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getStructureResourceFromRdf;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestResourcePath;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestRdfModel;
+
+class StorageBackendTest {
+    static final List<Function<Model, ResultSet>> QUERIES = Arrays.asList(
+            model -> getAllProteinAccessionsFromRdf(model), model -> getEnzymeFromRdf(model),
+            model -> getInteractionFromRdf(model), model -> getStructureResourceFromRdf(model));
+
+    @TempDir
+    File dir;
+
+    @Test
+    void testConnectAndDetect() {
+        for (StorageBackend backend : StorageBackend.values()) {
+            String location = new File(dir, backend.name()).getPath();
+            load(backend.connect(location), getTestRdfModel());
+            assertEquals(backend, StorageBackend.of(location));
+
+            Dataset dataset = backend.connect(location);
+            dataset.begin(ReadWrite.READ);
+            try {
+                assertEquals(getTestRdfModel().size(), dataset.getDefaultModel().size());
+            } finally {
+                dataset.end();
+            }
+        }
+    }
+
+    @Test
+    void testCompactKeepsDataInOneGeneration() {
+        String location = new File(dir, "tdb2").getPath();
+        Dataset dataset = StorageBackend.TDB2.connect(location);
+        Model model = getTestRdfModel();
+        load(dataset, model);
+        // deletes leave space behind, as the appenders' long write transaction does
+        dataset.begin(ReadWrite.WRITE);
+        dataset.getDefaultModel().removeAll();
+        dataset.getDefaultModel().add(model);
+        dataset.commit();
+        dataset.end();
+
+        StorageBackend.TDB2.compact(dataset);
+
+        assertEquals(1, new File(location).listFiles((d, name) -> name.startsWith("Data-")).length);
+        dataset.begin(ReadWrite.READ);
+        try {
+            assertTrue(dataset.getDefaultModel().isIsomorphicWith(model));
+        } finally {
+            dataset.end();
+        }
+    }
+
+    @Test
+    void testSameQueryRowsAndExport() throws IOException {
+        List<Integer> expectedRows = null;
+        Model expected = null;
+        for (StorageBackend backend : StorageBackend.values()) {
+            Dataset dataset = backend.connect(new File(dir, backend.name()).getPath());
+            dataset.begin(ReadWrite.WRITE);
+            RDFDataMgr.read(dataset, getTestResourcePath("in/testRdf.rdf"));
+            dataset.commit();
+            dataset.end();
+
+            List<Integer> rows = new ArrayList<>();
+            File export = new File(dir, backend.name() + ".nt.gz");
+            dataset.begin(ReadWrite.READ);
+            try (OutputStream out = new GZIPOutputStream(new FileOutputStream(export))) {
+                for (Function<Model, ResultSet> query : QUERIES) {
+                    ResultSet resultSet = query.apply(dataset.getDefaultModel());
+                    int count = 0;
+                    while (resultSet.hasNext()) {
+                        resultSet.next();
+                        count++;
+                    }
+                    rows.add(count);
+                }
+                RDFDataMgr.write(out, dataset.getDefaultModel(), Lang.NTRIPLES);
+            } finally {
+                dataset.end();
+            }
+            Model exported = RDFDataMgr.loadModel(export.getPath(), Lang.NTRIPLES);
+
+            if (expected == null) {
+                assertTrue(rows.stream().allMatch(count -> count > 0));
+                expectedRows = rows;
+                expected = exported;
+            } else {
+                assertEquals(expectedRows, rows);
+                // same values, as the backends store some literals in canonical form
+                assertEquals(expected.size(), exported.size());
+                assertTrue(expected.difference(exported).isEmpty());
+            }
+        }
+    }
+
+    private void load(Dataset dataset, Model model) {
+        dataset.begin(ReadWrite.WRITE);
+        dataset.getDefaultModel().add(model);
+        dataset.commit();
+        dataset.end();
+    }
+}
@@ -0,0 +1,70 @@
+package uk.ac.ebi.uniprot.glygen.index;
+
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.apache.jena.vocabulary.SKOS;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.createModelFromRdfFile;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getCatalyticActivityFromEnzymeRdf;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getPropertyListFromEnzymeRdf;
+
+class EnzymeIndexTest {
+    private static final String ENZYME_FILE = "in/testEnzyme.rdf";
+
+    @Test
+    void testIndexMatchesQueries() {
+        Model enzModel = createModelFromRdfFile(ENZYME_FILE);
+        EnzymeIndex index = new EnzymeIndex(enzModel);
+
+        List<Resource> enzymes = enzModel.listResourcesWithProperty(RDF.type,
+                enzModel.createResource(UP_TYPE_ENZYME)).toList();
+        assertEquals(enzymes.size(), index.size());
+        assertTrue(index.size() > 0);
+
+        List<Property> properties = Arrays.asList(enzModel.createProperty(UP_ACTIVITY),
+                enzModel.createProperty(UP_CO_FACTOR_LABEL), enzModel.createProperty(UP_OBSOLETE),
+                enzModel.createProperty(UP_REPLACED_BY), enzModel.createProperty(UP_REPLACES), RDFS.subClassOf,
+                SKOS.prefLabel, SKOS.altLabel);
+        for (Resource enzyme : enzymes) {
+            EnzymeIndex.Enzyme enzymeInfo = index.getEnzyme(enzyme.getURI());
+            for (Property property : properties) {
+                Set<RDFNode> expected = new HashSet<>();
+                ResultSet resultSet = getPropertyListFromEnzymeRdf(enzModel, enzyme.getURI(), property.getURI(),
+                        VALUE);
+                while (resultSet.hasNext()) {
+                    expected.add(resultSet.nextSolution().get(VALUE));
+                }
+                assertEquals(expected, new HashSet<>(enzymeInfo.getValues(property)), property.getURI());
+            }
+
+            Set<String> expected = new HashSet<>();
+            ResultSet resultSet = getCatalyticActivityFromEnzymeRdf(enzModel, enzyme.getURI());
+            while (resultSet.hasNext()) {
+                QuerySolution solution = resultSet.nextSolution();
+                expected.add(solution.getResource(ACTIVITY).getURI() + " " + solution.getLiteral(LABEL));
+            }
+            Set<String> actual = new HashSet<>();
+            for (EnzymeIndex.CatalyticActivity activity : enzymeInfo.getCatalyticActivities()) {
+                actual.add(activity.getActivity().getURI() + " " + activity.getLabel());
+            }
+            assertEquals(expected, actual, enzyme.getURI());
+        }
+        assertNull(index.getEnzyme("http://purl.uniprot.org/enzyme/0.0.0.0"));
+    }
+}
@@ -0,0 +1,90 @@
+package uk.ac.ebi.uniprot.glygen.index;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
+import uk.ac.ebi.uniprot.glygen.util.RdfUtility;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestResourcePath;
+
+class GoHierarchyIndexTest {
+    private static final String GO_FILE = "in/testGo.owl";
+
+    @Test
+    void testIndexMatchesQueries() {
+        Model goModel = RdfUtility.createModelFromRdfFile(GO_FILE);
+        GoHierarchyIndex index = new GoHierarchyIndex(goModel);
+
+        assertTrue(index.size() > 0);
+        for (Resource goClass : goModel.listResourcesWithProperty(RDF.type, OWL.Class).toList()) {
+            String goId = goClass.getURI();
+            assertEquals(RdfUtility.getTermLabelFromGeneOntologiesRdf(goModel, goId), index.getLabel(goId));
+            assertEquals(RdfUtility.getClassificationLabelFromGeneOntologiesRdf(goModel, goId),
+                    index.getNamespace(goId));
+        }
+        assertEquals("cellular_component", index.getNamespace("http://purl.obolibrary.org/obo/GO_0030424"));
+        assertNull(index.getLabel("http://purl.obolibrary.org/obo/GO_0000000"));
+    }
+
+    @Test
+    void testSerializedNextToGoFile(@TempDir Path tempDir) throws Exception {
+        Path goFile = tempDir.resolve("go.owl");
+        Files.copy(new File(getTestResourcePath(GO_FILE)).toPath(), goFile);
+
+        GoHierarchyIndex index = GoHierarchyIndex.fromRdfFile(goFile.toString());
+        File indexFile = new File(goFile + GoHierarchyIndex.INDEX_SUFFIX);
+        assertTrue(indexFile.isFile());
+
+        GoHierarchyIndex read = GoHierarchyIndex.read(indexFile);
+        assertEquals(index.size(), read.size());
+        assertEquals(index.getNamespace("http://purl.obolibrary.org/obo/GO_0005737"),
+                read.getNamespace("http://purl.obolibrary.org/obo/GO_0005737"));
+    }
+
+    @Test
+    void testRebuiltWhenGoFileChangesWithSameTime(@TempDir Path tempDir) throws Exception {
+        Path goFile = tempDir.resolve("go.owl");
+        Files.copy(new File(getTestResourcePath(GO_FILE)).toPath(), goFile);
+        GoHierarchyIndex.fromRdfFile(goFile.toString());
+
+        // same size and modification time, as after cp -p or wget -N of a new release
+        FileTime time = Files.getLastModifiedTime(goFile);
+        String content = new String(Files.readAllBytes(goFile), StandardCharsets.UTF_8);
+        Files.write(goFile, content.replace(">cytoplasm<", ">cytoplasx<").getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(goFile, time);
+
+        assertEquals("cytoplasx", GoHierarchyIndex.fromRdfFile(goFile.toString())
+                .getLabel("http://purl.obolibrary.org/obo/GO_0005737"));
+    }
+
+    @Test
+    void testSerializedToCacheDir(@TempDir Path tempDir) throws Exception {
+        Path goFile = tempDir.resolve("go.owl");
+        Files.copy(new File(getTestResourcePath(GO_FILE)).toPath(), goFile);
+        Path cacheDir = tempDir.resolve("cache");
+
+        GlygenConfig.setCacheDir(cacheDir.toString());
+        try {
+            GoHierarchyIndex index = GoHierarchyIndex.fromRdfFile(goFile.toString());
+            assertTrue(new File(cacheDir.toFile(), "go.owl" + GoHierarchyIndex.INDEX_SUFFIX).isFile());
+            assertFalse(new File(goFile + GoHierarchyIndex.INDEX_SUFFIX).exists());
+            assertEquals(index.size(), GoHierarchyIndex.fromRdfFile(goFile.toString()).size());
+        } finally {
+            GlygenConfig.setCacheDir(null);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package uk.ac.ebi.uniprot.glygen.index;
+
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getInfoOfParticipantFromRdf;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getMnemonicAndTaxonFromRdf;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestRdfModel;
+
+class ParticipantIndexTest {
+    private final Model rdfModel = getTestRdfModel();
+
+    @Test
+    void testMnemonicAndOrganismMatchQueries() {
+        ParticipantIndex index = new ParticipantIndex(rdfModel);
+
+        List<Resource> proteins = rdfModel.listResourcesWithProperty(RDF.type,
+                rdfModel.createResource(UP_TYPE_PROTEIN)).toList();
+        assertEquals(5, proteins.size());
+        for (Resource protein : proteins) {
+            ResultSet resultSet = getMnemonicAndTaxonFromRdf(rdfModel, protein.getURI());
+            assertTrue(resultSet.hasNext());
+            QuerySolution solution = resultSet.nextSolution();
+            assertEquals(solution.getLiteral(MNEMONIC), index.getMnemonic(protein.getURI()));
+            assertEquals(solution.getResource(ORGANISM), index.getOrganism(protein.getURI()));
+        }
+        assertNull(index.getMnemonic(PROTEIN_PREFIX + "Q00000"));
+        assertNull(index.getOrganism(PROTEIN_PREFIX + "Q00000"));
+    }
+
+    @Test
+    void testLinksMatchQueries() {
+        ParticipantIndex index = new ParticipantIndex(rdfModel);
+
+        List<Resource> participants = rdfModel.listResourcesWithProperty(RDF.type,
+                rdfModel.createResource(UP_TYPE_PARTICIPANT)).toList();
+        assertTrue(participants.size() > 0);
+        for (Resource participant : participants) {
+            Set<String> expected = new HashSet<>();
+            ResultSet resultSet = getInfoOfParticipantFromRdf(rdfModel, participant.getURI());
+            while (resultSet.hasNext()) {
+                QuerySolution solution = resultSet.nextSolution();
+                expected.add(solution.getResource(PROTEIN).getURI() + " " +
+                        solution.getResource(INTERACTION).getURI());
+            }
+            Set<String> actual = new HashSet<>();
+            for (ParticipantIndex.Link link : index.getLinks(participant.getURI())) {
+                actual.add(link.getProtein().getURI() + " " + link.getInteraction().getURI());
+            }
+            assertEquals(expected, actual, participant.getURI());
+        }
+        assertTrue(index.getLinks(PARTICIPANT_PREFIX + "0").isEmpty());
+    }
+}
@@ -0,0 +1,110 @@
+package uk.ac.ebi.uniprot.glygen.index;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Resource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.createModelFromRdfFile;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getEnzymeClassificationFromRheaRdf;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getReactionLabelFromRheaRdf;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestResourcePath;
+
+class RheaIndexTest {
+    private static final String RHEA_FILE = "in/testRhea.rdf";
+
+    @Test
+    void testIndexMatchesQueries() {
+        Model rheaModel = createModelFromRdfFile(RHEA_FILE);
+        RheaIndex index = RheaIndex.fromRdfFile(RHEA_FILE);
+
+        Set<Resource> reactions = rheaModel.listSubjects().toSet();
+        assertTrue(index.size() > 0);
+        for (Resource reaction : reactions) {
+            if (!reaction.isURIResource()) {
+                continue;
+            }
+            assertEquals(getReactionLabelFromRheaRdf(rheaModel, reaction.getURI()),
+                    index.getEquation(reaction.getURI()));
+            Resource ec = getEnzymeClassificationFromRheaRdf(rheaModel, reaction.getURI());
+            assertEquals(ec == null ? null : ec.getURI(), index.getEnzymeClassification(reaction.getURI()));
+        }
+        assertNull(index.getEquation("http://rdf.rhea-db.org/0"));
+        assertNull(index.getEnzymeClassification("http://rdf.rhea-db.org/0"));
+    }
+
+    @Test
+    void testIndexFileNextToRheaFile(@TempDir Path tempDir) throws Exception {
+        Path rheaFile = tempDir.resolve("rhea.rdf");
+        Files.copy(new File(getTestResourcePath(RHEA_FILE)).toPath(), rheaFile);
+
+        RheaIndex index = RheaIndex.fromRdfFile(rheaFile.toString());
+        File indexFile = new File(rheaFile + RheaIndex.INDEX_SUFFIX);
+        assertTrue(indexFile.isFile());
+
+        RheaIndex read = new RheaIndex(indexFile);
+        assertEquals(index.size(), read.size());
+        assertEquals(index.getEquation("http://rdf.rhea-db.org/17149"),
+                read.getEquation("http://rdf.rhea-db.org/17149"));
+    }
+
+    @Test
+    void testRebuiltWhenRheaFileChangesWithSameTime(@TempDir Path tempDir) throws Exception {
+        Path rheaFile = tempDir.resolve("rhea.rdf");
+        Files.copy(new File(getTestResourcePath(RHEA_FILE)).toPath(), rheaFile);
+        String equation = RheaIndex.fromRdfFile(rheaFile.toString()).getEquation("http://rdf.rhea-db.org/17149");
+
+        // same size and modification time, as after cp -p or wget -N of a new release
+        FileTime time = Files.getLastModifiedTime(rheaFile);
+        String content = new String(Files.readAllBytes(rheaFile), StandardCharsets.UTF_8);
+        Files.write(rheaFile, content.replace("<rh:equation>an organic", "<rh:equation>an Organic")
+                .getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(rheaFile, time);
+
+        assertEquals(equation.replace("an organic", "an Organic"),
+                RheaIndex.fromRdfFile(rheaFile.toString()).getEquation("http://rdf.rhea-db.org/17149"));
+    }
+
+    @Test
+    void testIndexFileInCacheDir(@TempDir Path tempDir) throws Exception {
+        Path rheaFile = tempDir.resolve("rhea.rdf");
+        Files.copy(new File(getTestResourcePath(RHEA_FILE)).toPath(), rheaFile);
+        Path cacheDir = tempDir.resolve("cache");
+
+        GlygenConfig.setCacheDir(cacheDir.toString());
+        try {
+            RheaIndex index = RheaIndex.fromRdfFile(rheaFile.toString());
+            assertTrue(new File(cacheDir.toFile(), "rhea.rdf" + RheaIndex.INDEX_SUFFIX).isFile());
+            assertFalse(new File(rheaFile + RheaIndex.INDEX_SUFFIX).exists());
+            assertEquals(index.size(), RheaIndex.fromRdfFile(rheaFile.toString()).size());
+        } finally {
+            GlygenConfig.setCacheDir(null);
+        }
+    }
+
+    @Test
+    void testExceptionOnInvalidIndexFile(@TempDir Path tempDir) throws Exception {
+        Path indexFile = tempDir.resolve("rhea.rdf" + RheaIndex.INDEX_SUFFIX);
+        Files.write(indexFile, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> new RheaIndex(indexFile.toFile()));
+    }
+
+    @Test
+    void testExceptionOnMissingRheaFile() {
+        assertThrows(RuntimeException.class, () -> RheaIndex.fromRdfFile("in/testRhea1.rdf"));
+    }
+}
@@ -0,0 +1,44 @@
+package uk.ac.ebi.uniprot.glygen.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestResourcePath;
+
+class VocabularyIndexTest {
+
+    @Test
+    void testDiseaseIndex() {
+        VocabularyIndex index = VocabularyIndex.fromRdfFile(getTestResourcePath("in/testDiseases.rdf"),
+                UP_TYPE_DISEASE);
+        assertEquals(2, index.size());
+
+        VocabularyIndex.Term term = index.getTerm("http://purl.uniprot.org/diseases/85");
+        assertEquals("Alzheimer disease 1", term.getPrefLabel().getLiteralLexicalForm());
+        assertEquals("AD1", term.getMnemonic().getLiteralLexicalForm());
+        assertNotNull(term.getComment());
+        assertEquals(2, term.getAltLabels().size());
+        assertEquals(6, term.getSeeAlso().size());
+    }
+
+    @Test
+    void testKeywordIndex() {
+        VocabularyIndex index = VocabularyIndex.fromRdfFile(getTestResourcePath("in/testKeywords.rdf"),
+                UP_TYPE_CONCEPT);
+        assertEquals(5, index.size());
+        assertNotNull(index.getPrefLabel("http://purl.uniprot.org/keywords/25"));
+        assertNull(index.getTerm("http://purl.uniprot.org/keywords/0"));
+        assertNull(index.getPrefLabel("http://purl.uniprot.org/keywords/0"));
+        assertNull(index.getTerm("http://purl.uniprot.org/keywords/25").getMnemonic());
+    }
+
+    @Test
+    void testOnlyTermsOfTypeIndexed() {
+        VocabularyIndex index = VocabularyIndex.fromRdfFile(getTestResourcePath("in/testDiseases.rdf"),
+                UP_TYPE_CONCEPT);
+        assertEquals(0, index.size());
+    }
+}
@@ -2,14 +2,23 @@ package uk.ac.ebi.uniprot.glygen.model;
 
 import uk.ac.ebi.uniprot.glygen.core.GlyGenException;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -95,4 +104,106 @@ class GlygenDatasetTest {
         dataset.addIsoformIdToCanonicalSet(isoId);
         assertThrows(GlyGenException.class, () -> dataset.addIsoformIdToCanonicalSet(isoId));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testIsoformsMappedToAccession() {
+        String acc1 = "http://purl.uniprot.org/uniprot/P05067";
+        String acc2 = "http://purl.uniprot.org/uniprot/P04843";
+        GlygenDataset dataset = createNewDataset();
+        dataset.createAccessionMap(new HashSet<>(Arrays.asList(acc1, acc2)));
+
+        dataset.addIsoformIdToCanonicalSet("P05067-1");
+        dataset.mapIsoformIdToAccession("P05067-2", acc1);
+        dataset.mapIsoformIdToAccession("P05067-2", acc1);
+        // read-through isoforms are mapped to two accessions
+        dataset.mapIsoformIdToAccession("P05067-2", acc2);
+
+        assertEquals(new LinkedHashSet<>(Arrays.asList("P05067-1", "P05067-2")),
+                dataset.getIsoformsForAccession(acc1));
+        assertEquals(new HashSet<>(Arrays.asList("P05067-2")), dataset.getIsoformsForAccession(acc2));
+        assertNull(dataset.getIsoformsForAccession("http://purl.uniprot.org/uniprot/A0A0C4DGS1"));
+        assertTrue(dataset.isCanonical("P05067-1"));
+        assertFalse(dataset.isCanonical("P05067-2"));
+        assertEquals(1, dataset.getCanonicalCount());
+
+        assertTrue(dataset.isValidAccession(acc2));
+        assertTrue(dataset.isValidAccession("P05067-2"));
+        assertFalse(dataset.isValidAccession("P05067-3"));
+        assertThrows(GlyGenException.class, () -> dataset.mapIsoformIdToAccession("A0A0C4DGS1-1",
+                "http://purl.uniprot.org/uniprot/A0A0C4DGS1"));
+    }
+
+    @Test
+    void testConcurrentReadersAndWriter() throws Exception {
+        GlygenDataset dataset = createNewDataset();
+        Set<String> accessions = new HashSet<>();
+        for (int i = 0; i < 2_000; i++) {
+            accessions.add("http://purl.uniprot.org/uniprot/A" + i);
+        }
+        dataset.createAccessionMap(accessions);
+
+        // a writer mapping isoforms, as SequenceAppender does, while views of other appenders read them
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 2_000; i++) {
+                for (int iso = 1; iso <= 5; iso++) {
+                    dataset.mapIsoformIdToAccession("A" + i + "-" + iso, "http://purl.uniprot.org/uniprot/A" + i);
+                }
+            }
+        });
+        GlygenDataset view = dataset.withModels(rdfModel, outModel);
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 2; r++) {
+            readers.add(new Thread(() -> {
+                try {
+                    while (writer.isAlive()) {
+                        for (int i = 0; i < 2_000; i += 97) {
+                            Set<String> isoforms = view.getIsoformsForAccession("http://purl.uniprot.org/uniprot/A" + i);
+                            for (String isoId : isoforms) {
+                                assertTrue(view.isValidAccession(isoId));
+                            }
+                            assertEquals(2_000, view.getAccessionSet().size());
+                        }
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            }));
+        }
+        writer.start();
+        readers.forEach(Thread::start);
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertTrue(errors.isEmpty(), errors.toString());
+        for (int i = 0; i < 2_000; i++) {
+            assertEquals(5, view.getIsoformsForAccession("http://purl.uniprot.org/uniprot/A" + i).size());
+        }
+    }
+
+    @Test
+    void testCacheHitsDoNotAllocate() {
+        String acc = "http://purl.uniprot.org/uniprot/P05067";
+        GlygenDataset dataset = createNewDataset();
+        dataset.createAccessionMap(new HashSet<>(Arrays.asList(acc)));
+        dataset.mapIsoformIdToAccession("P05067-2", acc);
+        Resource position = dataset.createPosition(1_000_000L);
+        dataset.createPosition(2_000_000L);
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 100_000; i++) {
+            dataset.createPosition(1_000_000L);
+            dataset.mapIsoformIdToAccession("P05067-2", acc);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        // a boxed Long key per lookup alone would be 1.6 MB
+        assertTrue(allocated < 16_384, allocated + " bytes allocated");
+        assertSame(position, dataset.createPosition(1_000_000L));
+    }
+}
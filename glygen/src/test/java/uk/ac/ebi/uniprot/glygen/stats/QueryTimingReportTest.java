@@ -0,0 +1,48 @@
+package uk.ac.ebi.uniprot.glygen.stats;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.ReadWrite;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.ac.ebi.uniprot.glygen.core.StorageBackend;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestRdfModel;
+
+class QueryTimingReportTest {
+    @TempDir
+    File dir;
+
+    @Test
+    void testReportWithAndWithoutStatistics() throws IOException {
+        for (StorageBackend backend : StorageBackend.values()) {
+            String location = new File(dir, backend.name()).getPath();
+            Dataset dataset = backend.connect(location);
+            dataset.begin(ReadWrite.WRITE);
+            dataset.getDefaultModel().add(getTestRdfModel());
+            dataset.commit();
+            dataset.end();
+            assertFalse(backend.hasStatistics(location));
+
+            QueryTimingReport report = new QueryTimingReport(location, "Ensembl");
+            List<QueryTimingReport.QueryTiming> timings = report.run();
+
+            assertTrue(backend.hasStatistics(location));
+            assertFalse(new File(backend.getStatisticsFile(location).getPath() + ".off").exists());
+            assertEquals(report.getQueries().size(), timings.size());
+            assertTrue(timings.stream().anyMatch(t -> t.getQuery().equals("getAllProteinAccessionsFromRdf") &&
+                    t.getRows() > 0));
+
+            StringWriter writer = new StringWriter();
+            QueryTimingReport.write(timings, writer);
+            assertEquals(timings.size() + 2, writer.toString().split("\n").length);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.tdb.TDBFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static uk.ac.ebi.uniprot.glygen.util.BufferedGraphTest.createTriples;
+
+/**
+ * TDB write throughput, triple by triple and in sorted batches; run with -Pbenchmark, -DbufferBenchmarkProteins
+ * for the number of proteins
+ */
+class BufferedGraphBenchmark {
+    private static final int PROTEINS = Integer.getInteger("bufferBenchmarkProteins", 20000);
+
+    @Test
+    void benchmarkWriteThroughput(@TempDir Path tempDir) {
+        List<Triple> triples = createTriples(PROTEINS);
+        // warm up the TDB code paths before timing
+        write(tempDir.resolve("warmup"), createTriples(PROTEINS / 10), 1000);
+
+        long directTime = write(tempDir.resolve("direct"), triples, 1);
+        long bufferedTime = write(tempDir.resolve("buffered"), triples, 100000);
+
+        System.out.printf("TDB write of %d triples: direct %d ms (%.0f triples/s), buffered %d ms (%.0f triples/s)%n",
+                triples.size(), directTime / 1_000_000, triples.size() * 1e9 / directTime,
+                bufferedTime / 1_000_000, triples.size() * 1e9 / bufferedTime);
+    }
+
+    private long write(Path location, List<Triple> triples, int batchSize) {
+        Dataset dataset = TDBFactory.createDataset(location.toString());
+        long start = System.nanoTime();
+        dataset.begin(ReadWrite.WRITE);
+        try {
+            BufferedGraph buffered = new BufferedGraph(dataset.getDefaultModel().getGraph(), batchSize);
+            for (Triple triple : triples) {
+                buffered.add(triple);
+            }
+            buffered.flush();
+            dataset.commit();
+        } finally {
+            dataset.end();
+            dataset.close();
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,137 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.sparql.graph.GraphFactory;
+import org.apache.jena.tdb.TDBFactory;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.PROTEIN_PREFIX;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_TYPE_PROTEIN;
+
+class BufferedGraphTest {
+    @Test
+    void testReadsSeeBufferedTriples() {
+        Graph target = GraphFactory.createGraphMem();
+        BufferedGraph buffered = new BufferedGraph(target, 10);
+        Model model = ModelFactory.createModelForGraph(buffered);
+
+        Resource protein = model.createResource(PROTEIN_PREFIX + "P05067");
+        protein.addProperty(RDF.type, model.createResource(UP_TYPE_PROTEIN));
+        protein.addProperty(RDFS.label, "A4_HUMAN");
+        assertTrue(target.isEmpty());
+        assertEquals(2, buffered.getBufferedCount());
+
+        assertTrue(model.contains(protein, RDFS.label, "A4_HUMAN"));
+        assertEquals(2, model.listStatements(protein, null, (Resource) null).toList().size());
+        assertFalse(model.isEmpty());
+
+        protein.removeAll(RDFS.label);
+        assertFalse(model.contains(protein, RDFS.label));
+        assertEquals(1, buffered.getBufferedCount());
+
+        // a triple both buffered and in the target is found once
+        target.add(Triple.create(protein.asNode(), RDF.type.asNode(),
+                NodeFactory.createURI(UP_TYPE_PROTEIN)));
+        assertEquals(1, model.listStatements(protein, RDF.type, (Resource) null).toList().size());
+
+        buffered.flush();
+        assertEquals(0, buffered.getBufferedCount());
+        assertEquals(1, target.size());
+    }
+
+    @Test
+    void testFlushedAtBatchSize() {
+        Graph target = GraphFactory.createGraphMem();
+        BufferedGraph buffered = new BufferedGraph(target, 3);
+        List<Triple> triples = createTriples(2);
+
+        for (int i = 0; i < 3; i++) {
+            buffered.add(triples.get(i));
+        }
+        assertEquals(3, target.size());
+        assertEquals(0, buffered.getBufferedCount());
+
+        buffered.add(triples.get(3));
+        assertEquals(3, target.size());
+        assertEquals(4, buffered.size());
+        assertEquals(4, target.size());
+    }
+
+    @Test
+    void testUnbufferedWritesDirectly() {
+        Graph target = GraphFactory.createGraphMem();
+        BufferedGraph buffered = new BufferedGraph(target, 1);
+        buffered.add(createTriples(1).get(0));
+        assertEquals(1, target.size());
+        assertEquals(0, buffered.getBufferedCount());
+    }
+
+    @Test
+    void testPrefixesWrittenToTarget() {
+        Graph target = GraphFactory.createGraphMem();
+        Model model = ModelFactory.createModelForGraph(new BufferedGraph(target, 10));
+        model.setNsPrefix("up", "http://purl.uniprot.org/core/");
+        assertEquals("http://purl.uniprot.org/core/", target.getPrefixMapping().getNsPrefixURI("up"));
+    }
+
+    @Test
+    void testBufferedWritesToTdb(@TempDir Path tempDir) {
+        List<Triple> triples = createTriples(500);
+        Dataset dataset = TDBFactory.createDataset(tempDir.toString());
+        dataset.begin(ReadWrite.WRITE);
+        try {
+            BufferedGraph buffered = new BufferedGraph(dataset.getDefaultModel().getGraph(), 100);
+            for (Triple triple : triples) {
+                buffered.add(triple);
+            }
+            buffered.flush();
+            dataset.commit();
+        } finally {
+            dataset.end();
+        }
+
+        dataset.begin(ReadWrite.READ);
+        try {
+            Graph graph = dataset.getDefaultModel().getGraph();
+            assertEquals(triples.size(), graph.size());
+            assertTrue(graph.contains(triples.get(triples.size() - 1)));
+        } finally {
+            dataset.end();
+            dataset.close();
+        }
+    }
+
+    /**
+     * Two triples per protein, in random protein order as appenders emit them
+     */
+    static List<Triple> createTriples(int proteins) {
+        List<Triple> triples = new ArrayList<>();
+        Node type = NodeFactory.createURI(UP_TYPE_PROTEIN);
+        Random random = new Random(42);
+        for (int i = 0; i < proteins; i++) {
+            Node protein = NodeFactory.createURI(PROTEIN_PREFIX + "P" + random.nextInt(Integer.MAX_VALUE) + "_" + i);
+            triples.add(Triple.create(protein, RDF.type.asNode(), type));
+            triples.add(Triple.create(protein, RDFS.label.asNode(), NodeFactory.createLiteral("protein " + i)));
+        }
+        return triples;
+    }
+}
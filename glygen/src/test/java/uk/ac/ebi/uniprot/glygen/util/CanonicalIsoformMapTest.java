@@ -0,0 +1,30 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CanonicalIsoformMapTest {
+
+    @Test
+    void testWriteAndRead(@TempDir Path tempDir) throws Exception {
+        Map<String, String> canonicalMap = new HashMap<>();
+        canonicalMap.put("P05067", "P05067-1");
+        canonicalMap.put("A0A0A0MRG2", "A0A0A0MRG2-1");
+        canonicalMap.put("O00533", "O00533-2");
+
+        String fileName = tempDir.resolve("canonical-isoforms-human.tsv").toString();
+        CanonicalIsoformMap.write(canonicalMap, fileName);
+
+        assertEquals(Arrays.asList("A0A0A0MRG2\tA0A0A0MRG2-1", "O00533\tO00533-2", "P05067\tP05067-1"),
+                Files.readAllLines(Path.of(fileName)));
+        assertEquals(canonicalMap, CanonicalIsoformMap.read(fileName));
+    }
+}
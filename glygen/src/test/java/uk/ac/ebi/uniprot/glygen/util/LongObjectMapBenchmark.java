@@ -0,0 +1,48 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static uk.ac.ebi.uniprot.glygen.util.LongObjectMapTest.getGenomicPositions;
+
+/**
+ * Memory of the position map as a HashMap and as a LongObjectMap; run with -Pbenchmark, e.g.
+ * -DpositionBenchmarkSize=20000000 for the genomic coordinates of a human proteome
+ */
+class LongObjectMapBenchmark {
+    private static final int SIZE = Integer.getInteger("positionBenchmarkSize", 200_000);
+
+    @Test
+    void benchmarkPositionMapMemory() {
+        long[] positions = getGenomicPositions(SIZE);
+        Object position = new Object();
+
+        long before = usedMemory();
+        Map<Long, Object> hashMap = new HashMap<>();
+        for (long loc : positions) {
+            hashMap.put(loc, position);
+        }
+        long hashMapBytes = usedMemory() - before;
+
+        // the HashMap stays reachable until printed, so that it is not collected while measuring the other
+        before = usedMemory();
+        LongObjectMap<Object> longMap = new LongObjectMap<>();
+        for (long loc : positions) {
+            longMap.put(loc, position);
+        }
+        long longMapBytes = usedMemory() - before;
+
+        System.out.printf("%d positions: HashMap<Long, Resource> %d KB, LongObjectMap %d KB%n", hashMap.size(),
+                hashMapBytes >> 10, longMapBytes >> 10);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
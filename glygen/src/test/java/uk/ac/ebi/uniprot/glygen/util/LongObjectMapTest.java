@@ -0,0 +1,90 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongObjectMapTest {
+    @Test
+    void testPutAndGet() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        assertTrue(map.isEmpty());
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(-1, "minus one"));
+        assertNull(map.put(Long.MAX_VALUE, "max"));
+        assertEquals("zero", map.put(0, "0"));
+
+        assertEquals(3, map.size());
+        assertEquals("0", map.get(0));
+        assertEquals("minus one", map.get(-1));
+        assertEquals("max", map.get(Long.MAX_VALUE));
+        assertNull(map.get(1));
+        assertFalse(map.containsKey(Long.MIN_VALUE));
+        assertThrows(NullPointerException.class, () -> map.put(2, null));
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(0));
+    }
+
+    @Test
+    void testGrowsWithCollidingKeys() {
+        LongObjectMap<Long> map = new LongObjectMap<>(4);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            // positions clustered as exons are
+            long key = (i % 3 == 0) ? i << 32 : 1_000_000L + random.nextInt(20_000);
+            map.put(key, (long) i);
+            expected.put(key, (long) i);
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    void testGenomicPositions() {
+        long[] positions = getGenomicPositions(20_001);
+        LongObjectMap<Integer> map = new LongObjectMap<>();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < positions.length; i++) {
+            map.put(positions[i], i);
+            expected.put(positions[i], i);
+        }
+        assertEquals(expected.size(), map.size());
+        for (long position : positions) {
+            assertEquals(expected.get(position), map.get(position));
+        }
+    }
+
+    /**
+     * Begin and end positions of the exons of synthetic genes spread over a genome
+     */
+    static long[] getGenomicPositions(int size) {
+        Random random = new Random(42);
+        long[] positions = new long[size];
+        int i = 0;
+        while (i < size) {
+            long exon = 1 + (long) (random.nextDouble() * 3_000_000_000L);
+            for (int e = 0; e < 10 && i < size - 1; e++) {
+                exon += 500 + random.nextInt(20_000);
+                positions[i++] = exon;
+                positions[i++] = exon + 50 + random.nextInt(300);
+            }
+            if (i == size - 1) {
+                positions[i++] = exon;
+            }
+        }
+        return positions;
+    }
+}
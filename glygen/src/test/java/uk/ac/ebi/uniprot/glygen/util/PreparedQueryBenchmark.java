@@ -0,0 +1,88 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.SPARQL_QUERY_BASE_STR;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestRdfModel;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestResourcePath;
+
+/**
+ * Latency of per-id lookups through a filter query and through a prepared query; run with -Pbenchmark
+ */
+class PreparedQueryBenchmark {
+    private static final int ROUNDS = 20;
+
+    private Model rdfModel = getTestRdfModel();
+    private Model keyModel = RdfUtility.createModelFromRdfFile(getTestResourcePath("in/testKeywords.rdf"));
+
+    @Test
+    void benchmarkLookupLatency() {
+        List<String> keyIds = getIds(keyModel, "http://purl.uniprot.org/core/Concept");
+        List<String> protIds = getIds(rdfModel, UP_TYPE_PROTEIN);
+
+        logLatency("keyword prefLabel", keyIds,
+                keyId -> RdfUtility.getResultSet(keyModel, SPARQL_QUERY_BASE_STR +
+                        "       ?concept rdf:type <http://purl.uniprot.org/core/Concept> . " +
+                        "       ?concept skos:prefLabel ?prefLabel . " +
+                        "       filter(?concept = <" + keyId + ">) } "),
+                keyId -> PreparedQuery.prepare(SPARQL_QUERY_BASE_STR +
+                        "       ?concept rdf:type <http://purl.uniprot.org/core/Concept> . " +
+                        "       ?concept skos:prefLabel ?prefLabel . } ").execute(keyModel, CONCEPT, keyId));
+        logLatency("protein mnemonic/taxon", protIds,
+                protId -> RdfUtility.getResultSet(rdfModel, SPARQL_QUERY_BASE_STR +
+                        "       ?protein rdf:type <http://purl.uniprot.org/core/Protein> . " +
+                        "       ?protein up:mnemonic ?mnemonic . " +
+                        "       ?protein up:organism ?organism . " +
+                        "       filter(?protein = <" + protId + ">) } "),
+                protId -> RdfUtility.getMnemonicAndTaxonFromRdf(rdfModel, protId));
+    }
+
+    private void logLatency(String name, List<String> ids, Function<String, ResultSet> filterLookup,
+            Function<String, ResultSet> preparedLookup) {
+        // warm up both before timing
+        drain(ids, filterLookup);
+        drain(ids, preparedLookup);
+
+        long filterStart = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            drain(ids, filterLookup);
+        }
+        long filterTime = System.nanoTime() - filterStart;
+
+        long preparedStart = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            drain(ids, preparedLookup);
+        }
+        long preparedTime = System.nanoTime() - preparedStart;
+
+        int lookups = ROUNDS * ids.size();
+        System.out.printf("%s: %d lookups, filter query %.1f us/lookup, prepared query %.1f us/lookup%n",
+                name, lookups, filterTime / 1000.0 / lookups, preparedTime / 1000.0 / lookups);
+    }
+
+    private void drain(List<String> ids, Function<String, ResultSet> lookup) {
+        for (String id : ids) {
+            ResultSet resultSet = lookup.apply(id);
+            while (resultSet.hasNext()) {
+                resultSet.next();
+            }
+        }
+    }
+
+    private List<String> getIds(Model model, String type) {
+        List<String> ids = new ArrayList<>();
+        for (Resource resource : model.listResourcesWithProperty(RDF.type, model.createResource(type)).toList()) {
+            ids.add(resource.getURI());
+        }
+        return ids;
+    }
+}
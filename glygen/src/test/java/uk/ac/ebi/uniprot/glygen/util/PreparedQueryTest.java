@@ -0,0 +1,102 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.SPARQL_QUERY_BASE_STR;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestRdfModel;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestResourcePath;
+
+class PreparedQueryTest {
+    private Model rdfModel = getTestRdfModel();
+    private Model keyModel = RdfUtility.createModelFromRdfFile(getTestResourcePath("in/testKeywords.rdf"));
+    private Model enzModel = RdfUtility.createModelFromRdfFile(getTestResourcePath("in/testEnzyme.rdf"));
+
+    @Test
+    void testPrepareReusesQuery() {
+        String queryStr = SPARQL_QUERY_BASE_STR + " ?s ?p ?o . }";
+        assertSame(PreparedQuery.prepare(queryStr), PreparedQuery.prepare(queryStr));
+    }
+
+    @Test
+    void testKeywordLookupsMatchFilterQuery() {
+        List<String> keyIds = getIds(keyModel, "http://purl.uniprot.org/core/Concept");
+        assertFalse(keyIds.isEmpty());
+        for (String keyId : keyIds) {
+            assertEquals(toSet(getResultSet(keyModel, SPARQL_QUERY_BASE_STR +
+                            "       ?concept rdf:type <http://purl.uniprot.org/core/Concept> . " +
+                            "       ?concept skos:altLabel ?altLabel . " +
+                            "       filter(?concept = <" + keyId + ">) } ")),
+                    toSet(RdfUtility.getAltLabelsFromKeywordsRdf(keyModel, keyId)));
+        }
+    }
+
+    @Test
+    void testEnzymeLookupsMatchFilterQuery() {
+        List<String> enzIds = getIds(enzModel, "http://purl.uniprot.org/core/Enzyme");
+        assertFalse(enzIds.isEmpty());
+        String rdfProp = "http://www.w3.org/2004/02/skos/core#altLabel";
+        for (String enzId : enzIds) {
+            assertEquals(toSet(getResultSet(enzModel, SPARQL_QUERY_BASE_STR +
+                            "       ?enzyme rdf:type <http://purl.uniprot.org/core/Enzyme> . " +
+                            "       ?enzyme <" + rdfProp + "> ?" + ALT_LABEL + " . " +
+                            "   filter(?enzyme = <" + enzId + ">) } ")),
+                    toSet(RdfUtility.getPropertyListFromEnzymeRdf(enzModel, enzId, rdfProp, ALT_LABEL)));
+        }
+    }
+
+    @Test
+    void testProteinLookupsMatchFilterQuery() {
+        List<String> protIds = getIds(rdfModel, UP_TYPE_PROTEIN);
+        assertEquals(5, protIds.size());
+        for (String protId : protIds) {
+            assertEquals(toSet(getResultSet(rdfModel, getMnemonicAndTaxonFilterQuery(protId))),
+                    toSet(RdfUtility.getMnemonicAndTaxonFromRdf(rdfModel, protId)));
+        }
+    }
+
+    private String getMnemonicAndTaxonFilterQuery(String accession) {
+        return SPARQL_QUERY_BASE_STR +
+                "       ?protein rdf:type <http://purl.uniprot.org/core/Protein> . " +
+                "       ?protein up:mnemonic ?mnemonic . " +
+                "       ?protein up:organism ?organism . " +
+                "       filter(?protein = <" + accession + ">) } ";
+    }
+
+    private ResultSet getResultSet(Model model, String queryStr) {
+        return RdfUtility.getResultSet(model, queryStr);
+    }
+
+    private List<String> getIds(Model model, String type) {
+        List<String> ids = new ArrayList<>();
+        for (Resource resource : model.listResourcesWithProperty(RDF.type, model.createResource(type)).toList()) {
+            ids.add(resource.getURI());
+        }
+        return ids;
+    }
+
+    private Set<String> toSet(ResultSet resultSet) {
+        Set<String> solutions = new TreeSet<>();
+        while (resultSet.hasNext()) {
+            QuerySolution solution = resultSet.nextSolution();
+            TreeMap<String, String> values = new TreeMap<>();
+            solution.varNames().forEachRemaining(var -> values.put(var, solution.get(var).toString()));
+            solutions.add(values.toString());
+        }
+        return solutions;
+    }
+}
@@ -0,0 +1,94 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import org.apache.jena.rdf.model.Model;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestResourcePath;
+
+class RdfSnapshotCacheTest {
+
+    private static File copyGoFile(Path tempDir) throws Exception {
+        Path goFile = tempDir.resolve("go.owl");
+        Files.copy(new File(getTestResourcePath("in/testGo.owl")).toPath(), goFile);
+        return goFile.toFile();
+    }
+
+    @Test
+    void testSnapshotWrittenAndRead(@TempDir Path tempDir) throws Exception {
+        File goFile = copyGoFile(tempDir);
+        Model parsed = RdfUtility.createModelFromRdfFile(goFile.getPath());
+        assertTrue(new File(goFile.getPath() + RdfSnapshotCache.SNAPSHOT_SUFFIX).isFile());
+        assertTrue(new File(goFile.getPath() + RdfSnapshotCache.SNAPSHOT_SUFFIX +
+                RdfSnapshotCache.META_SUFFIX).isFile());
+
+        AtomicInteger parseCount = new AtomicInteger();
+        Model loaded = RdfSnapshotCache.load(goFile, () -> {
+            parseCount.incrementAndGet();
+            return RdfUtility.createModelFromRdfFile(getTestResourcePath("in/testGo.owl"));
+        });
+        assertEquals(0, parseCount.get());
+        assertTrue(parsed.isIsomorphicWith(loaded));
+    }
+
+    @Test
+    void testSnapshotRebuiltWhenSourceChanges(@TempDir Path tempDir) throws Exception {
+        File goFile = copyGoFile(tempDir);
+        Model parsed = RdfUtility.createModelFromRdfFile(goFile.getPath());
+
+        // same size, different content
+        String content = new String(Files.readAllBytes(goFile.toPath()), StandardCharsets.UTF_8);
+        Files.write(goFile.toPath(), content.replace("GO_0005737", "GO_0005738").getBytes(StandardCharsets.UTF_8));
+        Model changed = RdfUtility.createModelFromRdfFile(goFile.getPath());
+        assertEquals(parsed.size(), changed.size());
+        assertTrue(changed.containsResource(changed.createResource("http://purl.obolibrary.org/obo/GO_0005738")));
+        assertTrue(RdfUtility.createModelFromRdfFile(goFile.getPath()).isIsomorphicWith(changed));
+    }
+
+    @Test
+    void testCorruptSnapshotParsed(@TempDir Path tempDir) throws Exception {
+        File goFile = copyGoFile(tempDir);
+        Model parsed = RdfUtility.createModelFromRdfFile(goFile.getPath());
+        Files.write(new File(goFile.getPath() + RdfSnapshotCache.SNAPSHOT_SUFFIX).toPath(), new byte[]{1, 2, 3});
+
+        assertTrue(parsed.isIsomorphicWith(RdfUtility.createModelFromRdfFile(goFile.getPath())));
+        assertTrue(parsed.isIsomorphicWith(RdfUtility.createModelFromRdfFile(goFile.getPath())));
+    }
+
+    @Test
+    void testSnapshotInCacheDir(@TempDir Path tempDir) throws Exception {
+        File goFile = copyGoFile(tempDir);
+        File cacheDir = tempDir.resolve("cache").toFile();
+
+        GlygenConfig.setCacheDir(cacheDir.getPath());
+        try {
+            Model parsed = RdfUtility.createModelFromRdfFile(goFile.getPath());
+            File snapshot = new File(cacheDir, goFile.getName() + RdfSnapshotCache.SNAPSHOT_SUFFIX);
+            assertTrue(snapshot.isFile());
+            assertTrue(new File(snapshot.getPath() + RdfSnapshotCache.META_SUFFIX).isFile());
+            assertFalse(new File(goFile.getPath() + RdfSnapshotCache.SNAPSHOT_SUFFIX).exists());
+            assertTrue(RdfSnapshotCache.isCurrent(snapshot, goFile, RdfSnapshotCache.getHash(goFile)));
+            assertTrue(parsed.isIsomorphicWith(RdfUtility.createModelFromRdfFile(goFile.getPath())));
+        } finally {
+            GlygenConfig.setCacheDir(null);
+        }
+    }
+
+    @Test
+    void testGetHash(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("abc.txt");
+        Files.write(file, "abc".getBytes(StandardCharsets.UTF_8));
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                RdfSnapshotCache.getHash(file.toFile()));
+    }
+}
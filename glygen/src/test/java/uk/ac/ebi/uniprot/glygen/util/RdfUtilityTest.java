@@ -16,6 +16,7 @@ import org.junit.jupiter.api.TestInstance;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
 import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.*;
@@ -52,6 +53,15 @@ import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestResourcePath;
         assertTrue(prefMap.containsKey("gly"));
     }
 
+    @Test
+    void getModelBase() {
+        Model base = ModelFactory.createDefaultModel();
+        Model model = RdfUtility.getModelBase(base);
+        assertSame(base, model);
+        assertEquals(RdfUtility.getOntModelBase(null).getNsPrefixMap(), model.getNsPrefixMap());
+        assertNotNull(RdfUtility.getModelBase(null));
+    }
+
     @Test
     void getCanonicalSequenceIdFromRDF() {
         // sp entry
@@ -60,6 +70,16 @@ import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestResourcePath;
         assertEquals("A0A0A0MRG2-1", RdfUtility.getCanonicalSequenceIdFromRdf(rdfModel, "A0A0A0MRG2"));
     }
 
+    @Test
+    void getCanonicalSequenceIdMapFromRDF() {
+        Map<String, String> canonicalMap = RdfUtility.getCanonicalSequenceIdMapFromRdf(rdfModel);
+        assertEquals("P05067-1", canonicalMap.get("P05067"));
+        assertEquals("A0A0A0MRG2-1", canonicalMap.get("A0A0A0MRG2"));
+        for (Map.Entry<String, String> entry : canonicalMap.entrySet()) {
+            assertEquals(RdfUtility.getCanonicalSequenceIdFromRdf(rdfModel, entry.getKey()), entry.getValue());
+        }
+    }
+
     @Test
     void getXrefsFromRDF() {
         ResultSet resultSet = getDbCrossReferenceFromRdf(rdfModel);
@@ -0,0 +1,110 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.ac.ebi.uniprot.glygen.writer.StreamingNTriplesWriter;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.*;
+
+class StreamingGraphTest {
+    @TempDir
+    File dir;
+
+    private Model createModel() {
+        StreamingNTriplesWriter writer = new StreamingNTriplesWriter(new File(dir, "out.nt.gz"),
+                new File(dir, "spill"), 100, null);
+        writer.start();
+        return ModelFactory.createModelForGraph(new StreamingGraph(writer, new SubjectRegistry()));
+    }
+
+    @Test
+    void testReadBack() {
+        Model model = createModel();
+        assertTrue(model.isEmpty());
+
+        Resource sequence = model.createResource(ISOFORM_PREFIX + "P05067-1");
+        Property reviewed = model.createProperty(UP_REVIEWED);
+        assertFalse(sequence.hasProperty(RDF.type));
+        sequence.addProperty(RDF.type, model.createResource(UP_TYPE_SIMPLE_SEQUENCE));
+        sequence.addLiteral(reviewed, true);
+        sequence.addProperty(RDFS.label, "P05067-1");
+        sequence.addProperty(OWL.sameAs, model.createResource(PROTEIN_PREFIX + "P05067"));
+
+        assertTrue(sequence.hasProperty(RDF.type));
+        assertTrue(sequence.hasProperty(RDF.type, model.createResource(UP_TYPE_SIMPLE_SEQUENCE)));
+        assertTrue(sequence.hasProperty(RDFS.label));
+        assertTrue(sequence.getProperty(reviewed).getBoolean());
+        assertEquals(PROTEIN_PREFIX + "P05067", sequence.getPropertyResourceValue(OWL.sameAs).getURI());
+        assertFalse(model.isEmpty());
+
+        // objects of other predicates are not kept, so these reads scan the output
+        assertEquals("P05067-1", sequence.getProperty(RDFS.label).getString());
+        assertTrue(sequence.hasProperty(RDFS.label, "P05067-1"));
+        assertFalse(sequence.hasProperty(RDFS.label, "P05067-2"));
+        assertTrue(model.contains(null, OWL.sameAs, model.createResource(PROTEIN_PREFIX + "P05067")));
+        assertEquals(4, model.listStatements().toList().size());
+        assertEquals(4, model.size());
+
+        model.remove(sequence, RDF.type, model.createResource(UP_TYPE_SIMPLE_SEQUENCE));
+        assertFalse(sequence.hasProperty(RDF.type));
+        sequence.removeProperties();
+        assertFalse(sequence.hasProperty(RDFS.label));
+        assertFalse(sequence.hasProperty(reviewed));
+        assertTrue(model.isEmpty());
+        assertEquals(0, model.size());
+    }
+
+    @Test
+    void testDeleteThenContains() {
+        Model model = createModel();
+        Resource sequence = model.createResource(ISOFORM_PREFIX + "P05067-1");
+        Resource other = model.createResource(ISOFORM_PREFIX + "P05067-2");
+        sequence.addProperty(RDF.type, model.createResource(UP_TYPE_SIMPLE_SEQUENCE));
+        sequence.addProperty(RDFS.label, "P05067-1");
+        sequence.addProperty(RDFS.label, "isoform 1");
+        other.addProperty(RDFS.label, "P05067-2");
+
+        // the registry cannot tell whether the last label went, so the reads scan
+        model.remove(sequence, RDFS.label, model.createLiteral("P05067-1"));
+        assertTrue(sequence.hasProperty(RDFS.label));
+        model.remove(sequence, RDFS.label, model.createLiteral("isoform 1"));
+        assertFalse(sequence.hasProperty(RDFS.label));
+        assertTrue(sequence.hasProperty(RDF.type));
+        assertTrue(model.contains(sequence, null));
+
+        other.addProperty(RDFS.seeAlso, sequence);
+        model.remove(model.listStatements(null, null, "P05067-2").toList());
+        assertFalse(other.hasProperty(RDFS.label));
+        assertTrue(other.hasProperty(RDFS.seeAlso));
+        model.remove(other, RDFS.seeAlso, sequence);
+        assertFalse(model.contains(other, null));
+    }
+
+    @Test
+    void testScanSeesSpilledRuns() {
+        Model model = createModel();
+        Resource blank = model.createResource();
+        for (int i = 0; i < 250; i++) {
+            model.createResource(ISOFORM_PREFIX + "P05067-" + i).addProperty(RDFS.label, "isoform " + i)
+                    .addProperty(RDFS.seeAlso, blank);
+        }
+        model.createResource(ISOFORM_PREFIX + "P05067-7").removeAll(RDFS.label);
+
+        assertEquals(499, model.size());
+        assertEquals(250, model.listSubjectsWithProperty(RDFS.seeAlso, blank).toList().size());
+        assertFalse(model.contains(null, RDFS.label, "isoform 7"));
+        assertTrue(model.contains(null, RDFS.label, "isoform 249"));
+    }
+}
@@ -0,0 +1,45 @@
+package uk.ac.ebi.uniprot.glygen.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.PROTEIN_PREFIX;
+import static uk.ac.ebi.uniprot.glygen.util.StringDictionary.NOT_FOUND;
+
+class StringDictionaryTest {
+
+    @Test
+    void testIdsInOrderAdded() {
+        StringDictionary dictionary = new StringDictionary();
+        assertEquals(0, dictionary.add(PROTEIN_PREFIX + "P05067"));
+        assertEquals(1, dictionary.add(PROTEIN_PREFIX + "P04843"));
+        assertEquals(0, dictionary.add(PROTEIN_PREFIX + "P05067"));
+
+        assertEquals(2, dictionary.size());
+        assertEquals(1, dictionary.getId(PROTEIN_PREFIX + "P04843"));
+        assertEquals(PROTEIN_PREFIX + "P04843", dictionary.get(1));
+        assertEquals(NOT_FOUND, dictionary.getId(PROTEIN_PREFIX + "A0A0C4DGS1"));
+        assertThrows(IndexOutOfBoundsException.class, () -> dictionary.get(2));
+
+        dictionary.clear();
+        assertEquals(0, dictionary.size());
+        assertFalse(dictionary.contains(PROTEIN_PREFIX + "P05067"));
+        assertEquals(0, dictionary.add(PROTEIN_PREFIX + "P04843"));
+    }
+
+    @Test
+    void testGrows() {
+        StringDictionary dictionary = new StringDictionary(1);
+        for (int i = 0; i < 50_000; i++) {
+            assertEquals(i, dictionary.add(PROTEIN_PREFIX + "A" + i + "-1"));
+        }
+        for (int i = 0; i < 50_000; i++) {
+            assertTrue(dictionary.contains(PROTEIN_PREFIX + "A" + i + "-1"));
+            assertEquals(PROTEIN_PREFIX + "A" + i + "-1", dictionary.get(i));
+        }
+        assertEquals(50_000, dictionary.size());
+    }
+}
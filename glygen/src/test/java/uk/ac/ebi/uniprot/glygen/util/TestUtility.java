@@ -13,10 +13,16 @@ import java.util.Set;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.Statement;
 import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.vocabulary.RDF;
 
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.ATTRIBUTION;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UNIPROT_CORE_NS;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_CLASSIFIED_WITH;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_EVIDENCE;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_SOURCE;
 import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_TYPE_PROTEIN;
 
 public class TestUtility {
@@ -78,6 +84,36 @@ public class TestUtility {
         return new ClassificationAppender();
     }
 
+    /**
+     * Proteins with reified GO classifications, as read from UniProt rdf (rdf:ID on up:classifiedWith)
+     */
+    public static Model createGoAttributedProteome(int proteins, int goPerProtein, int goTerms) {
+        Model model = ModelFactory.createDefaultModel();
+        Resource eco = model.createResource("http://purl.obolibrary.org/obo/ECO_0000269");
+        for (int i = 0; i < proteins; i++) {
+            String accession = String.format("P%05d", i);
+            Resource protein = model.createResource("http://purl.uniprot.org/uniprot/" + accession);
+            protein.addProperty(RDF.type, model.createResource(UP_TYPE_PROTEIN));
+            for (int j = 0; j < goPerProtein; j++) {
+                String goId = String.format("GO_%07d", (i * goPerProtein + j) % goTerms);
+                Statement statement = model.createStatement(protein, model.createProperty(UP_CLASSIFIED_WITH),
+                        model.createResource("http://purl.obolibrary.org/obo/" + goId));
+                model.add(statement);
+                Resource reifId = statement.createReifiedStatement("http://purl.uniprot.org/uniprot/#_kb." +
+                        accession + "_up.classifiedWith_obo." + goId);
+                Resource attribution = model.createResource(
+                        "http://purl.uniprot.org/uniprot/" + accession + "#attribution-" + j);
+                reifId.addProperty(model.createProperty(UNIPROT_CORE_NS + ATTRIBUTION), attribution);
+                attribution.addProperty(model.createProperty(UP_EVIDENCE), eco);
+                if (j % 2 == 0) {
+                    attribution.addProperty(model.createProperty(UP_SOURCE),
+                            model.createResource("http://purl.uniprot.org/citations/" + i));
+                }
+            }
+        }
+        return model;
+    }
+
     public static void cleanUp(String name) throws IOException {
         File dir = new File(name);
         if (dir.exists() && dir.isDirectory()) {
@@ -0,0 +1,242 @@
+package uk.ac.ebi.uniprot.glygen.writer;
+
+import uk.ac.ebi.uniprot.glygen.appender.BasicInfoAppender;
+import uk.ac.ebi.uniprot.glygen.appender.CitationAppender;
+import uk.ac.ebi.uniprot.glygen.appender.DataAppender;
+import uk.ac.ebi.uniprot.glygen.appender.NameAppender;
+import uk.ac.ebi.uniprot.glygen.core.ConfigReader;
+import uk.ac.ebi.uniprot.glygen.model.GlygenConfig;
+import uk.ac.ebi.uniprot.glygen.model.GlygenDataset;
+import uk.ac.ebi.uniprot.glygen.stats.Statistics;
+import uk.ac.ebi.uniprot.glygen.stats.StatisticsCollector;
+import uk.ac.ebi.uniprot.glygen.util.StreamingGraph;
+import uk.ac.ebi.uniprot.glygen.util.SubjectRegistry;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.SKOS;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.PROTEIN_PREFIX;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_ENCODED_BY;
+import static uk.ac.ebi.uniprot.glygen.util.GlygenUtility.UP_TYPE_GENE;
+import static uk.ac.ebi.uniprot.glygen.util.RdfUtility.getModelBase;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getDefaultTestOutModel;
+import static uk.ac.ebi.uniprot.glygen.util.TestUtility.getTestRdfModel;
+
+class StreamingNTriplesWriterTest {
+    @TempDir
+    File dir;
+
+    private static Triple triple(String subject, String predicate, String object) {
+        return Triple.create(NodeFactory.createURI("http://example.org/" + subject),
+                NodeFactory.createURI("http://example.org/" + predicate),
+                NodeFactory.createLiteral(object));
+    }
+
+    private List<String> readLines(File file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void testDuplicatesWrittenOnceAcrossRuns() throws IOException {
+        File output = new File(dir, "out.nt.gz");
+        List<String> listened = new ArrayList<>();
+        StreamingNTriplesWriter writer = new StreamingNTriplesWriter(output, new File(dir, "spill"), 2,
+                new StreamingNTriplesWriter.TripleListener() {
+                    @Override
+                    public void triple(String subject, String predicate, String object) {
+                        listened.add(subject + " " + predicate + " " + object);
+                    }
+
+                    @Override
+                    public void finish() {
+                        listened.add("finish");
+                    }
+                });
+        writer.start();
+        writer.triple(triple("b", "p", "1"));
+        writer.triple(triple("a", "p", "1"));
+        writer.triple(triple("b", "p", "1"));
+        writer.triple(triple("c", "p", "1"));
+        writer.triple(triple("a", "p", "1"));
+        assertEquals(2, writer.getRunCount());
+        writer.finish();
+
+        List<String> lines = readLines(output);
+        assertEquals(Arrays.asList(
+                "<http://example.org/a> <http://example.org/p> \"1\" .",
+                "<http://example.org/b> <http://example.org/p> \"1\" .",
+                "<http://example.org/c> <http://example.org/p> \"1\" ."), lines);
+        assertEquals(3, writer.getWrittenCount());
+        assertEquals(Arrays.asList(
+                "<http://example.org/a> <http://example.org/p> \"1\"",
+                "<http://example.org/b> <http://example.org/p> \"1\"",
+                "<http://example.org/c> <http://example.org/p> \"1\"", "finish"), listened);
+        assertFalse(new File(dir, "spill").exists());
+    }
+
+    @Test
+    void testDeletesApplyToEarlierAdds() throws IOException {
+        File output = new File(dir, "out.nt.gz");
+        StreamingNTriplesWriter writer = new StreamingNTriplesWriter(output, new File(dir, "spill"), 2, null);
+        writer.start();
+        writer.triple(triple("a", "p", "1"));
+        writer.triple(triple("a", "q", "2"));
+        writer.triple(triple("b", "p", "1"));
+        writer.triple(triple("c", "p", "1"));
+        // spilled triples deleted, then one of them added again
+        writer.delete(triple("a", "p", "1"));
+        writer.delete(triple("b", "p", "1"));
+        writer.triple(triple("b", "p", "1"));
+        // all of c removed, then a new triple of c added
+        Node c = NodeFactory.createURI("http://example.org/c");
+        writer.remove(c, Node.ANY, Node.ANY);
+        writer.triple(triple("c", "q", "3"));
+        writer.finish();
+
+        assertEquals(Arrays.asList(
+                "<http://example.org/a> <http://example.org/q> \"2\" .",
+                "<http://example.org/b> <http://example.org/p> \"1\" .",
+                "<http://example.org/c> <http://example.org/q> \"3\" ."), readLines(output));
+    }
+
+    @Test
+    void testDeletesAndRemovalsSpilled() throws IOException {
+        File output = new File(dir, "out.nt.gz");
+        StreamingNTriplesWriter writer = new StreamingNTriplesWriter(output, new File(dir, "spill"), 2, null);
+        writer.start();
+        for (String subject : Arrays.asList("a", "b", "c", "d", "e")) {
+            writer.triple(triple(subject, "p", "1"));
+            writer.triple(triple(subject, "q", "2"));
+        }
+        Node p = NodeFactory.createURI("http://example.org/p");
+        for (String subject : Arrays.asList("e", "d", "b")) {
+            writer.remove(NodeFactory.createURI("http://example.org/" + subject), p, Node.ANY);
+        }
+        writer.remove(NodeFactory.createURI("http://example.org/a"), Node.ANY, NodeFactory.createLiteral("2"));
+        writer.delete(triple("c", "q", "2"));
+        writer.delete(triple("c", "p", "1"));
+        writer.triple(triple("d", "p", "1"));
+        assertEquals(2, writer.getRemovalRunCount());
+
+        assertEquals(Arrays.asList(triple("b", "q", "2"), triple("d", "q", "2"), triple("e", "q", "2")),
+                writer.find(Node.ANY, Node.ANY, NodeFactory.createLiteral("2")));
+        assertEquals(Arrays.asList(triple("d", "p", "1")),
+                writer.find(NodeFactory.createURI("http://example.org/d"), p, Node.ANY));
+        assertEquals(5, writer.count());
+        writer.finish();
+
+        assertEquals(Arrays.asList(
+                "<http://example.org/a> <http://example.org/p> \"1\" .",
+                "<http://example.org/b> <http://example.org/q> \"2\" .",
+                "<http://example.org/d> <http://example.org/p> \"1\" .",
+                "<http://example.org/d> <http://example.org/q> \"2\" .",
+                "<http://example.org/e> <http://example.org/q> \"2\" ."), readLines(output));
+        assertFalse(new File(dir, "spill").exists());
+    }
+
+    @Test
+    void testCloseDeletesRuns() {
+        File output = new File(dir, "out.nt.gz");
+        File spillDir = new File(dir, "spill");
+        StreamingNTriplesWriter writer = new StreamingNTriplesWriter(output, spillDir, 2, null);
+        writer.start();
+        for (int i = 0; i < 10; i++) {
+            writer.triple(triple("a", "p", Integer.toString(i)));
+            writer.remove(NodeFactory.createURI("http://example.org/b"), Node.ANY, Node.ANY);
+        }
+        assertTrue(writer.getRunCount() > 0);
+        assertTrue(writer.getRemovalRunCount() > 0);
+
+        writer.close();
+        assertFalse(spillDir.exists());
+        assertFalse(output.exists());
+        assertEquals(0, writer.count());
+    }
+
+    @Test
+    void testSameOutputAndStatisticsAsModel() throws IOException {
+        GlygenConfig config = ConfigReader.getGlygenConfigList(StreamingNTriplesWriterTest.class
+                .getResourceAsStream("/tstGlygenConfig.properties"), "").get(0);
+        config.setName("test");
+
+        // output written to a model, as through the output TDB
+        Model outModel = getDefaultTestOutModel();
+        append(new GlygenDataset(getTestRdfModel(), outModel));
+        StringWriter ntriples = new StringWriter();
+        RDFDataMgr.write(ntriples, outModel, Lang.NTRIPLES);
+        List<String> expected = Arrays.stream(ntriples.toString().split("\n")).sorted()
+                .collect(Collectors.toList());
+        File modelDir = new File(dir, "model");
+        assertTrue(modelDir.mkdir());
+        new StatisticsWriter(modelDir.getPath()).writeOutput(config, outModel);
+
+        // streamed output
+        File output = new File(dir, "out.nt.gz");
+        StatisticsCollector statistics = new StatisticsCollector(new Statistics());
+        StreamingNTriplesWriter writer = new StreamingNTriplesWriter(output, new File(dir, "spill"), 1000,
+                statistics);
+        Model streamModel = getModelBase(ModelFactory.createModelForGraph(
+                new StreamingGraph(writer, new SubjectRegistry())));
+        writer.start();
+        streamModel.add(getDefaultTestOutModel());
+        append(new GlygenDataset(getTestRdfModel(), streamModel));
+        writer.finish();
+        File streamDir = new File(dir, "stream");
+        assertTrue(streamDir.mkdir());
+        new StatisticsWriter(streamDir.getPath()).writeStatistics(config, statistics.getStatistics());
+
+        // more triples than the spill size, so runs were merged
+        assertTrue(writer.getWrittenCount() > 1000);
+        assertEquals(expected, readLines(output));
+        assertTrue(statistics.getStatistics().getClassPredicateMap().values().stream().anyMatch(v -> v > 0));
+        assertTrue(statistics.getStatistics().getClassPredicateValueMap().values().stream().anyMatch(v -> v > 0));
+        assertEquals(new String(Files.readAllBytes(new File(modelDir, config.getStatisticsFile()).toPath())),
+                new String(Files.readAllBytes(new File(streamDir, config.getStatisticsFile()).toPath())));
+    }
+
+    private void append(GlygenDataset dataset) {
+        // a gene, for the class-predicate statistics
+        Model outModel = dataset.getOutModel();
+        Resource gene = outModel.createResource("http://purl.uniprot.org/uniprot/P05067#gene1");
+        gene.addProperty(RDF.type, outModel.createResource(UP_TYPE_GENE));
+        gene.addProperty(SKOS.prefLabel, "APP");
+        outModel.createResource(PROTEIN_PREFIX + "P05067").addProperty(outModel.createProperty(UP_ENCODED_BY), gene);
+
+
+        // appenders whose output does not depend on random uris
+        List<DataAppender> appenders = Arrays.asList(new BasicInfoAppender(), new NameAppender(),
+                new CitationAppender());
+        for (DataAppender appender : appenders) {
+            appender.appendData(dataset);
+        }
+    }
+}